@@ -0,0 +1,193 @@
+package nm.sc.systemscope;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Measures the cold start of the application in different launch configurations, e.g. the fat jar with and
+ * without a class data sharing archive.
+ * <p>
+ * Every configuration is a name and a command line, given as {@code name=command}. Each run starts a new JVM
+ * with {@code systemscope.exitAfterStartup=0} passed through {@code JAVA_TOOL_OPTIONS}, so the application exits
+ * right after its first frame. The configurations are run in turns to spread drift over all of them. For each
+ * configuration the median time to first frame (as logged by the application), the median wall time of the process
+ * and, on Linux, the median peak resident set size of the process and its children are reported.
+ * </p>
+ * <p>
+ * The size of what a configuration ships can be added to the report with {@code --size name=path}, where the path
+ * may list several files or folders separated by the path separator, e.g. a fat jar and the JDK that runs it.
+ * </p>
+ * <p>
+ * Usage: {@code java -cp target/benchmarks.jar nm.sc.systemscope.StartupBenchmark <runs> [--size <name>=<paths>]...
+ * <name>=<command>...}
+ * </p>
+ */
+public class StartupBenchmark {
+    private static final Pattern FIRST_FRAME = Pattern.compile("First frame after (\\d+) ms");
+    private static final long POLL_MILLIS = 20;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: StartupBenchmark <runs> [--size <name>=<paths>]... <name>=<command>...");
+            System.exit(1);
+        }
+
+        int runs = Integer.parseInt(args[0]);
+        List<String> names = new ArrayList<>();
+        List<List<String>> commands = new ArrayList<>();
+        Map<String, Long> sizes = new HashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            boolean isSize = args[i].equals("--size") && i + 1 < args.length;
+            String arg = isSize ? args[++i] : args[i];
+            int separator = arg.indexOf('=');
+            String name = arg.substring(0, separator), value = arg.substring(separator + 1).trim();
+            if (isSize) {
+                sizes.put(name, size(value));
+            } else {
+                names.add(name);
+                commands.add(Arrays.asList(value.split("\\s+")));
+            }
+        }
+
+        List<List<Run>> results = new ArrayList<>();
+        for (int i = 0; i < names.size(); i++) {
+            results.add(new ArrayList<>());
+        }
+        for (int run = 0; run < runs; run++) {
+            for (int i = 0; i < names.size(); i++) {
+                Run result = launch(commands.get(i));
+                results.get(i).add(result);
+                System.out.printf(Locale.ROOT, "%-12s run %d: first frame %d ms, wall %d ms, peak RSS %d MB%n",
+                        names.get(i), run + 1, result.firstFrame, result.wall, result.peakRss / 1024);
+            }
+        }
+
+        System.out.printf(Locale.ROOT, "%n%-12s %16s %12s %14s %10s%n",
+                "config", "first frame ms", "wall ms", "peak RSS MB", "size MB");
+        for (int i = 0; i < names.size(); i++) {
+            List<Run> list = results.get(i);
+            Long size = sizes.get(names.get(i));
+            System.out.printf(Locale.ROOT, "%-12s %16d %12d %14d %10s%n", names.get(i),
+                    median(list.stream().map(r -> r.firstFrame).toList()),
+                    median(list.stream().map(r -> r.wall).toList()),
+                    median(list.stream().map(r -> r.peakRss).toList()) / 1024,
+                    size != null ? String.valueOf(size / (1024 * 1024)) : "-");
+        }
+    }
+
+    /**
+     * Adds up the sizes of files and folders.
+     *
+     * @param paths the paths, separated by the path separator.
+     * @return the total size in bytes.
+     */
+    private static long size(String paths) throws IOException {
+        long total = 0;
+        for (String path : paths.split(File.pathSeparator)) {
+            try (Stream<Path> files = Files.walk(Path.of(path))) {
+                total += files.filter(Files::isRegularFile).mapToLong(file -> file.toFile().length()).sum();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Starts the application once and waits for it to exit.
+     *
+     * @param command the command line.
+     * @return the measurements of the run.
+     */
+    private static Run launch(List<String> command) throws IOException, InterruptedException {
+        ProcessBuilder builder = new ProcessBuilder(command).redirectErrorStream(true);
+        String toolOptions = System.getenv().getOrDefault("JAVA_TOOL_OPTIONS", "");
+        builder.environment().put("JAVA_TOOL_OPTIONS", (toolOptions + " -Dsystemscope.exitAfterStartup=0").trim());
+
+        long start = System.nanoTime();
+        Process process = builder.start();
+
+        Run run = new Run();
+        Thread reader = new Thread(() -> {
+            try (BufferedReader lines = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = lines.readLine()) != null) {
+                    Matcher matcher = FIRST_FRAME.matcher(line);
+                    if (matcher.find()) {
+                        run.firstFrame = Long.parseLong(matcher.group(1));
+                    }
+                }
+            } catch (IOException ignored) {
+                // The process has exited.
+            }
+        });
+        reader.start();
+
+        while (process.isAlive()) {
+            long rss = peakRss(process.toHandle());
+            run.peakRss = Math.max(run.peakRss, rss);
+            Thread.sleep(POLL_MILLIS);
+        }
+        run.wall = (System.nanoTime() - start) / 1_000_000;
+        reader.join();
+
+        if (run.firstFrame < 0) {
+            System.err.println("No first frame reported by: " + String.join(" ", command));
+        }
+        return run;
+    }
+
+    /**
+     * Sums the peak resident set size of a process and its descendants, which covers launcher scripts.
+     *
+     * @param process the process.
+     * @return the size in kilobytes, or 0 where {@code /proc} is not available.
+     */
+    private static long peakRss(ProcessHandle process) {
+        long total = readPeakRss(process.pid());
+        for (ProcessHandle child : process.descendants().toList()) {
+            total += readPeakRss(child.pid());
+        }
+        return total;
+    }
+
+    private static long readPeakRss(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+                if (line.startsWith("VmHWM:")) {
+                    return Long.parseLong(line.replaceAll("\\D+", ""));
+                }
+            }
+        } catch (IOException | RuntimeException ignored) {
+            // Not Linux, or the process has just exited.
+        }
+        return 0;
+    }
+
+    private static long median(List<Long> values) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+
+    /**
+     * The measurements of one run.
+     */
+    private static final class Run {
+        private volatile long firstFrame = -1;
+        private long wall, peakRss;
+    }
+}
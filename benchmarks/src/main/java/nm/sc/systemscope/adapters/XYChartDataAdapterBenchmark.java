@@ -0,0 +1,50 @@
+package nm.sc.systemscope.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import javafx.scene.chart.XYChart;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the JSON round trip of chart data that {@code DataStorage} performs when charts are saved and restored.
+ * The series has the same size as a full {@code ScopeLineChart}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XYChartDataAdapterBenchmark {
+    private static final Type LIST_TYPE = new TypeToken<List<XYChart.Data<String, Number>>>() {}.getType();
+
+    private Gson gson;
+    private List<XYChart.Data<String, Number>> data;
+    private String json;
+
+    @Setup
+    public void setup() {
+        gson = new GsonBuilder().registerTypeAdapter(XYChart.Data.class, new XYChartDataAdapter()).create();
+        data = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            data.add(new XYChart.Data<>(String.format("12:%02d:%02d", i / 60, i % 60), 40 + i * 0.5));
+        }
+        json = gson.toJson(data, LIST_TYPE);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return gson.toJson(data, LIST_TYPE);
+    }
+
+    @Benchmark
+    public List<XYChart.Data<String, Number>> deserialize() {
+        return gson.fromJson(json, LIST_TYPE);
+    }
+}
@@ -0,0 +1,31 @@
+package nm.sc.systemscope.controllers;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the parsing of sensor strings done by {@link SystemScopeController} for every chart update.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemperatureParsingBenchmark {
+    @Param({"62.5 °C", "NVIDIA GPU: 45 °C"})
+    public String single;
+
+    public String multiple = "Intel GPU: 55.0 °C\nNVIDIA GPU: 61 °C\n";
+
+    @Benchmark
+    public double parseTemperature() {
+        return SystemScopeController.parseTemperature(single);
+    }
+
+    @Benchmark
+    public double[] parseMultipleTemperatures() {
+        return SystemScopeController.parseMultipleTemperatures(multiple);
+    }
+}
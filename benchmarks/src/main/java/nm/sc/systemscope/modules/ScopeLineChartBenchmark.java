@@ -0,0 +1,81 @@
+package nm.sc.systemscope.modules;
+
+import javafx.application.Platform;
+import javafx.scene.chart.XYChart;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmarks {@link ScopeLineChart#add(XYChart.Data)} and {@link ScopeLineChart#getAverageValue()} on a full chart.
+ * <p>
+ * Chart nodes must be touched on the JavaFX Application Thread, so every operation is posted there and awaited.
+ * The {@code fxHop} benchmark measures that round trip alone and should be subtracted from the other results.
+ * A display (or a virtual one such as Xvfb) is required to start the JavaFX toolkit.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScopeLineChartBenchmark {
+    private ScopeLineChart chart;
+    private int tick;
+
+    @Setup
+    public void setup() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            Platform.startup(started::countDown);
+        } catch (IllegalStateException e) {
+            started.countDown();
+        }
+        started.await();
+
+        onFxThread(() -> {
+            chart = new ScopeLineChart();
+            for (int i = 0; i < 20; i++) {
+                chart.add(new XYChart.Data<>(Integer.toString(i), 40 + i % 10));
+            }
+        });
+    }
+
+    @Benchmark
+    public void fxHop() throws InterruptedException {
+        onFxThread(() -> { });
+    }
+
+    @Benchmark
+    public void add() throws InterruptedException {
+        int value = tick++;
+        onFxThread(() -> chart.add(new XYChart.Data<>(Integer.toString(value), 40 + value % 10)));
+    }
+
+    @Benchmark
+    public int getAverageValue() throws InterruptedException {
+        AtomicInteger result = new AtomicInteger();
+        onFxThread(() -> result.set(chart.getAverageValue()));
+        return result.get();
+    }
+
+    /**
+     * Runs the action on the JavaFX Application Thread and waits for it to finish.
+     *
+     * @param action the action to run.
+     */
+    private static void onFxThread(Runnable action) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            try {
+                action.run();
+            } finally {
+                done.countDown();
+            }
+        });
+        done.await();
+    }
+}
@@ -0,0 +1,38 @@
+package nm.sc.systemscope.modules;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link ScopeListView#searchItems(String, List)} over a process list of a typical size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScopeListViewBenchmark {
+    private static final String[] NAMES = {"java", "chrome", "steam", "explorer", "svchost", "discord", "bash", "Xorg"};
+
+    @Param({"", "java", "zzz"})
+    public String query;
+
+    private List<ProcessInfo> processes;
+
+    @Setup
+    public void setup() {
+        processes = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            processes.add(new ProcessInfo(NAMES[i % NAMES.length] + (i % 7 == 0 ? ".exe" : ""), 1000 + i));
+        }
+    }
+
+    @Benchmark
+    public List<ProcessInfo> searchItems() {
+        return ScopeListView.searchItems(query, processes);
+    }
+}
@@ -0,0 +1,149 @@
+package nm.sc.systemscope.modules;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A local HTTP server that emulates an OpenAI-compatible chat completions endpoint, so the AI paths can be
+ * exercised and measured without network access or an API key.
+ * <p>
+ * Every request is answered with a fixed text of {@code tokens} words. If the request sets {@code "stream": true},
+ * the words are sent as server-sent events with {@code tokenDelayMillis} between them, otherwise a single JSON response
+ * is sent after the same total delay. Point {@code API_URL} at {@code http://localhost:<port>/v1/chat/completions}
+ * to use it from the application.
+ * </p>
+ */
+public class StubAIServer implements AutoCloseable {
+    private final HttpServer server;
+    private final int tokens;
+    private final long tokenDelayMillis;
+    private final AtomicLong requestCount = new AtomicLong();
+
+    /**
+     * Starts the server.
+     *
+     * @param port the port to listen on, or 0 to pick a free port.
+     * @param tokens the number of words in each response.
+     * @param tokenDelayMillis the delay between two words in milliseconds.
+     * @throws IOException if the server cannot be started.
+     */
+    public StubAIServer(int port, int tokens, long tokenDelayMillis) throws IOException {
+        this.tokens = tokens;
+        this.tokenDelayMillis = tokenDelayMillis;
+
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext("/v1/chat/completions", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    /**
+     * Returns the URL of the chat completions endpoint.
+     *
+     * @return the endpoint URL.
+     */
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/v1/chat/completions";
+    }
+
+    /**
+     * Returns the number of requests answered so far.
+     *
+     * @return the request count.
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+
+        JsonObject request = JsonParser.parseString(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8)).getAsJsonObject();
+        boolean stream = request.has("stream") && request.get("stream").getAsBoolean();
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            if (stream) {
+                exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+                exchange.sendResponseHeaders(200, 0);
+
+                for (int i = 0; i < tokens; i++) {
+                    sleep(tokenDelayMillis);
+                    JsonObject delta = new JsonObject();
+                    delta.addProperty("content", word(i));
+                    out.write(("data: " + choice("delta", delta) + "\n\n").getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                }
+                out.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+            } else {
+                sleep(tokenDelayMillis * tokens);
+                StringBuilder text = new StringBuilder();
+                for (int i = 0; i < tokens; i++) {
+                    text.append(word(i));
+                }
+                JsonObject message = new JsonObject();
+                message.addProperty("role", "assistant");
+                message.addProperty("content", text.toString());
+
+                byte[] body = choice("message", message).toString().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                out.write(body);
+            }
+        }
+    }
+
+    private static JsonObject choice(String name, JsonObject content) {
+        JsonObject choice = new JsonObject();
+        choice.add(name, content);
+        JsonArray choices = new JsonArray();
+        choices.add(choice);
+        JsonObject root = new JsonObject();
+        root.add("choices", choices);
+        return root;
+    }
+
+    private static String word(int index) {
+        return (index == 0 ? "" : " ") + "token" + index;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stops the server.
+     */
+    @Override public void close() {
+        server.stop(0);
+        ((java.util.concurrent.ExecutorService) server.getExecutor()).shutdownNow();
+    }
+
+    /**
+     * Runs the server until the process is terminated.
+     *
+     * @param args optional port, number of words and delay between words in milliseconds.
+     * @throws IOException if the server cannot be started.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8089;
+        int tokens = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        long delay = args.length > 2 ? Long.parseLong(args[2]) : 20;
+
+        StubAIServer server = new StubAIServer(port, tokens, delay);
+        System.out.println("Stub AI server listening on " + server.getUrl());
+    }
+}
@@ -0,0 +1,67 @@
+package nm.sc.systemscope.modules;
+
+import oshi.hardware.GraphicsCard;
+import oshi.hardware.HardwareAbstractionLayer;
+import oshi.hardware.Sensors;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+/**
+ * Builds stub OSHI objects with fixed values, so hardware probes can be benchmarked
+ * without touching real sensors or drivers.
+ */
+final class StubHardware {
+    /**
+     * Private constructor of the class
+     */
+    private StubHardware() {
+        throw new UnsupportedOperationException("StubHardware is a static utility class and cannot be instantiated.");
+    }
+
+    /**
+     * Creates a hardware layer with an Intel integrated and an NVIDIA discrete graphics card
+     * and two fans.
+     *
+     * @return the stub hardware abstraction layer.
+     */
+    static HardwareAbstractionLayer create() {
+        List<GraphicsCard> cards = List.of(
+                graphicsCard("UHD Graphics", "Intel Corporation"),
+                graphicsCard("GA107M [GeForce RTX 3050 Mobile]", "NVIDIA Corporation"));
+        Sensors sensors = stub(Sensors.class, method -> switch (method) {
+            case "getFanSpeeds" -> new int[]{2400, 2650};
+            case "getCpuTemperature" -> 62.5;
+            case "getCpuVoltage" -> 1.1;
+            default -> null;
+        });
+
+        return stub(HardwareAbstractionLayer.class, method -> switch (method) {
+            case "getGraphicsCards" -> cards;
+            case "getSensors" -> sensors;
+            default -> throw new UnsupportedOperationException("Not stubbed: " + method);
+        });
+    }
+
+    private static GraphicsCard graphicsCard(String name, String vendor) {
+        return stub(GraphicsCard.class, method -> switch (method) {
+            case "getName" -> name;
+            case "getVendor" -> vendor;
+            case "getDeviceId" -> "0x0000";
+            case "getVersionInfo" -> "";
+            case "getVRam" -> 4L * 1024 * 1024 * 1024;
+            default -> null;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, java.util.function.Function<String, Object> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "toString" -> "Stub" + type.getSimpleName();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> answers.apply(method.getName());
+                });
+    }
+}
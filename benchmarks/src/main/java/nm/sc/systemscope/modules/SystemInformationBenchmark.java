@@ -0,0 +1,39 @@
+package nm.sc.systemscope.modules;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the formatting done by {@link SystemInformation} on every sampling tick.
+ * The hardware layer is replaced with {@link StubHardware}, so only SystemScope's own code is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SystemInformationBenchmark {
+    private static final String CARDS = "UHD Graphics (Intel Corporation), GA107M [GeForce RTX 3050 Mobile] (NVIDIA Corporation)";
+
+    @Setup
+    public void setup() {
+        SystemInformation.setHardwareLayer(StubHardware.create());
+    }
+
+    @Benchmark
+    public String formatGPU() {
+        return SystemInformation.formatGPU(CARDS);
+    }
+
+    @Benchmark
+    public String getGraphicCards() {
+        return SystemInformation.getGraphicCards();
+    }
+
+    @Benchmark
+    public String getFansRPM() {
+        return SystemInformation.getFansRPM();
+    }
+}
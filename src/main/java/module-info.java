@@ -1,21 +1,15 @@
 module nm.sc.systemscope {
     requires javafx.controls;
     requires javafx.fxml;
-    requires javafx.web;
 
-    requires org.controlsfx.controls;
-    requires com.dlsc.formsfx;
-    requires net.synedra.validatorfx;
-    requires org.kordamp.ikonli.javafx;
-    requires org.kordamp.bootstrapfx.core;
-    requires com.almasb.fxgl.all;
     requires com.github.oshi;
     requires java.desktop;
+    requires java.management;
+    requires java.net.http;
     requires com.sun.jna.platform;
     requires com.sun.jna;
     requires com.google.gson;
-    requires com.fasterxml.jackson.databind;
-    requires annotations;
+    requires static org.jetbrains.annotations;
     requires org.slf4j;
 
     opens nm.sc.systemscope to javafx.fxml;
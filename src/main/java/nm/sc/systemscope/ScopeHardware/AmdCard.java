@@ -1,6 +1,7 @@
 package nm.sc.systemscope.ScopeHardware;
 
 import nm.sc.systemscope.modules.ScopeLogger;
+import nm.sc.systemscope.modules.ScopeSelfMonitor;
 
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
@@ -30,8 +31,10 @@ public class AmdCard implements ScopeGraphicCard{
 
             if (os.contains("win")) {
                 process = Runtime.getRuntime().exec("wmic /namespace:\\\\root\\wmi PATH MSAcpi_ThermalZoneTemperature get CurrentTemperature");
+                ScopeSelfMonitor.recordFork();
             } else {
                 process = Runtime.getRuntime().exec("sensors | grep -i 'gpu'");
+                ScopeSelfMonitor.recordFork();
             }
 
             BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
@@ -64,6 +67,7 @@ public class AmdCard implements ScopeGraphicCard{
         try {
             if (os.contains("win")) {
                 Process process = Runtime.getRuntime().exec("wmic path Win32_VideoController get LoadPercentage");
+                ScopeSelfMonitor.recordFork();
                 BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
                 String line;
 
@@ -74,6 +78,7 @@ public class AmdCard implements ScopeGraphicCard{
                 }
             } else if (os.contains("nix") || os.contains("nux") || os.contains("mac")) {
                 Process process = Runtime.getRuntime().exec("sensors | grep -i 'gpu'");
+                ScopeSelfMonitor.recordFork();
                 BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
                 String line;
 
@@ -83,6 +88,7 @@ public class AmdCard implements ScopeGraphicCard{
 
                 if (result.isEmpty()) {
                     process = Runtime.getRuntime().exec("radeontop -d 1 -n 1");
+                    ScopeSelfMonitor.recordFork();
                     reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
 
                     while ((line = reader.readLine()) != null) {
@@ -1,6 +1,7 @@
 package nm.sc.systemscope.ScopeHardware;
 
 import nm.sc.systemscope.modules.ScopeLogger;
+import nm.sc.systemscope.modules.ScopeSelfMonitor;
 
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
@@ -47,6 +48,7 @@ public class IntelCard implements ScopeGraphicCard{
                 result.append("Not supported.");
             } else if (os.contains("nix") || os.contains("nux") || os.contains("mac")) {
                 Process process = Runtime.getRuntime().exec("sudo intel_gpu_top -d 1 -n 1");
+                ScopeSelfMonitor.recordFork();
                 BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
                 String line;
 
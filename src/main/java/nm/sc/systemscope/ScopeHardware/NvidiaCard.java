@@ -1,6 +1,7 @@
 package nm.sc.systemscope.ScopeHardware;
 
 import nm.sc.systemscope.modules.ScopeLogger;
+import nm.sc.systemscope.modules.ScopeSelfMonitor;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
@@ -21,6 +22,7 @@ public class NvidiaCard implements ScopeGraphicCard{
     @Override public String getTemperature(){
         try {
             Process process = Runtime.getRuntime().exec("nvidia-smi --query-gpu=temperature.gpu --format=csv,noheader");
+            ScopeSelfMonitor.recordFork();
             BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
             String line;
             StringBuilder result = new StringBuilder();
@@ -43,6 +45,7 @@ public class NvidiaCard implements ScopeGraphicCard{
         try {
             Process process;
             process = Runtime.getRuntime().exec("nvidia-smi --query-gpu=utilization.gpu --format=csv,noheader,nounits");
+            ScopeSelfMonitor.recordFork();
 
             BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
             return reader.readLine();
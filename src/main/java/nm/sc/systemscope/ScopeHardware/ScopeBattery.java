@@ -1,5 +1,7 @@
 package nm.sc.systemscope.ScopeHardware;
 
+import nm.sc.systemscope.modules.ScopeSelfMonitor;
+
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
@@ -36,6 +38,7 @@ public class ScopeBattery {
                 );
                 builder.redirectErrorStream(true);
                 Process process = builder.start();
+                ScopeSelfMonitor.recordFork();
 
                 try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
                     String output = reader.lines().collect(Collectors.joining()).trim();
@@ -1,5 +1,8 @@
 package nm.sc.systemscope.ScopeHardware;
-import oshi.SystemInfo;
+import nm.sc.systemscope.modules.SensorMetric;
+import nm.sc.systemscope.modules.SensorSimulator;
+import nm.sc.systemscope.modules.SensorTraceRecorder;
+import nm.sc.systemscope.modules.SystemInformation;
 import oshi.hardware.*;
 
 /**
@@ -7,14 +10,11 @@ import oshi.hardware.*;
  * such as the processor name, CPU usage, and CPU temperature.
  * This class uses the OSHI (Operating System and Hardware Information) library to access hardware details.
  * The CPU details are retrieved through the HardwareAbstractionLayer (HAL) provided by OSHI.
+ * While the {@link SensorSimulator} is active, usage and temperature are simulated instead.
  */
 public class ScopeCentralProcessor {
-    private static final HardwareAbstractionLayer layer;
-
-    static {
-        SystemInfo systemInfo = new SystemInfo();
-        layer = systemInfo.getHardware();
-    }
+    private static final HardwareAbstractionLayer layer = SystemInformation.getSystemInfo().getHardware();
+    private static long[] previousTicks;
 
     /**
      * Retrieves the name of the processor.
@@ -31,9 +31,34 @@ public class ScopeCentralProcessor {
      * @return a string with the CPU usage as a percentage.
      */
     public static String getCPUUsage(){
+        if (SensorSimulator.isActive()) {
+            return String.valueOf((int) Math.round(SensorSimulator.getValue(SensorMetric.CPU_USAGE)));
+        }
+
         CentralProcessor processor = layer.getProcessor();
         long delay = 1000;
         double loadCPU = processor.getSystemCpuLoad(delay) * 100;
+        SensorTraceRecorder.record(SensorMetric.CPU_USAGE, loadCPU);
+        return String.valueOf((int) Math.round(loadCPU));
+    }
+
+    /**
+     * Retrieves the CPU usage percentage since the previous call of this method without waiting.
+     * Unlike {@link #getCPUUsage()}, which measures over one second, this method can be called at any rate;
+     * the first call measures the usage since boot.
+     *
+     * @return a string with the CPU usage as a percentage.
+     */
+    public static synchronized String getCPUUsageSinceLastProbe(){
+        if (SensorSimulator.isActive()) {
+            return String.valueOf((int) Math.round(SensorSimulator.getValue(SensorMetric.CPU_USAGE)));
+        }
+
+        CentralProcessor processor = layer.getProcessor();
+        long[] ticks = previousTicks != null ? previousTicks : new long[CentralProcessor.TickType.values().length];
+        double loadCPU = processor.getSystemCpuLoadBetweenTicks(ticks) * 100;
+        previousTicks = processor.getSystemCpuLoadTicks();
+        SensorTraceRecorder.record(SensorMetric.CPU_USAGE, loadCPU);
         return String.valueOf((int) Math.round(loadCPU));
     }
 
@@ -43,6 +68,12 @@ public class ScopeCentralProcessor {
      * @return a string with the current CPU temperature in Celsius.
      */
     public static String getTemperatureCPU(){
-        return String.valueOf(layer.getSensors().getCpuTemperature());
+        if (SensorSimulator.isActive()) {
+            return String.valueOf(SensorSimulator.getValue(SensorMetric.CPU_TEMPERATURE));
+        }
+
+        double temperature = layer.getSensors().getCpuTemperature();
+        SensorTraceRecorder.record(SensorMetric.CPU_TEMPERATURE, temperature);
+        return String.valueOf(temperature);
     }
 }
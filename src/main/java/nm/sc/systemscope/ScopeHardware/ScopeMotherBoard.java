@@ -1,8 +1,7 @@
 package nm.sc.systemscope.ScopeHardware;
 
-import oshi.SystemInfo;
+import nm.sc.systemscope.modules.SystemInformation;
 import oshi.hardware.Baseboard;
-import oshi.hardware.HardwareAbstractionLayer;
 
 /**
  * The {@code ScopeMotherBoard} class provides methods to retrieve information
@@ -12,13 +11,8 @@ import oshi.hardware.HardwareAbstractionLayer;
  * hardware abstraction layer (HAL).
  */
 public class ScopeMotherBoard {
-    private static final Baseboard board;
-
-    static{
-        SystemInfo info = new SystemInfo();
-        HardwareAbstractionLayer layer = info.getHardware();
-        board = layer.getComputerSystem().getBaseboard();
-    }
+    private static final Baseboard board =
+            SystemInformation.getSystemInfo().getHardware().getComputerSystem().getBaseboard();
 
     /**
      * Retrieves the manufacturer of the motherboard.
@@ -0,0 +1,31 @@
+package nm.sc.systemscope.ScopeHardware;
+
+import nm.sc.systemscope.modules.SensorMetric;
+import nm.sc.systemscope.modules.SensorSimulator;
+
+/**
+ * The {@code SimulatedGraphicCard} class implements the {@link ScopeGraphicCard} interface
+ * on top of the {@link SensorSimulator}. It returns readings in the same format as the vendor
+ * implementations, so the rest of the application cannot tell it apart from a real GPU.
+ */
+public class SimulatedGraphicCard implements ScopeGraphicCard {
+    /**
+     * Retrieves the simulated temperature of the GPU.
+     *
+     * @return a string with the simulated GPU temperature.
+     */
+    @Override public String getTemperature() {
+        double temperature = SensorSimulator.getValue(SensorMetric.GPU_TEMPERATURE);
+        return Double.isNaN(temperature) ? "" : "Simulated GPU: " + Math.round(temperature) + " °C\n";
+    }
+
+    /**
+     * Retrieves the simulated GPU load.
+     *
+     * @return a string with the simulated load percentage.
+     */
+    @Override public String getGPULoad() {
+        double load = SensorSimulator.getValue(SensorMetric.GPU_USAGE);
+        return Double.isNaN(load) ? "" : String.valueOf(Math.round(load));
+    }
+}
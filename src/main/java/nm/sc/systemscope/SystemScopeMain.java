@@ -2,9 +2,11 @@ package nm.sc.systemscope;
 
 import javafx.application.Application;
 import javafx.application.Platform;
+import javafx.collections.ListChangeListener;
 import javafx.geometry.Rectangle2D;
 import javafx.stage.Screen;
 import javafx.stage.Stage;
+import javafx.stage.Window;
 import nm.sc.systemscope.modules.*;
 
 import java.io.IOException;
@@ -20,6 +22,10 @@ public class SystemScopeMain extends Application {
      * @throws IOException If there is an issue loading the FXML file.
      */
     @Override public void start(Stage stage) throws IOException {
+        ScopeSelfMonitor.start();
+        SensorSimulator.configureFromSystemProperties();
+        ScopeExecutors.getIOPool().execute(DataStorage::prepare);
+
         try {
             ScopeLoaderFXML loader = new ScopeLoaderFXML("SystemScopeMain-view.fxml");
             loader.setStage(stage);
@@ -30,6 +36,13 @@ public class SystemScopeMain extends Application {
             SystemTrayManager.addToSystemTray(stage);
 
             loader.show();
+            ScopeStartup.logFirstFrame();
+            trackVisibility(stage);
+
+            ScopeConfigManager.startWatching();
+            ScopeExecutors.getIOPool().execute(ScopeReportQueue::resumePending);
+            ScopeSearchIndex.start();
+            ScopeAIHelper.warmUp();
         }
         catch(IOException e){
             ScopeLogger.logError("Error during application startup: {}", e.getMessage());
@@ -53,6 +66,21 @@ public class SystemScopeMain extends Application {
         stage.setHeight(screenBounds.getHeight());
     }
 
+    /**
+     * Lets the sampler slow down while no window of the application is visible, e.g. when the main window
+     * is hidden in the tray or minimized, and return to full rate as soon as a window is shown.
+     *
+     * @param stage The primary stage of the application.
+     */
+    private void trackVisibility(Stage stage) {
+        Runnable update = () -> ScopeSampler.setWindowVisible(Window.getWindows().stream()
+                .anyMatch(window -> window.isShowing() && !(window instanceof Stage && ((Stage) window).isIconified())));
+
+        Window.getWindows().addListener((ListChangeListener<Window>) change -> update.run());
+        stage.iconifiedProperty().addListener((obs, wasIconified, isIconified) -> update.run());
+        update.run();
+    }
+
     /**
      * The main entry point of the application.
      *
@@ -4,6 +4,7 @@ import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
+import javafx.scene.chart.XYChart;
 import javafx.scene.control.*;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
@@ -15,9 +16,13 @@ import nm.sc.systemscope.ScopeHardware.ScopeCentralProcessor;
 import nm.sc.systemscope.modules.*;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller for managing the AI chat functionality in the application.
@@ -25,37 +30,34 @@ import java.util.Objects;
  * interactions with the AI assistant for responding to user queries.
  */
 public class AiChatController extends BaseScopeController {
-    @FXML private VBox chatMessages;
-    @FXML private TextField chatInput;
+    @FXML private ScopeChatView chatView;
+    @FXML private TextField chatInput, chatSearchField;
     @FXML private ListView<ScopeChat> chatListView;
-    @FXML private ScrollPane chatScrollPane;
     @FXML private ProgressIndicator loadingIndicator;
     @FXML private Button sendBtn, analyzeBtn, clearBtn;
     private List<ChatMessage> currentMessages = new ArrayList<>();
+    private final List<ScopeChat> allChats = new ArrayList<>();
     private ScopeChat currentChat;
 
     /**
      * Initializes the chat controller. This method is automatically called when
      * the controller is loaded and is responsible for setting up the UI and loading
-     * chat history.
+     * the chat index. Messages are loaded page by page when a chat is selected and
+     * when the user scrolls to the top of the conversation.
      */
     @FXML public void initialize() {
-        List<ScopeChat> chats = DataStorage.loadChatHistory();
-        chatListView.getItems().addAll(chats);
+        allChats.addAll(ScopeChatStore.loadIndex());
+        chatListView.getItems().addAll(allChats);
 
-        Platform.runLater(() -> {
-            if (chatMessages.getHeight() > chatScrollPane.getHeight()) {
-                chatScrollPane.setVvalue(1.0);
-            }
+        chatSearchField.textProperty().addListener((observable, oldValue, newValue) -> filterChats(newValue));
 
-            if (this.getScene() != null && this.getScene().getWindow() != null) {
-                this.getScene().getWindow().setOnCloseRequest(event -> {
-                    if (currentChat != null) {
-                        DataStorage.saveChatHistory(currentChat);
-                    }
-                });
+        chatView.setOnScrolledToTop(() -> {
+            if (currentChat != null && ScopeChatStore.hasOlder(currentChat)) {
+                loadOlderMessages();
             }
+        });
 
+        Platform.runLater(() -> {
             chatInput.addEventFilter(KeyEvent.KEY_PRESSED, event -> {
                 if (event.getCode() == KeyCode.ENTER) {
                     sendBtn.fire();
@@ -67,22 +69,18 @@ public class AiChatController extends BaseScopeController {
 
     /**
      * Handles the event when a chat is selected from the list.
-     * Loads and displays the message history of the selected chat.
+     * Loads the most recent page of the selected chat on first selection and displays its loaded messages.
      */
     @FXML private void onChatSelected() {
-        if (currentChat != null) {
-            DataStorage.saveChatHistory(currentChat);
-        }
-
         currentChat = chatListView.getSelectionModel().getSelectedItem();
 
         if (currentChat != null) {
+            if (currentChat.getMessageHistory().isEmpty() && ScopeChatStore.hasOlder(currentChat)) {
+                ScopeChatStore.loadOlder(currentChat);
+            }
             List<ChatMessage> messageHistory = currentChat.getMessageHistory();
 
-            chatMessages.getChildren().clear();
-            for (ChatMessage message : messageHistory) {
-                chatMessages.getChildren().add(createChatMessageContainer(message));
-            }
+            chatView.getItems().setAll(messageHistory);
 
             currentMessages.clear();
             currentMessages.addAll(messageHistory);
@@ -90,23 +88,40 @@ public class AiChatController extends BaseScopeController {
             ScopeAIHelper.clearChatHistory();
             ScopeAIHelper.loadAndInitializeModel(currentChat.getMessageHistory());
 
+            Platform.runLater(chatView::scrollToBottom);
         }
     }
 
     /**
-     * Creates a container for a chat message that includes the message text and timestamp.
+     * Filters the chat list by name and by message content. Chats whose name matches come first,
+     * followed by chats whose messages match, ranked by {@link ScopeSearchIndex}.
      *
-     * @param message The chat message to display.
-     * @return A {@link VBox} containing the message text and timestamp.
+     * @param searchInput The text entered in the search field.
      */
-    private VBox createChatMessageContainer(ChatMessage message) {
-        Label messageLabel = createLabel(message.getMessage(), message.getSender());
-        Label timeLabel = new Label(message.getTime() != null && !message.getTime().isEmpty() ? message.getTime() : LocalTime.now().format(DateTimeFormatter.ofPattern("HH:mm")));
-        timeLabel.getStyleClass().add("message-time");
-
-        VBox messageContainer = new VBox(messageLabel, timeLabel);
-        messageContainer.getStyleClass().add("message-box");
-        return messageContainer;
+    private void filterChats(String searchInput) {
+        List<ScopeChat> filtered = new ArrayList<>(ScopeListView.searchItems(searchInput, allChats));
+
+        if (searchInput != null && !searchInput.isBlank()) {
+            for (ScopeSearchIndex.Hit hit : ScopeSearchIndex.search(searchInput, ScopeSearchIndex.Source.CHAT, allChats.size())) {
+                for (ScopeChat chat : allChats) {
+                    if (chat.getChatID().equals(hit.getId()) && !filtered.contains(chat)) {
+                        filtered.add(chat);
+                    }
+                }
+            }
+        }
+
+        chatListView.getItems().setAll(filtered);
+    }
+
+    /**
+     * Loads the previous page of messages of the current chat and prepends it to the transcript,
+     * keeping the messages that were visible before at the same position on screen.
+     */
+    private void loadOlderMessages() {
+        List<ChatMessage> page = ScopeChatStore.loadOlder(currentChat);
+        currentMessages.addAll(0, page);
+        chatView.prepend(page);
     }
 
     /**
@@ -163,11 +178,13 @@ public class AiChatController extends BaseScopeController {
         if ((currentMessages == null || currentMessages.isEmpty()
                 && (chatListView.getItems().isEmpty() || chatListView.getItems() == null))) {
             createChat("Loading...");
-            new Thread(() -> {
-               String name = ScopeAIHelper.request("Придумай коротку назву чату по цьому запиту: " + input);
-               currentChat.setChatName(name);
-               Platform.runLater(() -> chatListView.refresh());
-            }).start();
+            ScopeChat namedChat = currentChat;
+            ScopeAIHelper.requestStandalone("Придумай коротку назву чату по цьому запиту: " + input)
+                    .thenAccept(name -> Platform.runLater(() -> {
+                        ScopeChatStore.rename(namedChat, ScopeAIHelper.isFallback(name)
+                                ? input.substring(0, Math.min(input.length(), 30)) : name);
+                        chatListView.refresh();
+                    }));
         }
 
         String timestamp = LocalTime.now().format(DateTimeFormatter.ofPattern("HH:mm"));
@@ -175,18 +192,8 @@ public class AiChatController extends BaseScopeController {
         Platform.runLater(() -> addMessage(new ChatMessage(input, Sender.user, timestamp)));
         chatInput.setText("");
 
-        new Thread(() -> {
-            try {
-                hideOnRequest();
-
-                String response = ScopeAIHelper.request(input);
-                Platform.runLater(() -> addMessage(new ChatMessage(response, Sender.assistant)));
-            } catch (Exception e) {
-                Platform.runLater(() -> addMessage(new ChatMessage("Сталася помилка під час обробки запиту", Sender.assistant)));
-            } finally {
-                showOnResponse();
-            }
-        }).start();
+        hideOnRequest();
+        Platform.runLater(() -> streamResponse(input, false));
     }
 
     /**
@@ -197,17 +204,46 @@ public class AiChatController extends BaseScopeController {
         addMessage(new ChatMessage("Проведи аналітику поточних показників системи", Sender.user));
         hideOnRequest();
 
-        new Thread(() -> {
-            try {
-                String systemInfo = gatherSystemInfo();
-                String response = ScopeAIHelper.request(systemInfo);
-                Platform.runLater(() -> addMessage(new ChatMessage(response, Sender.assistant)));
-            } catch (Exception e) {
-                Platform.runLater(() -> addMessage(new ChatMessage("Сталася помилка під час обробки запиту", Sender.assistant)));
-            } finally {
-                showOnResponse();
-            }
-        }).start();
+        CompletableFuture.supplyAsync(this::gatherSystemInfo, ScopeExecutors.getIOPool())
+                .whenComplete((systemInfo, error) -> Platform.runLater(() -> {
+                    if (error == null) {
+                        streamResponse(systemInfo, true);
+                    } else {
+                        addMessage(new ChatMessage("Сталася помилка під час обробки запиту", Sender.assistant));
+                        showOnResponse();
+                    }
+                }));
+    }
+
+    /**
+     * Sends a prompt to the AI assistant and renders the response into a new message bubble as it is streamed.
+     * The message is added to the current chat once the response is complete. Must be called on the JavaFX Application Thread.
+     *
+     * @param prompt The prompt to send.
+     * @param cached Whether the response may be answered from the AI response cache.
+     */
+    private void streamResponse(String prompt, boolean cached) {
+        String messageTime = LocalTime.now().format(DateTimeFormatter.ofPattern("HH:mm"));
+        chatView.startStreaming(new ChatMessage("", Sender.assistant, messageTime));
+        chatView.scrollToBottom();
+
+        ScopeStreamingLabel streamingLabel = new ScopeStreamingLabel(chatView.getStreamingText(), chatView::scrollToBottom);
+        streamingLabel.start();
+
+        CompletableFuture<String> request = cached
+                ? ScopeAIHelper.requestStreamCached(prompt, streamingLabel::append)
+                : ScopeAIHelper.requestStream(prompt, streamingLabel::append);
+        request.whenComplete((response, error) -> {
+            String finalResponse = error == null ? response : "Сталася помилка під час обробки запиту";
+            streamingLabel.finish(finalResponse);
+            Platform.runLater(() -> {
+                ChatMessage message = new ChatMessage(finalResponse, Sender.assistant, messageTime);
+                currentMessages.add(message);
+                ScopeChatStore.append(currentChat, message);
+                chatView.finishStreaming(message);
+            });
+            showOnResponse();
+        });
     }
 
     /**
@@ -215,25 +251,10 @@ public class AiChatController extends BaseScopeController {
      */
     @FXML
     public void onClearChat() {
-        currentChat.clearHistory();
+        ScopeChatStore.clear(currentChat);
         this.currentMessages.clear();
-        chatMessages.getChildren().clear();
+        chatView.getItems().clear();
         ScopeAIHelper.clearChatHistory();
-        DataStorage.clearChatHistory(currentChat);
-    }
-
-    /**
-     * Creates a label for a message, formatted based on the sender (user or assistant).
-     *
-     * @param text The text of the message.
-     * @param sender The sender of the message.
-     * @return A label representing the message.
-     */
-    public Label createLabel(String text, Sender sender) {
-        Label messageLabel = new Label(text);
-        messageLabel.setWrapText(true);
-        messageLabel.getStyleClass().add(sender == Sender.user ? "user-message" : "ai-message");
-        return messageLabel;
     }
 
     /**
@@ -248,18 +269,11 @@ public class AiChatController extends BaseScopeController {
 
         String messageTime = (message.getTime() != null && !message.getTime().isEmpty()) ? message.getTime() : LocalTime.now().format(DateTimeFormatter.ofPattern("HH:mm"));
 
-        Label messageLabel = createLabel(message.getMessage(), message.getSender());
-
-        Label timeLabel = new Label(messageTime);
-        timeLabel.getStyleClass().add("message-time");
-
-        VBox messageContainer = new VBox(messageLabel, timeLabel);
-        messageContainer.getStyleClass().add("message-box");
-
         message.setTime(messageTime);
         currentMessages.add(message);
-        currentChat.addMessage(message);
-        chatMessages.getChildren().add(messageContainer);
+        ScopeChatStore.append(currentChat, message);
+        chatView.getItems().add(message);
+        chatView.scrollToBottom();
     }
 
     /**
@@ -282,7 +296,79 @@ public class AiChatController extends BaseScopeController {
                 "Завантаження CPU: " + CPUUsage + "\n" +
                 "GPU: " + GPU + "\n" +
                 "Температура GPU: " + GPUTemperature + "\n" +
-                "Завантаження GPU: " + GPUUsage + "\n";
+                "Завантаження GPU: " + GPUUsage + "\n" +
+                gatherHistoryDigest();
+    }
+
+    /**
+     * Summarizes the recent history of the monitoring charts into a compact digest.
+     *
+     * @return The digest with a heading, or an empty string if there is no history yet.
+     */
+    private String gatherHistoryDigest() {
+        TelemetryDigest digest = TelemetryDigest.forSystemMetrics(1);
+        addChartData(digest, TelemetryDigest.CPU_TEMPERATURE, ScopeProbe.CPU_TEMPERATURE, DataStorage.loadCPUTemperatureData());
+        addChartData(digest, TelemetryDigest.GPU_TEMPERATURE, ScopeProbe.GPU_TEMPERATURE, DataStorage.loadGPUTemperatureData());
+        addChartData(digest, TelemetryDigest.CPU_USAGE, ScopeProbe.CPU_USAGE, DataStorage.loadUsageCPUData());
+        addChartData(digest, TelemetryDigest.GPU_USAGE, ScopeProbe.GPU_USAGE, DataStorage.loadUsageGPUData());
+
+        return digest.isEmpty() ? "" : "Історія показників:\n" + digest;
+    }
+
+    /**
+     * Adds the Y values of chart data to a digest metric, together with the interval between the stored points.
+     *
+     * @param digest The digest to fill.
+     * @param metric The name of the metric.
+     * @param probe The probe the chart data was read from.
+     * @param data The chart data, may be {@code null}.
+     */
+    private void addChartData(TelemetryDigest digest, String metric, ScopeProbe probe, List<XYChart.Data<String, Number>> data) {
+        if (data == null) {
+            return;
+        }
+        digest.setSampleInterval(metric, getSampleInterval(probe, data));
+        for (XYChart.Data<String, Number> point : data) {
+            if (point.getYValue() != null) {
+                digest.add(metric, point.getYValue().doubleValue());
+            }
+        }
+    }
+
+    /**
+     * Estimates the interval between stored chart points from their {@code HH:mm:ss} timestamps. The median gap is
+     * used, so pauses of the charts do not skew it. Without two readable timestamps the period of the probe is used,
+     * rounded up to the one-second resolution of the charts.
+     *
+     * @param probe The probe the chart data was read from.
+     * @param data The chart data.
+     * @return The interval in seconds.
+     */
+    private double getSampleInterval(ScopeProbe probe, List<XYChart.Data<String, Number>> data) {
+        List<Long> gaps = new ArrayList<>();
+        LocalTime previous = null;
+        for (XYChart.Data<String, Number> point : data) {
+            LocalTime time;
+            try {
+                time = LocalTime.parse(point.getXValue());
+            } catch (DateTimeParseException | NullPointerException e) {
+                previous = null;
+                continue;
+            }
+            if (previous != null) {
+                long gap = Math.floorMod(ChronoUnit.SECONDS.between(previous, time), 24 * 60 * 60);
+                if (gap > 0) {
+                    gaps.add(gap);
+                }
+            }
+            previous = time;
+        }
+
+        if (gaps.isEmpty()) {
+            return Math.max(1, probe.getPeriod() / 1000.0);
+        }
+        Collections.sort(gaps);
+        return gaps.get(gaps.size() / 2);
     }
 
     /**
@@ -321,18 +407,20 @@ public class AiChatController extends BaseScopeController {
             if (chat.getChatName().equals(name)) {
                 chatListView.getSelectionModel().select(chat);
                 currentChat = chat;
-                chatMessages.getChildren().clear();
+                chatView.getItems().clear();
                 return;
             }
         }
 
         ScopeChat chat = new ScopeChat(name);
+        ScopeChatStore.create(chat);
         currentChat = chat;
 
         Platform.runLater(() -> {
+            allChats.add(0, chat);
             chatListView.getItems().add(chat);
             chatListView.getSelectionModel().select(chat);
-            chatMessages.getChildren().clear();
+            chatView.getItems().clear();
         });
     }
 }
\ No newline at end of file
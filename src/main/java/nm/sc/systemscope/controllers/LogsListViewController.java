@@ -9,7 +9,11 @@ import javafx.scene.control.ButtonType;
 import nm.sc.systemscope.modules.*;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import javafx.scene.control.TextField;
 import java.awt.Desktop;
 
@@ -64,6 +68,7 @@ public class LogsListViewController extends BaseScopeController {
         ScopeBenchLog selected = logsListView.getSelectionModel().getSelectedItem();
         if(selected != null){
             if(deleteSelectedLog(selected.getAbsolutePath())){
+                ScopeSearchIndex.removeLog(Path.of(selected.getAbsolutePath()));
                 Platform.runLater(this::updateList);
             }
             else{
@@ -83,7 +88,7 @@ public class LogsListViewController extends BaseScopeController {
                 File folder = new File(this.logsFolderPath);
 
                 if (folder.exists() && folder.isDirectory()) {
-                    new Thread(() -> {
+                    ScopeExecutors.getIOPool().execute(() -> {
                         try {
                             Desktop.getDesktop().open(folder);
                         } catch (IOException e) {
@@ -92,7 +97,7 @@ public class LogsListViewController extends BaseScopeController {
                                 alert.showAndWait();
                             });
                         }
-                    }).start();
+                    });
                 } else {
                     Platform.runLater(() -> {
                         ScopeAlert alert = new ScopeAlert(Alert.AlertType.ERROR, "Вказана папка не існує або це не директорія");
@@ -138,6 +143,7 @@ public class LogsListViewController extends BaseScopeController {
                                 }
                             }
                         }
+                        ScopeSearchIndex.refresh();
                         Platform.runLater(this::updateList);
                     } else {
                         ScopeLogger.logError("Failed to retrieve files from a directory.");
@@ -202,12 +208,28 @@ public class LogsListViewController extends BaseScopeController {
 
     /**
      * Filters the logs based on the search input and updates the logs list accordingly.
+     * Logs whose name matches come first, followed by logs whose content or AI report matches,
+     * ranked by {@link ScopeSearchIndex}.
      *
      * @param searchInput The text entered the search field.
      * @throws IOException If there is an error during filtering.
      */
     private void filterProcesses(String searchInput) throws IOException {
-        List<ScopeBenchLog> filtered = ScopeListView.searchItems(searchInput, DataStorage.getBenchLogs());
+        List<ScopeBenchLog> logs = DataStorage.getBenchLogs();
+        List<ScopeBenchLog> filtered = new ArrayList<>(ScopeListView.searchItems(searchInput, logs));
+
+        if (searchInput != null && !searchInput.isBlank()) {
+            Map<String, ScopeBenchLog> logsByName = new HashMap<>();
+            for (ScopeBenchLog log : logs) {
+                logsByName.put(log.toString(), log);
+            }
+            for (ScopeSearchIndex.Hit hit : ScopeSearchIndex.search(searchInput, ScopeSearchIndex.Source.LOG, logs.size())) {
+                ScopeBenchLog log = logsByName.get(hit.getId());
+                if (log != null && !filtered.contains(log)) {
+                    filtered.add(log);
+                }
+            }
+        }
 
         Platform.runLater(()->{
             observableLogsList.clear();
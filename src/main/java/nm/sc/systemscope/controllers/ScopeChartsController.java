@@ -1,6 +1,5 @@
 package nm.sc.systemscope.controllers;
 
-import nm.sc.systemscope.ScopeHardware.ScopeCentralProcessor;
 import nm.sc.systemscope.modules.*;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
@@ -8,9 +7,7 @@ import javafx.scene.chart.XYChart;
 import java.util.*;
 import javafx.scene.control.Label;
 import java.text.SimpleDateFormat;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * A class that controls events and implements the functions of the main interface
@@ -18,9 +15,15 @@ import java.util.concurrent.TimeUnit;
 public class ScopeChartsController extends BaseScopeController {
     @FXML private ScopeLineChart tempCPUChart, tempGPUChart, usageCPUChart, usageGPUChart;
     @FXML private Label labelAverageTempCPU, labelAverageTempGPU, labelAverageUsageCPU,
-            labelAverageUsageGPU, labelLastTempCPU, labelLastTempGPU, labelLastUsageCPU, labelLastUsageGPU;
+            labelAverageUsageGPU, labelLastTempCPU, labelLastTempGPU, labelLastUsageCPU, labelLastUsageGPU,
+            labelSelfCPU, labelSelfHeap, labelSelfGC, labelSelfThreads, labelSelfForks, labelSelfProbes,
+            labelSelfSlowest;
     private final SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss");
-    private ScheduledExecutorService executorService;
+    private final Consumer<String> tempCPUListener = value -> updateChart(ScopeProbe.CPU_TEMPERATURE, value);
+    private final Consumer<String> tempGPUListener = value -> updateChart(ScopeProbe.GPU_TEMPERATURE, value);
+    private final Consumer<String> usageCPUListener = value -> updateChart(ScopeProbe.CPU_USAGE, value);
+    private final Consumer<String> usageGPUListener = value -> updateChart(ScopeProbe.GPU_USAGE, value);
+    private int lastTempCPU, lastTempGPU, lastUsageCPU, lastUsageGPU;
 
     /**
      * A method that initializes the initial values for the created window
@@ -66,72 +69,94 @@ public class ScopeChartsController extends BaseScopeController {
     }
 
     /**
-     * A method that starts background data refreshing at intervals of 2 seconds
+     * A method that starts background data refreshing. Each chart receives the readings of its probe
+     * from the {@link ScopeSampler} at the period configured for that probe.
      */
     private void startBackgroundUpdate(){
-        executorService = Executors.newSingleThreadScheduledExecutor();
-        executorService.scheduleAtFixedRate(this::updateCharts, 0, 2, TimeUnit.SECONDS);
+        Map<String, Integer> averages = DataStorage.loadAveragesData();
+        if(averages != null && !averages.isEmpty()) {
+            lastTempCPU = averages.getOrDefault("last_cpu_temp", 0);
+            lastTempGPU = averages.getOrDefault("last_gpu_temp", 0);
+            lastUsageCPU = averages.getOrDefault("last_usage_cpu", 0);
+            lastUsageGPU = averages.getOrDefault("last_usage_gpu", 0);
+        }
+
+        ScopeSampler.subscribe(ScopeProbe.CPU_TEMPERATURE, tempCPUListener);
+        ScopeSampler.subscribe(ScopeProbe.GPU_TEMPERATURE, tempGPUListener);
+        ScopeSampler.subscribe(ScopeProbe.CPU_USAGE, usageCPUListener);
+        ScopeSampler.subscribe(ScopeProbe.GPU_USAGE, usageGPUListener);
     }
 
     /**
-     * A method that updates graphs and their data
+     * A method that updates the chart and labels of a probe with a new reading.
+     * Readings within the same second update the last point of the chart instead of adding a new one.
+     * @param probe the probe that was read
+     * @param reading the reading as returned by the probe
      */
-    private void updateCharts(){
+    private void updateChart(ScopeProbe probe, String reading){
         String currentTime = timeFormat.format(new Date());
 
-        String temperatureCPU;
-        String temperatureGPUString;
-        String usageCPU;
-        String usageGPUString;
-
+        double value;
         try {
-            temperatureCPU = ScopeCentralProcessor.getTemperatureCPU();
-
-            temperatureGPUString = SystemInformation.getTemperatureDiscreteGPU();
-            temperatureGPUString = temperatureGPUString.replaceAll("[^0-9.]", "");
-
-            usageCPU = ScopeCentralProcessor.getCPUUsage();
-
-            usageGPUString = SystemInformation.getGPUUsage();
-            usageGPUString = usageGPUString.replaceAll("[^0-9]", "");
-            int intPartGPU = Integer.parseInt(usageGPUString.split(",")[0]);
-
-            String finalTemperatureGPUString = temperatureGPUString;
-            Platform.runLater(() -> {
-                try {
-                    tempCPUChart.add(new XYChart.Data<>(currentTime, Double.parseDouble(temperatureCPU)));
-                    tempGPUChart.add(new XYChart.Data<>(currentTime, Double.parseDouble(finalTemperatureGPUString)));
-                    usageCPUChart.add(new XYChart.Data<>(currentTime, Integer.parseInt(usageCPU)));
-                    usageGPUChart.add(new XYChart.Data<>(currentTime, intPartGPU));
+            value = probe == ScopeProbe.GPU_USAGE
+                    ? Integer.parseInt(reading.replaceAll("[^0-9]", ""))
+                    : Double.parseDouble(reading.replaceAll("[^0-9.]", ""));
+        } catch (NumberFormatException e) {
+            ScopeLogger.logError("Error when receiving system data: {}", e.getMessage());
+            return;
+        }
 
-                    if(!Objects.equals(labelLastTempCPU.getText(), temperatureCPU + " °C")) {
-                        this.labelLastTempCPU.setText(temperatureCPU + " °C");
+        Platform.runLater(() -> {
+            try {
+                boolean added;
+                switch (probe) {
+                    case CPU_TEMPERATURE -> {
+                        lastTempCPU = (int) value;
+                        added = tempCPUChart.put(currentTime, value);
+                        setIfChanged(labelLastTempCPU, reading + " °C");
+                        if (added) DataStorage.saveCPUTemperatureData(tempCPUChart.getSeriesData());
                     }
-                    if (!Objects.equals(labelLastTempGPU.getText(), finalTemperatureGPUString + " °C")) {
-                        labelLastTempGPU.setText(finalTemperatureGPUString + " °C");
+                    case GPU_TEMPERATURE -> {
+                        lastTempGPU = (int) value;
+                        added = tempGPUChart.put(currentTime, value);
+                        setIfChanged(labelLastTempGPU, reading.replaceAll("[^0-9.]", "") + " °C");
+                        if (added) DataStorage.saveGPUTemperatureData(tempGPUChart.getSeriesData());
                     }
-                    if (!Objects.equals(labelLastUsageCPU.getText(), usageCPU + " %")) {
-                        labelLastUsageCPU.setText(usageCPU + " %");
+                    case CPU_USAGE -> {
+                        lastUsageCPU = (int) value;
+                        added = usageCPUChart.put(currentTime, (int) value);
+                        setIfChanged(labelLastUsageCPU, lastUsageCPU + " %");
+                        if (added) DataStorage.saveUsageCPUData(usageCPUChart.getSeriesData());
                     }
-                    if (!Objects.equals(labelLastUsageGPU.getText(), intPartGPU + " %")) {
-                        labelLastUsageGPU.setText(intPartGPU + " %");
+                    default -> {
+                        lastUsageGPU = (int) value;
+                        added = usageGPUChart.put(currentTime, (int) value);
+                        setIfChanged(labelLastUsageGPU, lastUsageGPU + " %");
+                        if (added) DataStorage.saveUsageGPUData(usageGPUChart.getSeriesData());
                     }
+                }
 
-                    labelsUpdateFromMap(DataStorage.loadAveragesData());
-
-                    DataStorage.saveCPUTemperatureData(tempCPUChart.getSeriesData());
-                    DataStorage.saveGPUTemperatureData(tempGPUChart.getSeriesData());
-                    DataStorage.saveUsageCPUData(usageCPUChart.getSeriesData());
-                    DataStorage.saveUsageGPUData(usageGPUChart.getSeriesData());
-                    DataStorage.saveAveragesData(getAveragesMap(tempCPUChart.getAverageValue(), tempGPUChart.getAverageValue(), usageCPUChart.getAverageValue(),
-                            usageGPUChart.getAverageValue(), (int) Double.parseDouble(temperatureCPU),
-                            (int) Double.parseDouble(finalTemperatureGPUString), Integer.parseInt(usageCPU), intPartGPU));
-                } catch (Exception e) {
-                    ScopeLogger.logError("Error when updating charts: {}", e.getMessage(), e);
+                if (added) {
+                    Map<String, Integer> averages = getAveragesMap(tempCPUChart.getAverageValue(), tempGPUChart.getAverageValue(),
+                            usageCPUChart.getAverageValue(), usageGPUChart.getAverageValue(), lastTempCPU, lastTempGPU, lastUsageCPU, lastUsageGPU);
+                    labelsUpdateFromMap(averages);
+                    updateSelfOverheadLabels();
+                    DataStorage.saveAveragesData(averages);
                 }
-            });
-        } catch (Exception e) {
-            ScopeLogger.logError("Error when receiving system data: {}", e.getMessage());
+            } catch (Exception e) {
+                ScopeLogger.logError("Error when updating charts: {}", e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Method that sets the text of a label only if it differs from the current one
+     * @param label the label to update
+     * @param text the new text
+     */
+    private static void setIfChanged(Label label, String text){
+        if (!Objects.equals(label.getText(), text)) {
+            label.setText(text);
         }
     }
 
@@ -180,12 +205,55 @@ public class ScopeChartsController extends BaseScopeController {
         }
     }
 
+    /**
+     * Method that updates the labels showing SystemScope's own resource usage
+     */
+    private void updateSelfOverheadLabels(){
+        ScopeSelfMonitor.Snapshot snapshot = ScopeSelfMonitor.getSnapshot();
+
+        labelSelfCPU.setText(String.format("%.2f %% (avg %.2f %%)", snapshot.getCpuPercent(), snapshot.getAverageCpuPercent()));
+        labelSelfHeap.setText(String.format("%.1f MB", snapshot.getHeapUsed() / (1024.0 * 1024.0)));
+        labelSelfGC.setText(snapshot.getGcTime() + " ms");
+        labelSelfThreads.setText(String.valueOf(snapshot.getThreadCount()));
+        labelSelfForks.setText(String.format("%.1f", snapshot.getForksPerMinute()));
+
+        long saved = ScopeSampler.getSavedCount(), total = saved + ScopeSampler.getReadingCount();
+        labelSelfProbes.setText(String.format("%d (%.0f %%)", saved, total > 0 ? saved * 100.0 / total : 0));
+        labelSelfSlowest.setText(getSlowestProbe());
+    }
+
+    /**
+     * Finds the probe with the longest mean reading time, so a slow sensor is visible at a glance.
+     *
+     * @return the probe with its 95th percentile and overruns, or "-" if nothing has been read yet.
+     */
+    private String getSlowestProbe(){
+        ScopeProbe slowest = null;
+        for (ScopeProbe probe : ScopeProbe.values()) {
+            DurationHistogram durations = ScopeSampler.getDurations(probe);
+            if (durations.getCount() > 0 && (slowest == null
+                    || durations.getMean() > ScopeSampler.getDurations(slowest).getMean())) {
+                slowest = probe;
+            }
+        }
+        if (slowest == null) {
+            return "-";
+        }
+
+        long p95 = ScopeSampler.getDurations(slowest).getPercentile(95);
+        long[] bounds = DurationHistogram.getBounds();
+        return String.format("%s: p95 %s, перевищень %d", slowest.getKey(),
+                p95 == Long.MAX_VALUE ? "> " + bounds[bounds.length - 1] + " мс" : "< " + p95 + " мс",
+                ScopeSampler.getOverrunCount(slowest));
+    }
+
     /**
      * Method to stop background data updates
      */
     public void stopBackgroundUpdate() {
-        if (executorService != null && !executorService.isShutdown()) {
-            executorService.shutdown();
-        }
+        ScopeSampler.unsubscribe(ScopeProbe.CPU_TEMPERATURE, tempCPUListener);
+        ScopeSampler.unsubscribe(ScopeProbe.GPU_TEMPERATURE, tempGPUListener);
+        ScopeSampler.unsubscribe(ScopeProbe.CPU_USAGE, usageCPUListener);
+        ScopeSampler.unsubscribe(ScopeProbe.GPU_USAGE, usageGPUListener);
     }
 }
@@ -3,6 +3,7 @@ package nm.sc.systemscope.controllers;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.TextArea;
+import nm.sc.systemscope.modules.DataStorage;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -24,7 +25,7 @@ public class ScopeLogsViewerController extends BaseScopeController{
         Path file = Path.of(filePath);
         if (Files.exists(file)) {
             try {
-                String content = Files.readString(file);
+                String content = Files.readString(file) + readReport(file.getFileName().toString());
                 Platform.runLater(() -> area.setText(content));
             } catch (IOException e) {
                 Platform.runLater(() -> area.setText("Помилка при відкритті файлу: " + e.getMessage()));
@@ -33,4 +34,22 @@ public class ScopeLogsViewerController extends BaseScopeController{
             area.setText("Файл не знайдено!");
         }
     }
+
+    /**
+     * Reads the AI report that belongs to a log, if there is one.
+     *
+     * @param logFileName the name of the log file.
+     * @return the report text, a note that the report is still being generated, or an empty string.
+     * @throws IOException if the report exists but cannot be read.
+     */
+    private String readReport(String logFileName) throws IOException {
+        Path report = DataStorage.getReportPath(logFileName);
+        if (Files.exists(report)) {
+            return "\n" + Files.readString(report);
+        }
+        if (Files.exists(DataStorage.getPendingReportPath(logFileName))) {
+            return "\nAI-звіт ще формується...\n";
+        }
+        return "";
+    }
 }
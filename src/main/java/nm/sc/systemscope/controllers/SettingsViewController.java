@@ -4,6 +4,7 @@ import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.control.Button;
+import javafx.scene.control.Label;
 import javafx.scene.control.TextArea;
 import javafx.scene.control.TextField;
 import javafx.scene.input.MouseEvent;
@@ -32,20 +33,23 @@ import java.awt.datatransfer.StringSelection;
  * </pre>
  */
 public class SettingsViewController extends BaseScopeController{
-    @FXML private TextField apiKeyField, apiUrlField, modelField, mainDelayField;
+    @FXML private TextField apiKeyField, apiUrlField, modelField, localAIUrlField, localAIModelField,
+            sampleCPUTempField, sampleCPUUsageField, sampleGPUTempField, sampleGPUUsageField, sampleFansField;
     @FXML private TextArea modelDescriptionField;
 
     @FXML private Button unlockApiKeyBtn, unlockApiUrlBtn, unlockModelBtn, unlockDescriptionModelBtn,
             copyApiKeyBtn, copyApiUrlBtn, copyModelBtn, copyModelDescriptionBtn;
 
-    @FXML private CheckBox saveLogsCheckBox, aiReportCheckBox,
+    @FXML private CheckBox saveLogsCheckBox, aiReportCheckBox, thermalGateCheckBox, lightweightOverlayCheckBox, aiCacheCheckBox,
             showCPUTempCheckBox, showCPUUsageCheckBox, showGPUTempCheckBox, showGPUUsageCheckBox;
 
     @FXML private ToggleButton darkThemeButton, lightThemeButton;
 
-    private boolean apiKeyUnlocked = false, apiUrlUnlocked = false, modelUnlocked = false, modelDescriptionUnlocked = false;
+    @FXML private Label aiCacheStatsLabel;
+
+    @FXML private ComboBox<String> aiProviderBox, localAIApiBox;
 
-    private SystemScopeController systemScopeController;
+    private boolean apiKeyUnlocked = false, apiUrlUnlocked = false, modelUnlocked = false, modelDescriptionUnlocked = false;
 
     /**
      * Initializes the settings view with data from the configuration storage.
@@ -59,7 +63,17 @@ public class SettingsViewController extends BaseScopeController{
             modelField.setText(ScopeConfigManager.getMODEL());
             modelDescriptionField.setText(ScopeConfigManager.getMODEL_DESCRIPTION());
             modelDescriptionField.setWrapText(true);
-            mainDelayField.setText(String.valueOf(ScopeConfigManager.getMainDelay()));
+            sampleCPUTempField.setText(String.valueOf(ScopeProbe.CPU_TEMPERATURE.getPeriod()));
+            sampleCPUUsageField.setText(String.valueOf(ScopeProbe.CPU_USAGE.getPeriod()));
+            sampleGPUTempField.setText(String.valueOf(ScopeProbe.GPU_TEMPERATURE.getPeriod()));
+            sampleGPUUsageField.setText(String.valueOf(ScopeProbe.GPU_USAGE.getPeriod()));
+            sampleFansField.setText(String.valueOf(ScopeProbe.FANS.getPeriod()));
+            aiProviderBox.getItems().setAll("remote", "local", "rules");
+            aiProviderBox.setValue(ScopeConfigManager.getAIProvider());
+            localAIApiBox.getItems().setAll("openai", "llamacpp");
+            localAIApiBox.setValue(ScopeConfigManager.getLocalAIApi());
+            localAIUrlField.setText(ScopeConfigManager.getLocalAIUrl());
+            localAIModelField.setText(ScopeConfigManager.getLocalAIModel());
 
             Tooltip copyTooltip = new Tooltip("Скопіювати в буфер обміну");
             copyTooltip.setShowDelay(Duration.ZERO);
@@ -73,6 +87,10 @@ public class SettingsViewController extends BaseScopeController{
 
             saveLogsCheckBox.setSelected(ScopeConfigManager.isSaveBenchLogs());
             aiReportCheckBox.setSelected(ScopeConfigManager.isGenerateAIReport());
+            thermalGateCheckBox.setSelected(ScopeConfigManager.isThermalGate());
+            lightweightOverlayCheckBox.setSelected(ScopeConfigManager.isLightweightOverlay());
+            aiCacheCheckBox.setSelected(ScopeConfigManager.isAICache());
+            updateAICacheStats();
             showCPUTempCheckBox.setSelected(ScopeConfigManager.isShowCPUTemp());
             showCPUUsageCheckBox.setSelected(ScopeConfigManager.isShowCPUUsage());
             showGPUTempCheckBox.setSelected(ScopeConfigManager.isShowGPUTemp());
@@ -98,13 +116,17 @@ public class SettingsViewController extends BaseScopeController{
             }
             Platform.runLater(() -> {
 
-                mainDelayField.focusedProperty().addListener((obs, oldVal, newVal) -> {
-                    if (!newVal) {
-                        processMainDelayField();
-                    }
-                });
+                watchSamplePeriodField(sampleCPUTempField, ScopeProbe.CPU_TEMPERATURE);
+                watchSamplePeriodField(sampleCPUUsageField, ScopeProbe.CPU_USAGE);
+                watchSamplePeriodField(sampleGPUTempField, ScopeProbe.GPU_TEMPERATURE);
+                watchSamplePeriodField(sampleGPUUsageField, ScopeProbe.GPU_USAGE);
+                watchSamplePeriodField(sampleFansField, ScopeProbe.FANS);
                 stage.setOnCloseRequest(event -> {
-                    processMainDelayField();
+                    processSamplePeriodField(sampleCPUTempField, ScopeProbe.CPU_TEMPERATURE);
+                    processSamplePeriodField(sampleCPUUsageField, ScopeProbe.CPU_USAGE);
+                    processSamplePeriodField(sampleGPUTempField, ScopeProbe.GPU_TEMPERATURE);
+                    processSamplePeriodField(sampleGPUUsageField, ScopeProbe.GPU_USAGE);
+                    processSamplePeriodField(sampleFansField, ScopeProbe.FANS);
                 });
             });
         });
@@ -216,15 +238,21 @@ public class SettingsViewController extends BaseScopeController{
         ScopeConfigManager.setAPI_URL(apiUrlText);
         ScopeConfigManager.setMODEL(modelText);
         ScopeConfigManager.setMODEL_DESCRIPTION(modelDescription);
-
-        ScopeAlert alert;
-        if(ScopeConfigManager.getSaveStatus()){
-            alert = new ScopeAlert(Alert.AlertType.INFORMATION, "Дані успішно збережені");
-        }
-        else{
-            alert = new ScopeAlert(Alert.AlertType.ERROR, "Помилка збереження конфігурації");
-        }
-        alert.show();
+        ScopeConfigManager.setAIProvider(aiProviderBox.getValue());
+        ScopeConfigManager.setLocalAIUrl(localAIUrlField.getText().trim());
+        ScopeConfigManager.setLocalAIApi(localAIApiBox.getValue());
+        ScopeConfigManager.setLocalAIModel(localAIModelField.getText().trim());
+
+        ScopeConfigManager.flush().thenAccept(saved -> Platform.runLater(() -> {
+            ScopeAlert alert;
+            if(saved){
+                alert = new ScopeAlert(Alert.AlertType.INFORMATION, "Дані успішно збережені");
+            }
+            else{
+                alert = new ScopeAlert(Alert.AlertType.ERROR, "Помилка збереження конфігурації");
+            }
+            alert.show();
+        }));
     }
 
     /**
@@ -311,6 +339,45 @@ public class SettingsViewController extends BaseScopeController{
         ScopeConfigManager.swapGenerateAIReport();
     }
 
+    /**
+     * Called when the "Thermal gate" checkbox is toggled.
+     * Updates the configuration to wait or not wait for a thermal steady state before a benchmark.
+     */
+    @FXML public void onToggleThermalGate(){
+        ScopeConfigManager.setThermalGate(thermalGateCheckBox.isSelected());
+    }
+
+    /**
+     * Called when the "AI cache" checkbox is toggled.
+     * Enables the AI response cache or bypasses it.
+     */
+    @FXML public void onToggleAICache(){
+        ScopeConfigManager.setAICache(aiCacheCheckBox.isSelected());
+    }
+
+    /**
+     * Removes all cached AI responses.
+     */
+    @FXML public void onClearAICache(){
+        ScopeAICache.clear();
+        updateAICacheStats();
+    }
+
+    /**
+     * Shows the hit and miss counters of the AI response cache.
+     */
+    private void updateAICacheStats(){
+        aiCacheStatsLabel.setText("Влучань: " + ScopeAICache.getHits() + ", промахів: " + ScopeAICache.getMisses());
+    }
+
+    /**
+     * Called when the "Lightweight overlay" checkbox is toggled.
+     * Switches the benchmark window between the canvas overlay and the Swing frame.
+     */
+    @FXML public void onToggleLightweightOverlay(){
+        ScopeConfigManager.setLightweightOverlay(lightweightOverlayCheckBox.isSelected());
+    }
+
     /**
      * Handles the toggle action for the "Show CPU Temperature" checkbox.
      * <p>
@@ -444,29 +511,39 @@ public class SettingsViewController extends BaseScopeController{
     }
 
     /**
-     * Processes the input from the main delay text field.
-     * <p>
-     * Attempts to parse the text as an integer and update the main delay setting
-     * in {@code ScopeConfigManager}. If parsing succeeds, it restarts the updater
-     * in the {@code SystemScopeController}. If parsing fails, logs an error.
-     * </p>
+     * Applies the sampling period entered in a text field when the field loses focus.
+     *
+     * @param field the text field with the period in milliseconds.
+     * @param probe the probe whose period the field holds.
      */
-    private void processMainDelayField() {
-        try {
-            int delay = Integer.parseInt(mainDelayField.getText().trim());
-            ScopeConfigManager.setMainDelay(delay);
-            systemScopeController.startUpdater();
-        } catch (NumberFormatException e) {
-            ScopeLogger.logError("Некоректне число: " + mainDelayField.getText());
-        }
+    private void watchSamplePeriodField(TextField field, ScopeProbe probe) {
+        field.focusedProperty().addListener((obs, oldVal, newVal) -> {
+            if (!newVal) {
+                processSamplePeriodField(field, probe);
+            }
+        });
     }
 
     /**
-     * Sets the {@code SystemScopeController} instance used by this class.
+     * Processes the input from a sampling period text field.
+     * <p>
+     * Attempts to parse the text as a positive integer and update the sampling period of the probe
+     * in {@code ScopeConfigManager}, which reschedules the probe in the {@link ScopeSampler}.
+     * If parsing fails, logs an error and restores the current period.
+     * </p>
      *
-     * @param controller the {@code SystemScopeController} to set
+     * @param field the text field with the period in milliseconds.
+     * @param probe the probe whose period the field holds.
      */
-    public void setSystemScopeController(SystemScopeController controller){
-        systemScopeController = controller;
+    private void processSamplePeriodField(TextField field, ScopeProbe probe) {
+        try {
+            int period = Integer.parseInt(field.getText().trim());
+            if (period != probe.getPeriod()) {
+                ScopeConfigManager.setSamplePeriod(probe.getKey(), period);
+            }
+        } catch (IllegalArgumentException e) {
+            ScopeLogger.logError("Некоректне число: " + field.getText());
+            field.setText(String.valueOf(probe.getPeriod()));
+        }
     }
 }
@@ -6,7 +6,6 @@ import javafx.fxml.FXML;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.control.*;
 import javafx.stage.Screen;
-import javafx.concurrent.Task;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.Paint;
 import java.io.IOException;
@@ -17,11 +16,8 @@ import nm.sc.systemscope.ScopeHardware.ScopeCentralProcessor;
 import nm.sc.systemscope.ScopeHardware.ScopeMotherBoard;
 import nm.sc.systemscope.ScopeHardware.ScopeUsbDevice;
 import nm.sc.systemscope.modules.*;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -38,52 +34,46 @@ public class SystemScopeController extends BaseScopeController {
     private ObservableList<ProcessInfo> observableList;
     private ObservableList<ScopeUsbDevice> observableDevicesList;
     private ScopeChartsController scopeChartsController;
-    private static final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
-    private static ScheduledFuture<?> temperatureTask;
+    private final Consumer<String> cpuTemperatureListener = this::updateCPUTemperature;
+    private final Consumer<String> gpuTemperatureListener = this::updateGPUTemperature;
+    private final Consumer<String> fansListener = this::updateFans;
     private Stage aiStage, settingsStage;
 
     /**
-     * A method that initializes initial values
+     * A method that initializes initial values.
+     * <p>
+     * The window is shown before the hardware is enumerated: every part of the inventory is loaded by its own
+     * background task with {@link ScopeStartup#load}, and its label or list is filled in once the result arrives.
+     * The static parts are shown from the {@link ScopeInventory} cache right away and only refreshed if they changed.
+     * </p>
      */
     @FXML public void initialize() {
-        Platform.runLater(() -> {
+        observableList = FXCollections.observableArrayList();
+        observableDevicesList = FXCollections.observableArrayList();
+        processList.setItems(observableList);
+        devicesList.setItems(observableDevicesList);
 
-            InfoPC.setText(SystemInformation.getComputerName());
-            String baseboardString = ScopeMotherBoard.getManufacturer() + " "
-                    + ScopeMotherBoard.getModel() + " " + ScopeMotherBoard.getVersion();
-            Baseboard.setText(baseboardString);
-            CPU.setText(ScopeCentralProcessor.getProcessorName());
-            GPU.setText(SystemInformation.getGraphicCards());
-            RAM.setText(SystemInformation.getRAM());
-            DiskStorage.setText(SystemInformation.getDiskStorage());
-            updateTemperature();
-            BatteryCapacity.setText(ScopeBattery.getBatteryCapacity() + " mAh");
+        ScopeInventory.load(ScopeInventory.Part.COMPUTER_NAME, SystemInformation::getComputerName, InfoPC::setText);
+        ScopeInventory.load(ScopeInventory.Part.BASEBOARD, () -> ScopeMotherBoard.getManufacturer() + " "
+                + ScopeMotherBoard.getModel() + " " + ScopeMotherBoard.getVersion(), Baseboard::setText);
+        ScopeInventory.load(ScopeInventory.Part.CPU, ScopeCentralProcessor::getProcessorName, CPU::setText);
+        ScopeInventory.load(ScopeInventory.Part.GPUS, SystemInformation::getGraphicCards, GPU::setText);
+        ScopeInventory.load(ScopeInventory.Part.RAM, SystemInformation::getRAM, RAM::setText);
+        ScopeInventory.load(ScopeInventory.Part.RAM_MODULES, SystemInformation::getRamInfo, info -> { });
+        ScopeInventory.load(ScopeInventory.Part.DISKS, SystemInformation::getDiskStorage, DiskStorage::setText);
+        ScopeStartup.load("battery", () -> ScopeBattery.getBatteryCapacity() + " mAh", BatteryCapacity::setText);
+        ScopeStartup.load("processes", ProcessInfoService::getRunningProcesses, observableList::setAll);
+        ScopeStartup.load("USB devices", () -> SystemInformation.getScopeUsbDevices(SystemInformation.getUsbDevices()),
+                observableDevicesList::setAll);
+
+        searchField.textProperty().addListener((observable, oldValue, newValue) -> {
+            try {
+                filterProcesses(newValue);
+            } catch (IOException e) {
+                ScopeLogger.logError("Error while filtering processes: {}", e.getMessage(), e);
+            }
         });
 
-        try{
-            List<ProcessInfo> processes = ProcessInfoService.getRunningProcesses();
-            List<ScopeUsbDevice> devices = SystemInformation.getScopeUsbDevices(SystemInformation.getUsbDevices());
-
-            observableList = FXCollections.observableArrayList(processes);
-            observableDevicesList = FXCollections.observableArrayList(devices);
-
-            Platform.runLater(() -> {
-                processList.setItems(observableList);
-                devicesList.setItems(observableDevicesList);
-            });
-
-            searchField.textProperty().addListener((observable, oldValue, newValue) -> {
-                try {
-                    filterProcesses(newValue);
-                } catch (IOException e) {
-                    ScopeLogger.logError("Error while filtering processes: {}", e.getMessage(), e);
-                }
-            });
-        }
-        catch(IOException e){
-            ScopeLogger.logError("Error while initializing processes and devices: {}", e.getMessage(), e);
-        }
-
         startUpdater();
         Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown));
     }
@@ -119,6 +109,7 @@ public class SystemScopeController extends BaseScopeController {
         stage.setWidth(screenBounds.getWidth());
         stage.setHeight(screenBounds.getHeight());
         stage.showAndWait();
+        scopeChartsController.stopBackgroundUpdate();
     }
 
     /**
@@ -188,7 +179,6 @@ public class SystemScopeController extends BaseScopeController {
 
         SettingsViewController settingsViewController = (SettingsViewController) loader.getController();
         settingsViewController.setStage(settingsStage);
-        settingsViewController.setSystemScopeController(this);
 
         settingsStage.setResizable(false);
         settingsStage.setTitle("Налаштування");
@@ -250,9 +240,13 @@ public class SystemScopeController extends BaseScopeController {
 
     /**
      * A method that creates a dialog box and displays additional information about RAM.
+     * The modules are taken from the inventory cache when they are known.
      */
     @FXML public void showRamInfo(){
-        String info = SystemInformation.getRamInfo();
+        String info = ScopeInventory.get(ScopeInventory.Part.RAM_MODULES);
+        if (info == null) {
+            info = SystemInformation.getRamInfo();
+        }
 
         ScopeAlert alert = new ScopeAlert(Alert.AlertType.INFORMATION, info);
         alert.showAndWait();
@@ -278,7 +272,7 @@ public class SystemScopeController extends BaseScopeController {
      * @param tempString input string
      * @return Temperature value
      */
-    private double parseTemperature(String tempString) {
+    static double parseTemperature(String tempString) {
         Pattern pattern = Pattern.compile("\\d+(\\.\\d+)?");
         Matcher matcher = pattern.matcher(tempString);
 
@@ -290,78 +284,82 @@ public class SystemScopeController extends BaseScopeController {
     }
 
     /**
-     * Starts or restarts the scheduled task for updating temperature data.
+     * Starts or restarts the updates of the temperature and fan speed labels.
      * <p>
-     * If a previous temperature update task is running, it will be canceled first.
-     * Then a new task is scheduled with a fixed delay, based on the value
-     * retrieved from {@code ScopeConfigManager#getMainDelay()}.
+     * The labels are subscribed to the {@link ScopeSampler}, which reads each value at the period configured
+     * for its {@link ScopeProbe}, so a changed period applies without restarting the updater.
      * </p>
      */
-    public void startUpdater(){
-        if (temperatureTask != null && !temperatureTask.isCancelled()) {
-            temperatureTask.cancel(false);
-        }
+    public synchronized void startUpdater(){
+        stopUpdater();
+        ScopeSampler.subscribe(ScopeProbe.CPU_TEMPERATURE, cpuTemperatureListener);
+        ScopeSampler.subscribe(ScopeProbe.GPU_TEMPERATURES, gpuTemperatureListener);
+        ScopeSampler.subscribe(ScopeProbe.FANS, fansListener);
+    }
 
-        int delay = ScopeConfigManager.getMainDelay();
-        temperatureTask = scheduler.scheduleAtFixedRate(this::updateTemperature, 0, delay, TimeUnit.SECONDS);
+    /**
+     * Stops the updates of the temperature and fan speed labels.
+     */
+    private synchronized void stopUpdater(){
+        ScopeSampler.unsubscribe(ScopeProbe.CPU_TEMPERATURE, cpuTemperatureListener);
+        ScopeSampler.unsubscribe(ScopeProbe.GPU_TEMPERATURES, gpuTemperatureListener);
+        ScopeSampler.unsubscribe(ScopeProbe.FANS, fansListener);
     }
 
     /**
-     * Updates the CPU temperature, GPU temperature, and fan speed information.
-     * <p>
-     * Fetches the latest temperature and fan speed data from the system using
-     * {@code ScopeCentralProcessor} and {@code SystemInformation}.
-     * Parses the retrieved data and updates the corresponding UI labels on the JavaFX Application Thread.
-     * Handles temperature parsing errors gracefully by logging them.
-     * </p>
+     * Displays a new CPU temperature with a color indicating its zone (e.g., normal, warning, danger).
      *
-     * <p>Details:</p>
-     * <ul>
-     *     <li>CPU temperature is displayed with a color indicating its zone (e.g., normal, warning, danger).</li>
-     *     <li>GPU temperature displays information for one or two GPUs, if available.</li>
-     *     <li>Fan speed is shown; if fans are not found, the text is colored orange, otherwise green.</li>
-     * </ul>
+     * @param temperatureCPU the temperature as read by {@link ScopeProbe#CPU_TEMPERATURE}.
      */
-    private void updateTemperature() {
-        Task<Void> updateTask = new Task<>() {
-            @Override
-            protected Void call() {
-                String temperatureCPU = ScopeCentralProcessor.getTemperatureCPU();
-                String tempGPUString = SystemInformation.getTemperatureGPU();
-                String Fans = SystemInformation.getFansRPM();
-
-                try {
-                    double tempCPU = parseTemperature(temperatureCPU);
-                    double[] gpuTemps = parseMultipleTemperatures(tempGPUString);
-
-                    Platform.runLater(() -> {
-                        TempCPU.setText(temperatureCPU + " °C");
-                        TempCPU.setTextFill(getColorByZone(tempCPU));
-
-                        String formattedGPU = gpuTemps.length > 1
-                                ? String.format("Intel GPU: %.1f °C\nNVIDIA GPU: %.1f °C", gpuTemps[0], gpuTemps[1])
-                                : String.format("GPU: %.1f °C", gpuTemps[0]);
-                        TempGPU.setText(formattedGPU);
-
-                        TempGPU.setTextFill(getColorByZone(Math.max(gpuTemps[0], gpuTemps.length > 1 ? gpuTemps[1] : gpuTemps[0])));
-
-                        FansSpeed.setText(Fans);
-                        if (Fans.equals("Не знайдено")) {
-                            FansSpeed.setTextFill(Color.ORANGE);
-                        } else {
-                            FansSpeed.setTextFill(Color.GREEN);
-                        }
-                    });
-
-                } catch (NumberFormatException e) {
-                    ScopeLogger.logError("Temperature parsing error: {}", e.getMessage());
-                }
+    private void updateCPUTemperature(String temperatureCPU) {
+        try {
+            double tempCPU = parseTemperature(temperatureCPU);
 
-                return null;
-            }
-        };
+            Platform.runLater(() -> {
+                TempCPU.setText(temperatureCPU + " °C");
+                TempCPU.setTextFill(getColorByZone(tempCPU));
+            });
+        } catch (NumberFormatException e) {
+            ScopeLogger.logError("Temperature parsing error: {}", e.getMessage());
+        }
+    }
 
-        new Thread(updateTask).start();
+    /**
+     * Displays new GPU temperatures for one or two GPUs, if available.
+     *
+     * @param tempGPUString the temperatures as read by {@link ScopeProbe#GPU_TEMPERATURES}.
+     */
+    private void updateGPUTemperature(String tempGPUString) {
+        try {
+            double[] gpuTemps = parseMultipleTemperatures(tempGPUString);
+
+            Platform.runLater(() -> {
+                String formattedGPU = gpuTemps.length > 1
+                        ? String.format("Intel GPU: %.1f °C\nNVIDIA GPU: %.1f °C", gpuTemps[0], gpuTemps[1])
+                        : String.format("GPU: %.1f °C", gpuTemps[0]);
+                TempGPU.setText(formattedGPU);
+
+                TempGPU.setTextFill(getColorByZone(Math.max(gpuTemps[0], gpuTemps.length > 1 ? gpuTemps[1] : gpuTemps[0])));
+            });
+        } catch (NumberFormatException e) {
+            ScopeLogger.logError("Temperature parsing error: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Displays new fan speeds; if fans are not found, the text is colored orange, otherwise green.
+     *
+     * @param fans the fan speeds as read by {@link ScopeProbe#FANS}.
+     */
+    private void updateFans(String fans) {
+        Platform.runLater(() -> {
+            FansSpeed.setText(fans);
+            if (fans.equals("Не знайдено")) {
+                FansSpeed.setTextFill(Color.ORANGE);
+            } else {
+                FansSpeed.setTextFill(Color.GREEN);
+            }
+        });
     }
 
     /**
@@ -369,7 +367,7 @@ public class SystemScopeController extends BaseScopeController {
      * @param tempString input string with temperatures
      * @return An array of numbers with temperatures
      */
-    private double[] parseMultipleTemperatures(String tempString) {
+    static double[] parseMultipleTemperatures(String tempString) {
         Pattern pattern = Pattern.compile("\\d+(\\.\\d+)?");
         Matcher matcher = pattern.matcher(tempString);
 
@@ -388,33 +386,29 @@ public class SystemScopeController extends BaseScopeController {
     }
 
     /**
-     * A method that updates devices list
+     * A method that updates devices list in the background
      */
     private void updateDevicesList(){
-        List<ScopeUsbDevice> devices = SystemInformation.getScopeUsbDevices(SystemInformation.getUsbDevices());
-
-        observableDevicesList.clear();
-
-        observableDevicesList.addAll(devices);
+        ScopeExecutors.getIOPool().execute(() -> {
+            List<ScopeUsbDevice> devices = SystemInformation.getScopeUsbDevices(SystemInformation.getUsbDevices());
 
-        devicesList.setItems(observableDevicesList);
+            Platform.runLater(() -> observableDevicesList.setAll(devices));
+        });
     }
 
     /**
-     * A method that updates processes list
+     * A method that updates processes list in the background
      */
     private void updateProcessList() {
-        try {
-            List<ProcessInfo> processes = ProcessInfoService.getRunningProcesses();
-
-            observableList.clear();
-
-            observableList.addAll(processes);
+        ScopeExecutors.getIOPool().execute(() -> {
+            try {
+                List<ProcessInfo> processes = ProcessInfoService.getRunningProcesses();
 
-            processList.setItems(observableList);
-        } catch (IOException e) {
-            ScopeLogger.logError("Failed to update process list", e);
-        }
+                Platform.runLater(() -> observableList.setAll(processes));
+            } catch (IOException e) {
+                ScopeLogger.logError("Failed to update process list", e);
+            }
+        });
     }
 
     /**
@@ -450,7 +444,10 @@ public class SystemScopeController extends BaseScopeController {
         if(scopeChartsController != null){
             scopeChartsController.stopBackgroundUpdate();
         }
+        stopUpdater();
         DataStorage.cleanDataStorage();
-        scheduler.shutdown();
+        ScopeSampler.logStatistics();
+        ScopeExecutors.shutdown();
+        SensorTraceRecorder.stop();
     }
 }
\ No newline at end of file
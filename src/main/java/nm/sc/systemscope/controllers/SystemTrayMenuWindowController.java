@@ -5,6 +5,7 @@ import javafx.stage.Stage;
 import javafx.scene.control.Button;
 import javafx.application.Platform;
 import nm.sc.systemscope.modules.Benchmark;
+import nm.sc.systemscope.modules.ScopeExecutors;
 import nm.sc.systemscope.modules.ScopeLoaderFXML;
 import nm.sc.systemscope.modules.SystemTrayManager;
 
@@ -70,13 +71,13 @@ public class SystemTrayMenuWindowController extends BaseScopeController {
             }
         });
 
-        exitButton.setOnAction(e -> new Thread(() -> {
+        exitButton.setOnAction(e -> ScopeExecutors.getIOPool().execute(() -> {
             Benchmark.stopBenchmark();
 
             Platform.runLater(() -> {
                 Platform.exit();
                 System.exit(0);
             });
-        }).start());
+        }));
     }
 }
@@ -0,0 +1,190 @@
+package nm.sc.systemscope.modules;
+
+import javafx.application.Platform;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.stage.Stage;
+import javafx.stage.StageStyle;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lightweight benchmark overlay that renders pre-formatted text lines into a single {@link Canvas}
+ * placed on a transparent, undecorated JavaFX stage.
+ * <p>
+ * Lines can be updated from any thread. A repaint is scheduled on the JavaFX Application Thread only
+ * when a displayed line actually changes, and several changes made before the repaint runs are
+ * coalesced into one frame. The overlay keeps counters of repaints, skipped updates and the time spent
+ * rendering so its own cost can be measured.
+ * </p>
+ */
+public class BenchOverlay {
+    private static final double WIDTH = 400, LINE_HEIGHT = 32, PADDING = 8;
+    private static final Font HEADER_FONT = Font.font("Segoe UI", FontWeight.BOLD, 25);
+    private static final Font LINE_FONT = Font.font("Segoe UI", FontWeight.BOLD, 24);
+
+    private final Object lock = new Object();
+    private String[] lines;
+    private final AtomicBoolean repaintPending = new AtomicBoolean(false);
+    private final AtomicLong repaintCount = new AtomicLong(), skippedCount = new AtomicLong(), renderNanos = new AtomicLong();
+
+    private Stage stage;
+    private Canvas canvas;
+
+    /**
+     * Constructs an overlay with the given number of text lines below the header.
+     *
+     * @param lineCount the number of value lines the overlay displays.
+     */
+    public BenchOverlay(int lineCount) {
+        this.lines = new String[lineCount];
+        Arrays.fill(lines, "");
+    }
+
+    /**
+     * Creates and shows the overlay stage. Must be called on the JavaFX Application Thread.
+     */
+    public void show() {
+        canvas = new Canvas(WIDTH, getHeight(lines.length));
+
+        Scene scene = new Scene(new Group(canvas), Color.TRANSPARENT);
+
+        stage = new Stage(StageStyle.TRANSPARENT);
+        stage.setScene(scene);
+        stage.setAlwaysOnTop(true);
+        stage.setX(0);
+        stage.setY(0);
+        stage.setTitle("Bench Window");
+
+        scene.getRoot().setMouseTransparent(true);
+
+        render();
+        stage.show();
+    }
+
+    /**
+     * Sets the text of a line. The overlay is repainted only if the text differs from the displayed one.
+     *
+     * @param index the index of the line to update.
+     * @param text the new text of the line.
+     */
+    public void setLine(int index, String text) {
+        synchronized (lock) {
+            if (index < 0 || index >= lines.length) {
+                return;
+            }
+            if (Objects.equals(lines[index], text)) {
+                skippedCount.incrementAndGet();
+                return;
+            }
+            lines[index] = text;
+        }
+
+        if (repaintPending.compareAndSet(false, true)) {
+            Platform.runLater(() -> {
+                repaintPending.set(false);
+                render();
+            });
+        }
+    }
+
+    /**
+     * Changes the number of lines and clears all of them. The overlay is resized to fit the new lines.
+     *
+     * @param lineCount the number of value lines the overlay displays.
+     */
+    public void setLineCount(int lineCount) {
+        synchronized (lock) {
+            lines = new String[lineCount];
+            Arrays.fill(lines, "");
+        }
+
+        Platform.runLater(() -> {
+            if (canvas != null && stage != null) {
+                canvas.setHeight(getHeight(lineCount));
+                stage.sizeToScene();
+            }
+            render();
+        });
+    }
+
+    private static double getHeight(int lineCount) {
+        return PADDING * 2 + LINE_HEIGHT * (lineCount + 1);
+    }
+
+    /**
+     * Draws the header and all lines into the canvas.
+     */
+    private void render() {
+        if (canvas == null) {
+            return;
+        }
+
+        long start = System.nanoTime();
+
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+
+        gc.setFont(HEADER_FONT);
+        gc.setFill(Color.YELLOW);
+        gc.fillText("SYSTEM SCOPE", PADDING, PADDING + LINE_HEIGHT - 6);
+
+        gc.setFont(LINE_FONT);
+        gc.setFill(Color.PINK);
+        synchronized (lock) {
+            for (int i = 0; i < lines.length; i++) {
+                gc.fillText(lines[i], PADDING, PADDING + LINE_HEIGHT * (i + 2) - 6);
+            }
+        }
+
+        renderNanos.addAndGet(System.nanoTime() - start);
+        repaintCount.incrementAndGet();
+    }
+
+    /**
+     * Closes the overlay stage and logs its rendering counters.
+     */
+    public void close() {
+        if (stage != null) {
+            stage.close();
+            stage = null;
+        }
+        ScopeLogger.logInfo("Bench overlay: {} repaints, {} unchanged updates skipped, {} ms rendering",
+                getRepaintCount(), getSkippedCount(), getRenderNanos() / 1_000_000);
+    }
+
+    /**
+     * Returns the number of repaints performed so far.
+     *
+     * @return the repaint count.
+     */
+    public long getRepaintCount() {
+        return repaintCount.get();
+    }
+
+    /**
+     * Returns the number of line updates that were skipped because the value did not change.
+     *
+     * @return the skipped update count.
+     */
+    public long getSkippedCount() {
+        return skippedCount.get();
+    }
+
+    /**
+     * Returns the total time spent rendering the overlay on the JavaFX Application Thread.
+     *
+     * @return the render time in nanoseconds.
+     */
+    public long getRenderNanos() {
+        return renderNanos.get();
+    }
+}
@@ -1,95 +1,224 @@
 package nm.sc.systemscope.modules;
 
-import nm.sc.systemscope.ScopeHardware.ScopeCentralProcessor;
+import javafx.application.Platform;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * A floating benchmark window displaying system statistics such as CPU and GPU usage and temperature.
+ * The values are rendered either by a lightweight JavaFX {@link BenchOverlay} or by a Swing frame.
+ * Changes of the displayed metrics in the configuration are applied to a running benchmark.
  */
 public class BenchWindow {
 
     private JFrame frame;
     private JLabel tempCPULabel, tempGPULabel, CPUUsageLabel, GPUUsageLabel;
+    private BenchOverlay overlay;
+    private int cpuTempLine, cpuUsageLine, gpuTempLine, gpuUsageLine;
     private static List<Integer> temperaturesCPU, temperaturesGPU, usagesCPU, usagesGPU;
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+    private static ThermalSteadyState steadyStateCPU, steadyStateGPU;
+    private static int steadyStateSample = -1, steadyStateTime = -1;
+    private long startedAt;
+    private ScheduledFuture<?> recordTask;
+    private final Runnable reconfigureListener = this::reconfigure;
+    private final Consumer<String> tempCPUListener = value -> showValue(ScopeProbe.CPU_TEMPERATURE, value);
+    private final Consumer<String> usageCPUListener = value -> showValue(ScopeProbe.CPU_USAGE, value);
+    private final Consumer<String> tempGPUListener = value -> showValue(ScopeProbe.GPU_TEMPERATURE, value);
+    private final Consumer<String> usageGPUListener = value -> showValue(ScopeProbe.GPU_USAGE, value);
 
-    private boolean isShowCPUTemp, isShowCPUUsage, isShowGPUTemp, isShowGPUUsage;
+    private volatile boolean isShowCPUTemp, isShowCPUUsage, isShowGPUTemp, isShowGPUUsage;
+
+    private static final int STEADY_STATE_WINDOW = 30;
+    private static final double STEADY_STATE_MAX_SLOPE = 1.0;
 
     /**
      * Initializes the benchmark window and starts the scheduled updates.
+     * Depending on the configuration, the values are shown either in the lightweight canvas overlay
+     * or in the Swing frame. The displayed values follow the {@link ScopeSampler} at the period of each probe,
+     * while the benchmark log records the latest values once per second. Adaptive sampling is suspended
+     * until the window is closed.
      */
     public void initialize() {
+        steadyStateSample = -1;
+        steadyStateTime = -1;
+
         if(ScopeConfigManager.isShowBenchmark()) {
-            scheduler.scheduleAtFixedRate(this::updateBenchmark, 0, 1, TimeUnit.SECONDS);
+            startedAt = System.currentTimeMillis();
+            steadyStateCPU = new ThermalSteadyState(STEADY_STATE_WINDOW, STEADY_STATE_MAX_SLOPE, 1);
+            steadyStateGPU = new ThermalSteadyState(STEADY_STATE_WINDOW, STEADY_STATE_MAX_SLOPE, 1);
 
             isShowCPUTemp = ScopeConfigManager.isShowCPUTemp();
             isShowCPUUsage = ScopeConfigManager.isShowCPUUsage();
             isShowGPUTemp = ScopeConfigManager.isShowGPUTemp();
             isShowGPUUsage = ScopeConfigManager.isShowGPUUsage();
 
-            frame = new JFrame("Bench Window");
-            frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
-            frame.setSize(400, 200);
-            frame.setLocation(0, 0);
-            frame.setAlwaysOnTop(true);
-            frame.setUndecorated(true);
-            frame.getRootPane().setOpaque(false);
-            frame.setBackground(new Color(0, 0, 0, 0));
-
-            frame.getContentPane().setLayout(new BoxLayout(frame.getContentPane(), BoxLayout.Y_AXIS));
-
-            TransparentPane glass = new TransparentPane();
-            frame.setGlassPane(glass);
-            glass.setVisible(true);
-
-            JLabel head = new JLabel("SYSTEM SCOPE", SwingConstants.CENTER);
-            head.setForeground(Color.YELLOW);
-            head.setFont(new Font("Segoe UI", Font.BOLD, 25));
-            frame.getContentPane().add(head);
-
-            if(isShowCPUTemp) {
-                temperaturesCPU = new ArrayList<>();
-                tempCPULabel = new JLabel("CPU TEMP: " + ScopeCentralProcessor.getTemperatureCPU(), SwingConstants.LEFT);
-                tempCPULabel.setForeground(Color.PINK);
-                tempCPULabel.setFont(new Font("Segoe UI", Font.BOLD, 24));
-                frame.getContentPane().add(tempCPULabel);
-            }
+            temperaturesCPU = isShowCPUTemp ? new ArrayList<>() : null;
+            usagesCPU = isShowCPUUsage ? new ArrayList<>() : null;
+            temperaturesGPU = isShowGPUTemp ? new ArrayList<>() : null;
+            usagesGPU = isShowGPUUsage ? new ArrayList<>() : null;
 
-            if(isShowCPUUsage) {
-                usagesCPU = new ArrayList<>();
-                CPUUsageLabel = new JLabel("CPU Usage: ", SwingConstants.LEFT);
-                CPUUsageLabel.setForeground(Color.PINK);
-                CPUUsageLabel.setFont(new Font("Segoe UI", Font.BOLD, 24));
-                frame.getContentPane().add(CPUUsageLabel);
+            if (ScopeConfigManager.isLightweightOverlay()) {
+                initializeOverlay();
+            } else {
+                initializeFrame();
             }
 
-            if(isShowGPUTemp) {
-                temperaturesGPU = new ArrayList<>();
-                tempGPULabel = new JLabel("GPU TEMP: ", SwingConstants.LEFT);
-                tempGPULabel.setForeground(Color.PINK);
-                tempGPULabel.setFont(new Font("Segoe UI", Font.BOLD, 24));
-                frame.getContentPane().add(tempGPULabel);
+            if (overlay != null) {
+                Platform.runLater(overlay::show);
+            } else {
+                frame.setVisible(true);
             }
+            ScopeSampler.setFullRate(true);
+            subscribeProbes();
 
-            if(isShowGPUUsage) {
-                usagesGPU = new ArrayList<>();
-                GPUUsageLabel = new JLabel("GPU Usage: ", SwingConstants.LEFT);
-                GPUUsageLabel.setForeground(Color.PINK);
-                GPUUsageLabel.setFont(new Font("Segoe UI", Font.BOLD, 24));
-                frame.getContentPane().add(GPUUsageLabel);
-            }
+            recordTask = ScopeExecutors.getScheduler().scheduleAtFixedRate(this::updateBenchmark, 1, 1, TimeUnit.SECONDS);
+            ScopeConfigManager.addListener(reconfigureListener, ScopeSetting.SHOW_CPU_TEMP, ScopeSetting.SHOW_CPU_USAGE,
+                    ScopeSetting.SHOW_GPU_TEMP, ScopeSetting.SHOW_GPU_USAGE);
+        }
+    }
+
+    /**
+     * Applies the displayed metrics from the configuration to the running benchmark. Metrics that are shown
+     * from now on start collecting values, hidden metrics stop, and the overlay or frame gets a line for every
+     * displayed metric. The recording scheduler keeps running.
+     */
+    private synchronized void reconfigure() {
+        boolean showCPUTemp = ScopeSetting.SHOW_CPU_TEMP.get(), showCPUUsage = ScopeSetting.SHOW_CPU_USAGE.get(),
+                showGPUTemp = ScopeSetting.SHOW_GPU_TEMP.get(), showGPUUsage = ScopeSetting.SHOW_GPU_USAGE.get();
+        if (showCPUTemp == isShowCPUTemp && showCPUUsage == isShowCPUUsage
+                && showGPUTemp == isShowGPUTemp && showGPUUsage == isShowGPUUsage) {
+            return;
+        }
+
+        if (showCPUTemp && temperaturesCPU == null) temperaturesCPU = new ArrayList<>();
+        if (showCPUUsage && usagesCPU == null) usagesCPU = new ArrayList<>();
+        if (showGPUTemp && temperaturesGPU == null) temperaturesGPU = new ArrayList<>();
+        if (showGPUUsage && usagesGPU == null) usagesGPU = new ArrayList<>();
+
+        isShowCPUTemp = showCPUTemp;
+        isShowCPUUsage = showCPUUsage;
+        isShowGPUTemp = showGPUTemp;
+        isShowGPUUsage = showGPUUsage;
+
+        if (overlay != null) {
+            overlay.setLineCount(assignLines());
+        } else if (frame != null) {
+            SwingUtilities.invokeLater(() -> {
+                buildFrameContent();
+                frame.revalidate();
+                frame.repaint();
+            });
+        }
+        subscribeProbes();
+        ScopeLogger.logInfo("Benchmark window reconfigured: CPU temp {}, CPU usage {}, GPU temp {}, GPU usage {}",
+                showCPUTemp, showCPUUsage, showGPUTemp, showGPUUsage);
+    }
+
+    /**
+     * Subscribes the displayed metrics to the sampler and unsubscribes the hidden ones.
+     */
+    private void subscribeProbes() {
+        subscribe(ScopeProbe.CPU_TEMPERATURE, tempCPUListener, isShowCPUTemp);
+        subscribe(ScopeProbe.CPU_USAGE, usageCPUListener, isShowCPUUsage);
+        subscribe(ScopeProbe.GPU_TEMPERATURE, tempGPUListener, isShowGPUTemp);
+        subscribe(ScopeProbe.GPU_USAGE, usageGPUListener, isShowGPUUsage);
+    }
+
+    private static void subscribe(ScopeProbe probe, Consumer<String> listener, boolean shown) {
+        ScopeSampler.unsubscribe(probe, listener);
+        if (shown) {
+            ScopeSampler.subscribe(probe, listener);
+        }
+    }
+
+    /**
+     * Creates the canvas overlay and assigns a line to every displayed metric.
+     */
+    private void initializeOverlay() {
+        overlay = new BenchOverlay(assignLines());
+    }
+
+    /**
+     * Assigns an overlay line to every displayed metric.
+     *
+     * @return the number of lines.
+     */
+    private int assignLines() {
+        int lineCount = 0;
+        cpuTempLine = isShowCPUTemp ? lineCount++ : -1;
+        cpuUsageLine = isShowCPUUsage ? lineCount++ : -1;
+        gpuTempLine = isShowGPUTemp ? lineCount++ : -1;
+        gpuUsageLine = isShowGPUUsage ? lineCount++ : -1;
+        return lineCount;
+    }
+
+    /**
+     * Creates the Swing frame with a label for every displayed metric.
+     */
+    private void initializeFrame() {
+        frame = new JFrame("Bench Window");
+        frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        frame.setSize(400, 200);
+        frame.setLocation(0, 0);
+        frame.setAlwaysOnTop(true);
+        frame.setUndecorated(true);
+        frame.getRootPane().setOpaque(false);
+        frame.setBackground(new Color(0, 0, 0, 0));
+
+        frame.getContentPane().setLayout(new BoxLayout(frame.getContentPane(), BoxLayout.Y_AXIS));
+
+        TransparentPane glass = new TransparentPane();
+        frame.setGlassPane(glass);
+        glass.setVisible(true);
+
+        buildFrameContent();
+    }
+
+    /**
+     * Fills the Swing frame with the header and a label for every displayed metric.
+     */
+    private void buildFrameContent() {
+        frame.getContentPane().removeAll();
+        tempCPULabel = tempGPULabel = CPUUsageLabel = GPUUsageLabel = null;
+
+        JLabel head = new JLabel("SYSTEM SCOPE", SwingConstants.CENTER);
+        head.setForeground(Color.YELLOW);
+        head.setFont(new Font("Segoe UI", Font.BOLD, 25));
+        frame.getContentPane().add(head);
+
+        if(isShowCPUTemp) {
+            tempCPULabel = new JLabel("CPU TEMP: ", SwingConstants.LEFT);
+            tempCPULabel.setForeground(Color.PINK);
+            tempCPULabel.setFont(new Font("Segoe UI", Font.BOLD, 24));
+            frame.getContentPane().add(tempCPULabel);
+        }
 
-            updateBenchmark();
+        if(isShowCPUUsage) {
+            CPUUsageLabel = new JLabel("CPU Usage: ", SwingConstants.LEFT);
+            CPUUsageLabel.setForeground(Color.PINK);
+            CPUUsageLabel.setFont(new Font("Segoe UI", Font.BOLD, 24));
+            frame.getContentPane().add(CPUUsageLabel);
+        }
+
+        if(isShowGPUTemp) {
+            tempGPULabel = new JLabel("GPU TEMP: ", SwingConstants.LEFT);
+            tempGPULabel.setForeground(Color.PINK);
+            tempGPULabel.setFont(new Font("Segoe UI", Font.BOLD, 24));
+            frame.getContentPane().add(tempGPULabel);
+        }
 
-            frame.setVisible(true);
+        if(isShowGPUUsage) {
+            GPUUsageLabel = new JLabel("GPU Usage: ", SwingConstants.LEFT);
+            GPUUsageLabel.setForeground(Color.PINK);
+            GPUUsageLabel.setFont(new Font("Segoe UI", Font.BOLD, 24));
+            frame.getContentPane().add(GPUUsageLabel);
         }
     }
 
@@ -118,33 +247,31 @@ public class BenchWindow {
      * Closes the benchmark window.
      */
     public void close() {
+        ScopeConfigManager.removeListener(reconfigureListener);
+        ScopeSampler.unsubscribe(ScopeProbe.CPU_TEMPERATURE, tempCPUListener);
+        ScopeSampler.unsubscribe(ScopeProbe.CPU_USAGE, usageCPUListener);
+        ScopeSampler.unsubscribe(ScopeProbe.GPU_TEMPERATURE, tempGPUListener);
+        ScopeSampler.unsubscribe(ScopeProbe.GPU_USAGE, usageGPUListener);
+        ScopeSampler.setFullRate(false);
         if (frame != null) {
             frame.dispose();
         }
-        this.shutdownScheduler();
+        if (overlay != null) {
+            overlay.close();
+        }
+        if (recordTask != null) {
+            recordTask.cancel(false);
+        }
     }
 
     /**
-     * Updates the benchmark data displayed in the window.
+     * Records the latest values of the displayed metrics for the benchmark log.
      */
-    private void updateBenchmark() {
-        String tempCPU = null;
-        String tempGPU = null;
-        String usageCPU = null;
-        String usageGPU = null;
-
-        if (isShowCPUTemp) {
-            tempCPU = ScopeCentralProcessor.getTemperatureCPU();
-        }
-        if (isShowGPUTemp) {
-            tempGPU = SystemInformation.getTemperatureDiscreteGPU();
-        }
-        if (isShowCPUUsage) {
-            usageCPU = ScopeCentralProcessor.getCPUUsage();
-        }
-        if (isShowGPUUsage) {
-            usageGPU = SystemInformation.getGPUUsage();
-        }
+    private synchronized void updateBenchmark() {
+        String tempCPU = isShowCPUTemp ? ScopeSampler.getLatest(ScopeProbe.CPU_TEMPERATURE) : null;
+        String tempGPU = isShowGPUTemp ? ScopeSampler.getLatest(ScopeProbe.GPU_TEMPERATURE) : null;
+        String usageCPU = isShowCPUUsage ? ScopeSampler.getLatest(ScopeProbe.CPU_USAGE) : null;
+        String usageGPU = isShowGPUUsage ? ScopeSampler.getLatest(ScopeProbe.GPU_USAGE) : null;
 
         try {
             if (tempCPU != null) {
@@ -171,30 +298,71 @@ public class BenchWindow {
             ScopeLogger.logError("Error parsing temperature or usage values", e);
         }
 
-        String finalTempCPU = tempCPU;
-        String finalTempGPU = tempGPU;
-        String finalUsageCPU = usageCPU;
-        String finalUsageGPU = usageGPU;
+        updateSteadyState(tempCPU, tempGPU);
+    }
+
+    /**
+     * Displays a new reading of a probe in the overlay or frame.
+     *
+     * @param probe the probe that was read.
+     * @param value the reading.
+     */
+    private synchronized void showValue(ScopeProbe probe, String value) {
+        String text = switch (probe) {
+            case CPU_TEMPERATURE -> "CPU Temp: " + value;
+            case CPU_USAGE -> "CPU Usage: " + value.replace("%", "");
+            case GPU_USAGE -> "GPU Usage: " + value.replace("%", "");
+            default -> value.trim();
+        };
+
+        if (overlay != null) {
+            int line = switch (probe) {
+                case CPU_TEMPERATURE -> cpuTempLine;
+                case CPU_USAGE -> cpuUsageLine;
+                case GPU_USAGE -> gpuUsageLine;
+                default -> gpuTempLine;
+            };
+            if (line >= 0) overlay.setLine(line, text);
+            return;
+        }
 
         SwingUtilities.invokeLater(() -> {
-            if (finalTempCPU != null) tempCPULabel.setText("CPU Temp: " + finalTempCPU);
-            if (finalTempGPU != null) tempGPULabel.setText(finalTempGPU);
-            if (finalUsageCPU != null) CPUUsageLabel.setText("CPU Usage: " + finalUsageCPU);
-            if (finalUsageGPU != null) GPUUsageLabel.setText("GPU Usage: " + finalUsageGPU);
+            JLabel label = switch (probe) {
+                case CPU_TEMPERATURE -> tempCPULabel;
+                case CPU_USAGE -> CPUUsageLabel;
+                case GPU_USAGE -> GPUUsageLabel;
+                default -> tempGPULabel;
+            };
+            if (label != null) label.setText(text);
         });
     }
 
     /**
-     * Shuts down the scheduler to stop periodic updates.
+     * Feeds the latest temperatures into the steady-state detectors and marks the sample at which
+     * every displayed temperature first became steady. Samples before that mark form the ramp-up.
+     *
+     * @param tempCPU the latest CPU temperature string, or null if it is not displayed.
+     * @param tempGPU the latest GPU temperature string, or null if it is not displayed.
      */
-    private void shutdownScheduler() {
-        scheduler.shutdown();
-        try {
-            if (!scheduler.awaitTermination(1, TimeUnit.SECONDS)) {
-                scheduler.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            scheduler.shutdownNow();
+    private void updateSteadyState(String tempCPU, String tempGPU) {
+        if (steadyStateSample >= 0 || (tempCPU == null && tempGPU == null)) {
+            return;
+        }
+
+        boolean steady = true;
+        if (tempCPU != null) {
+            double value = ThermalSteadyState.parseSensorTemperature(tempCPU);
+            steady = !Double.isNaN(value) && steadyStateCPU.add(value);
+        }
+        if (tempGPU != null) {
+            double value = ThermalSteadyState.parseSensorTemperature(tempGPU);
+            steady &= !Double.isNaN(value) && steadyStateGPU.add(value);
+        }
+
+        if (steady) {
+            steadyStateSample = tempCPU != null ? temperaturesCPU.size() - 1 : temperaturesGPU.size() - 1;
+            steadyStateTime = (int) ((System.currentTimeMillis() - startedAt) / 1000);
+            ScopeLogger.logInfo("Benchmark reached thermal steady state at sample {} ({} s)", steadyStateSample, steadyStateTime);
         }
     }
 
@@ -252,6 +420,24 @@ public class BenchWindow {
         return average(usagesGPU);
     }
 
+    /**
+     * Returns the index of the first sample at which the run reached thermal steady state.
+     *
+     * @return the sample index, or -1 if the steady state was not reached
+     */
+    public static int getSteadyStateSample() {
+        return steadyStateSample;
+    }
+
+    /**
+     * Returns the time since the start of the run at which thermal steady state was reached.
+     *
+     * @return the time in seconds, or -1 if the steady state was not reached
+     */
+    public static int getSteadyStateTime() {
+        return steadyStateTime;
+    }
+
     /**
      * Returns the list of collected CPU temperatures.
      *
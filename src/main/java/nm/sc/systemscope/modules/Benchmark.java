@@ -3,9 +3,11 @@ package nm.sc.systemscope.modules;
 import javafx.application.Platform;
 import javafx.concurrent.Task;
 import javafx.scene.control.Alert;
+import nm.sc.systemscope.ScopeHardware.ScopeCentralProcessor;
 import nm.sc.systemscope.controllers.BenchSelectorController;
 import nm.sc.systemscope.controllers.SystemScopeController;
 import java.io.IOException;
+import java.util.concurrent.ExecutorService;
 
 /**
  * A class that contains information about the current benchmark
@@ -17,6 +19,12 @@ public class Benchmark {
     private static SystemScopeController controller;
     private static long startTime, endTime;
     private static BenchSelectorController benchController;
+    private static int coolDownTime = -1;
+
+    private static final int COOL_DOWN_WINDOW = 30;
+    private static final double COOL_DOWN_MAX_SLOPE = 1.0;
+    private static final int COOL_DOWN_TIMEOUT = 600;
+    private static final ExecutorService supervisor = ScopeExecutors.newPool("scope-benchmark", 1);
 
     /**
      * Private constructor of the class
@@ -100,16 +108,26 @@ public class Benchmark {
     }
 
     /**
-     * Starts the benchmark in a background task.
+     * Starts the benchmark in a background task. The task blocks for the whole run, through the cool-down and
+     * until the benchmark exits, so it runs on a pool of its own instead of occupying a thread of the shared
+     * I/O pool.
      */
     private static void startBenchmarkInBackground() {
         Task<Void> benchmarkTask = new Task<>() {
             @Override
             protected Void call() {
+                benchmarkStarted = true;
+
+                coolDownTime = -1;
+                if (ScopeConfigManager.isThermalGate()) {
+                    coolDownTime = waitForCoolDown();
+                    if (!benchmarkStarted) {
+                        return null;
+                    }
+                }
 
                 startTime = System.currentTimeMillis();
 
-                benchmarkStarted = true;
                 if (launchFile(System.getProperty("os.name").toLowerCase())) {
                     benchWindow = new BenchWindow();
                     benchWindow.initialize();
@@ -134,9 +152,55 @@ public class Benchmark {
             }
         };
 
-        Thread benchmarkThread = new Thread(benchmarkTask);
-        benchmarkThread.setDaemon(true);
-        benchmarkThread.start();
+        supervisor.execute(benchmarkTask);
+    }
+
+    /**
+     * Blocks until the CPU and GPU temperatures reach a thermal steady state, the timeout expires
+     * or the benchmark is cancelled.
+     * <p>
+     * Temperatures are sampled once per second and fed into a {@link ThermalSteadyState} detector
+     * for each sensor. A sensor that does not report a positive value is ignored, as OSHI reports 0 °C when
+     * the sensor is missing.
+     * </p>
+     *
+     * @return the number of seconds spent waiting.
+     */
+    private static int waitForCoolDown() {
+        ThermalSteadyState cpu = new ThermalSteadyState(COOL_DOWN_WINDOW, COOL_DOWN_MAX_SLOPE, 1);
+        ThermalSteadyState gpu = new ThermalSteadyState(COOL_DOWN_WINDOW, COOL_DOWN_MAX_SLOPE, 1);
+        boolean gpuAvailable = true;
+
+        ScopeLogger.logInfo("Waiting for thermal steady state before starting the benchmark...");
+
+        int seconds = 0;
+        try {
+            while (benchmarkStarted && seconds < COOL_DOWN_TIMEOUT) {
+                double tempCPU = ThermalSteadyState.parseSensorTemperature(ScopeCentralProcessor.getTemperatureCPU());
+                double tempGPU = ThermalSteadyState.parseSensorTemperature(SystemInformation.getTemperatureDiscreteGPU());
+
+                boolean cpuSteady = Double.isNaN(tempCPU) || cpu.add(tempCPU);
+                if (Double.isNaN(tempGPU)) {
+                    gpuAvailable = false;
+                }
+                boolean gpuSteady = !gpuAvailable || gpu.add(tempGPU);
+
+                if (cpuSteady && gpuSteady && seconds >= COOL_DOWN_WINDOW) {
+                    ScopeLogger.logInfo("Thermal steady state reached after {} s", seconds);
+                    return seconds;
+                }
+
+                Thread.sleep(1000);
+                seconds++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (seconds >= COOL_DOWN_TIMEOUT) {
+            ScopeLogger.logWarn("Thermal steady state was not reached before timeout, starting benchmark anyway");
+        }
+        return seconds;
     }
 
     /**
@@ -156,9 +220,7 @@ public class Benchmark {
                 }
             };
 
-            Thread stopThread = new Thread(stopTask);
-            stopThread.setDaemon(true);
-            stopThread.start();
+            ScopeExecutors.getIOPool().execute(stopTask);
         }
 
         Platform.runLater(() -> {
@@ -182,12 +244,14 @@ public class Benchmark {
 
         try {
             Process process = processBuilder.start();
+            ScopeSelfMonitor.recordFork();
             process.waitFor();
 
             String processID = new String(process.getInputStream().readAllBytes()).trim();
             if (!processID.isEmpty()) {
                 ProcessBuilder killProcessBuilder = new ProcessBuilder("bash", "-c", "kill -9 " + processID);
                 killProcessBuilder.start();
+                ScopeSelfMonitor.recordFork();
             } else {
                 ScopeLogger.logError("Process {} not found.", processID);
             }
@@ -199,7 +263,8 @@ public class Benchmark {
             if(ScopeConfigManager.isSaveBenchLogs()) {
                 DataStorage.createLogFile(processName, benchController.getBenchmarkName(), BenchWindow.getTemperaturesCPU(),
                         BenchWindow.getTemperaturesGPU(), BenchWindow.getUsagesCPU(), BenchWindow.getUsagesGPU(),
-                        BenchWindow.getAverageTempCPU(), BenchWindow.getAverageTempGPU(), BenchWindow.getAverageUsageCPU(), BenchWindow.getAverageUsageGPU(), duration);
+                        BenchWindow.getAverageTempCPU(), BenchWindow.getAverageTempGPU(), BenchWindow.getAverageUsageCPU(), BenchWindow.getAverageUsageGPU(), duration,
+                        coolDownTime, BenchWindow.getSteadyStateSample(), BenchWindow.getSteadyStateTime());
             }
             clearInfo();
         } catch (IOException | InterruptedException e) {
@@ -270,8 +335,10 @@ public class Benchmark {
             Process process;
             if (os.contains("win")) {
                 process = new ProcessBuilder("tasklist").start();
+                ScopeSelfMonitor.recordFork();
             } else {
                 process = new ProcessBuilder("bash", "-c", "pgrep -c -f \"" + processName + "\"").start();
+                ScopeSelfMonitor.recordFork();
             }
 
             String output = new String(process.getInputStream().readAllBytes());
@@ -5,13 +5,10 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.reflect.TypeToken;
 import javafx.scene.chart.XYChart;
-import nm.sc.systemscope.adapters.ChatMessageAdapter;
-import nm.sc.systemscope.adapters.ScopeChatAdapter;
 import nm.sc.systemscope.adapters.XYChartDataAdapter;
 import java.io.*;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * The {@code DataStorage} class provides functionality for saving and loading CPU/GPU
@@ -20,17 +17,30 @@ import java.util.regex.Pattern;
 public class DataStorage {
     private static final String dataFolderPath = "src/main/data/";
     private static final String logsFolderPath = "src/main/data/logs/";
+    private static final String reportsFolderPath = logsFolderPath + "reports/";
     private static final String CPUtemperaturesPath = dataFolderPath + "CPUtemperatures.json";
     private static final String GPUtemperaturesPath = dataFolderPath + "GPUtemperatures.json";
     private static final String CPUsagePath = dataFolderPath + "UsageCPU.json";
     private static final String GPUsagePath = dataFolderPath + "UsageGPU.json";
     private static final String averagesPath = dataFolderPath + "Averages.json";
     private static final String chatHistoryPath = dataFolderPath + "chat_logs/";
+    private static final String aiCachePath = dataFolderPath + "ai_cache.json";
+    private static final String searchIndexPath = dataFolderPath + "search_index.json";
+    private static final String inventoryCachePath = dataFolderPath + "inventory.json";
 
     static {
         createDataFolderAndFiles();
     }
 
+    /**
+     * Makes sure the data folders and files exist. They are created when the class is loaded, so calling this
+     * method from a background task at startup keeps that work off the JavaFX thread; a thread that needs the
+     * folders earlier waits until they are created.
+     */
+    public static void prepare() {
+        // Loading the class runs createDataFolderAndFiles().
+    }
+
     /**
      * Creates the necessary data folder and JSON files if they do not exist.
      */
@@ -45,12 +55,21 @@ public class DataStorage {
             ScopeLogger.logInfo("The 'logs' folder was created.");
         }
 
+        File reportsFolder = new File(reportsFolderPath);
+        if(!reportsFolder.exists() && reportsFolder.mkdirs()){
+            ScopeLogger.logInfo("The 'reports' folder was created.");
+        }
+
+        File chatFolder = new File(chatHistoryPath);
+        if(!chatFolder.exists() && chatFolder.mkdirs()){
+            ScopeLogger.logInfo("The 'chat_logs' folder was created.");
+        }
+
         createFile(CPUtemperaturesPath, "CPUtemperatures.json");
         createFile(GPUtemperaturesPath, "GPUtemperatures.json");
         createFile(CPUsagePath, "UsageCPU.json");
         createFile(GPUsagePath, "UsageGPU.json");
         createFile(averagesPath, "Averages.json");
-        createFile(chatHistoryPath, "ChatHistory.json");
     }
 
     /**
@@ -77,6 +96,8 @@ public class DataStorage {
     /**
      * Creates a log file and writes the benchmarking data, including temperatures and usage statistics for
      * CPU and GPU, as well as average values, into the file.
+     * If AI reports are enabled, a report is queued with {@link ScopeReportQueue} once the log is complete,
+     * so this method does not wait for the AI service.
      *
      * @param fileName the name of the log file to be created. The extension (e.g., .txt) will be appended if missing.
      * @param tCPU a list of integer values representing the CPU temperatures during the benchmark.
@@ -88,10 +109,14 @@ public class DataStorage {
      * @param auCPU the average CPU usage percentage during the benchmark.
      * @param auGPU the average GPU usage percentage during the benchmark.
      * @param time the timestamp of the benchmark (in seconds or milliseconds, depending on the context).
+     * @param coolDownTime the time in seconds spent waiting for a thermal steady state before the run, or -1 if the gate was disabled.
+     * @param steadyStateSample the index of the first sample at which the run reached thermal steady state, or -1 if it was not reached.
+     * @param steadyStateTime the time in seconds at which the run reached thermal steady state, or -1 if it was not reached.
      *
      */
     public static void createLogFile(String gameName, String fileName, List<Integer> tCPU, List<Integer> tGPU, List<Integer> uCPU, List<Integer> uGPU,
-                                     int atCPU, int atGPU, int auCPU, int auGPU, double time) {
+                                     int atCPU, int atGPU, int auCPU, int auGPU, double time,
+                                     int coolDownTime, int steadyStateSample, int steadyStateTime) {
         String splitName = fileName.split("\\.")[0];
         File file = new File(logsFolderPath + splitName + ".txt");
 
@@ -111,6 +136,15 @@ public class DataStorage {
             writer.write("Benchmark Log\n");
             writer.write("Selected file: " + gameName + "\n");
             writer.write("Timestamp: " + time + "\n");
+            if (coolDownTime >= 0) {
+                writer.write("Cool-down wait: " + coolDownTime + " s\n");
+            }
+            if (steadyStateSample >= 0) {
+                writer.write("Thermal steady state: sample " + steadyStateSample + " (" + steadyStateTime + " s)\n");
+            } else {
+                writer.write("Thermal steady state: not reached\n");
+            }
+            writer.write("SystemScope overhead: " + ScopeSelfMonitor.getSnapshot() + "\n");
 
             boolean showCPUT = ScopeConfigManager.isShowCPUTemp();
             boolean showCPUU = ScopeConfigManager.isShowCPUUsage();
@@ -164,39 +198,101 @@ public class DataStorage {
 
             writer.write("--------------------------------------------------\n\n");
 
-            System.out.println(ScopeConfigManager.isGenerateAIReport());
-            if(ScopeConfigManager.isGenerateAIReport()) {
-                writer.write("-----------------ScopeHelper report---------------\n");
+            ScopeLogger.logInfo("Data written to file: {}", fileName);
+        } catch (IOException e) {
+            ScopeLogger.logError("Error while creating or writing to file: {}", fileName, e);
+            return;
+        }
 
-                StringBuilder aiMessage = new StringBuilder("Analyze Data on ukrainian and english:\n");
+        ScopeSearchIndex.indexLog(file.toPath());
+        if (ScopeConfigManager.isGenerateAIReport()) {
+            ScopeReportQueue.submit(file.toPath(), gameName, time);
+        }
+    }
 
-                if (ScopeConfigManager.isShowCPUTemp()) {
-                    aiMessage.append("Average CPU Temp: ").append(atCPU).append("\n");
-                }
-                if (ScopeConfigManager.isShowCPUUsage()) {
-                    aiMessage.append("Average CPU Usage: ").append(auCPU).append("\n");
-                }
-                if (ScopeConfigManager.isShowGPUTemp()) {
-                    aiMessage.append("Average GPU Temp: ").append(atGPU).append("\n");
-                }
-                if (ScopeConfigManager.isShowGPUUsage()) {
-                    aiMessage.append("Average GPU Usage: ").append(auGPU).append("\n");
-                }
+    /**
+     * Returns the path of the file in which the AI response cache is persisted.
+     *
+     * @return the path of the AI cache file.
+     */
+    public static Path getAICachePath() {
+        return Path.of(aiCachePath);
+    }
 
-                aiMessage.append("Game name: ").append(gameName);
+    /**
+     * Returns the path of the file in which the full-text search index is persisted.
+     *
+     * @return the path of the search index file.
+     */
+    public static Path getSearchIndexPath() {
+        return Path.of(searchIndexPath);
+    }
 
-                String report = ScopeAIHelper.request(aiMessage.toString());
+    /**
+     * Returns the path of the file in which the hardware inventory cache is persisted.
+     *
+     * @return the path of the inventory cache file.
+     */
+    public static Path getInventoryCachePath() {
+        return Path.of(inventoryCachePath);
+    }
 
+    /**
+     * Returns the folder that holds the benchmark logs.
+     *
+     * @return the logs folder.
+     */
+    public static Path getLogsFolder() {
+        return Path.of(logsFolderPath);
+    }
 
-                writer.write(report + "\n");
+    /**
+     * Returns the folder that holds the chat index and the message logs of all chats.
+     *
+     * @return the chat folder.
+     */
+    public static Path getChatHistoryFolder() {
+        return Path.of(chatHistoryPath);
+    }
 
-                writer.write("--------------------------------------------------\n");
-            }
+    /**
+     * Returns the path of the AI report that belongs to a benchmark log.
+     * Reports are stored as sidecar files in a subfolder of the logs folder, so they are not listed as logs.
+     *
+     * @param logFileName the name of the log file, with or without the extension.
+     * @return the path of the report file.
+     */
+    public static Path getReportPath(String logFileName) {
+        return Path.of(reportsFolderPath, logFileName.split("\\.")[0] + ".txt");
+    }
 
-            ScopeLogger.logInfo("Data written to file: {}", fileName);
-        } catch (IOException e) {
-            ScopeLogger.logError("Error while creating or writing to file: {}", fileName, e);
-        }
+    /**
+     * Returns the path of the marker file of an AI report that has been requested but not yet written.
+     *
+     * @param logFileName the name of the log file, with or without the extension.
+     * @return the path of the marker file.
+     */
+    public static Path getPendingReportPath(String logFileName) {
+        return Path.of(reportsFolderPath, logFileName.split("\\.")[0] + ".pending");
+    }
+
+    /**
+     * Returns the folder that holds AI reports and the markers of pending reports.
+     *
+     * @return the reports folder.
+     */
+    public static Path getReportsFolder() {
+        return Path.of(reportsFolderPath);
+    }
+
+    /**
+     * Returns the path of a benchmark log.
+     *
+     * @param logFileName the name of the log file, with or without the extension.
+     * @return the path of the log file.
+     */
+    public static Path getLogPath(String logFileName) {
+        return Path.of(logsFolderPath, logFileName.split("\\.")[0] + ".txt");
     }
 
     /**
@@ -407,114 +503,4 @@ public class DataStorage {
 
         return logs;
     }
-
-    /**
-     * Saves the provided chat history into a JSON file.
-     * <p>
-     * This method serializes the given {@link ScopeChat} object and stores it in a JSON file
-     * within a folder specified by the {@code chatHistoryPath}. The file is named using
-     * the chat's name and ID, ensuring each chat history is saved in a unique file.
-     * </p>
-     * <p>
-     * If the folder does not exist, it will be created. If any errors occur during
-     * the process, they are logged using {@link ScopeLogger}.
-     * </p>
-     *
-     * @param chat The {@link ScopeChat} object to be saved, which contains the message history.
-     */
-    public static void saveChatHistory(ScopeChat chat) {
-        File folder = new File(chatHistoryPath);
-        if (!folder.exists()) {
-            folder.mkdirs();
-        }
-
-        String filename = chat.getChatName() + chat.getChatID() + ".json";
-        File file = new File(folder, filename);
-
-        try (FileWriter writer = new FileWriter(file, false)) {
-            Gson gson = new GsonBuilder()
-                    .registerTypeAdapter(ScopeChat.class, new ScopeChatAdapter())
-                    .registerTypeAdapter(ChatMessage.class, new ChatMessageAdapter())
-                    .create();
-            gson.toJson(chat, writer);
-        } catch (IOException e) {
-            ScopeLogger.logError("Помилка при збереженні історії чату: " + filename, e);
-        }
-    }
-
-    /**
-     * Loads all chat histories from the chat history folder.
-     * <p>
-     * This method reads all JSON files from the folder specified by the {@code chatHistoryPath}
-     * and deserializes them into a list of {@link ScopeChat} objects. It attempts to extract
-     * the chat ID and name from the file name and assigns them to each {@link ScopeChat} object.
-     * If the file name does not contain a valid UUID, an error is logged.
-     * </p>
-     *
-     * @return A list of {@link ScopeChat} objects representing the chat histories.
-     */
-    public static List<ScopeChat> loadChatHistory() {
-        List<ScopeChat> chatList = new ArrayList<>();
-
-        File folder = new File(chatHistoryPath);
-        if (!folder.exists() || !folder.isDirectory()) {
-            return chatList;
-        }
-
-        File[] files = folder.listFiles((dir, name) -> name.endsWith(".json"));
-        if (files == null) {
-            return chatList;
-        }
-
-        Gson gson = new GsonBuilder()
-                .registerTypeAdapter(ScopeChat.class, new ScopeChatAdapter())
-                .registerTypeAdapter(ChatMessage.class, new ChatMessageAdapter())
-                .create();
-
-        Pattern uuidPattern = Pattern.compile("[0-9a-fA-F-]{36}");
-
-        for (File file : files) {
-            try (FileReader reader = new FileReader(file)) {
-                ScopeChat chat = gson.fromJson(reader, ScopeChat.class);
-                if (chat != null) {
-                    String fileName = file.getName();
-                    Matcher matcher = uuidPattern.matcher(fileName);
-
-                    if (matcher.find()) {
-                        String chatId = matcher.group();
-                        String chatName = fileName.substring(0, matcher.start()).trim();
-
-                        chat.setChatName(chatName);
-                        chat.setChatID(chatId);
-
-                        chatList.add(chat);
-                    } else {
-                        ScopeLogger.logError("Не вдалося знайти UUID в імені файлу: " + fileName, Optional.empty());
-                    }
-                }
-            } catch (IOException e) {
-                ScopeLogger.logError("Помилка при завантаженні чату з файлу: " + file.getName(), e);
-            }
-        }
-
-        return chatList;
-    }
-
-    /**
-     * Clears the message history of the provided chat and saves the updated chat to a file.
-     * <p>
-     * This method removes all messages from the provided {@link ScopeChat} object's history
-     * and immediately saves the chat with the cleared history to its respective file.
-     * </p>
-     *
-     * @param chat The {@link ScopeChat} object whose message history is to be cleared.
-     */
-    public static void clearChatHistory(ScopeChat chat){
-        if (chat != null) {
-            chat.getMessageHistory().clear();
-
-            saveChatHistory(chat);
-
-        }
-    }
 }
@@ -0,0 +1,107 @@
+package nm.sc.systemscope.modules;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * A histogram of durations with fixed, roughly logarithmic buckets from 1 ms to 5 s.
+ * <p>
+ * Recording is cheap and needs no allocation, so the histogram can be updated after every reading of a sensor.
+ * Percentiles are reported as the upper bound of the bucket they fall into.
+ * </p>
+ */
+public class DurationHistogram {
+    private static final long[] BOUNDS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000};
+
+    private final long[] counts = new long[BOUNDS.length + 1];
+    private long count, totalNanos, maxNanos;
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos the duration in nanoseconds.
+     */
+    public synchronized void record(long nanos) {
+        long millis = nanos / 1_000_000;
+        int bucket = 0;
+        while (bucket < BOUNDS.length && millis >= BOUNDS[bucket]) {
+            bucket++;
+        }
+        counts[bucket]++;
+        count++;
+        totalNanos += nanos;
+        maxNanos = Math.max(maxNanos, nanos);
+    }
+
+    /**
+     * Returns the upper bounds of the buckets in milliseconds. The last bucket, which has no upper bound,
+     * is not included.
+     *
+     * @return the bounds.
+     */
+    public static long[] getBounds() {
+        return BOUNDS.clone();
+    }
+
+    /**
+     * Returns the number of durations in each bucket.
+     *
+     * @return one count per bucket, one more than {@link #getBounds()}.
+     */
+    public synchronized long[] getCounts() {
+        return counts.clone();
+    }
+
+    /**
+     * Returns the number of recorded durations.
+     *
+     * @return the count.
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the mean of the recorded durations.
+     *
+     * @return the mean in milliseconds, or 0 if nothing was recorded.
+     */
+    public synchronized double getMean() {
+        return count > 0 ? totalNanos / 1e6 / count : 0;
+    }
+
+    /**
+     * Returns the longest recorded duration.
+     *
+     * @return the maximum in milliseconds.
+     */
+    public synchronized double getMax() {
+        return maxNanos / 1e6;
+    }
+
+    /**
+     * Returns the upper bound of the bucket that contains the given percentile.
+     *
+     * @param percentile the percentile between 0 and 100.
+     * @return the bound in milliseconds, or {@link Long#MAX_VALUE} if the percentile lies above the last bound.
+     */
+    public synchronized long getPercentile(double percentile) {
+        long rank = (long) Math.ceil(count * percentile / 100.0), seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0) {
+                return i < BOUNDS.length ? BOUNDS[i] : Long.MAX_VALUE;
+            }
+        }
+        return 0;
+    }
+
+    @Override public synchronized String toString() {
+        return String.format(Locale.ROOT, "n=%d, mean %.1f ms, p50 %s, p95 %s, max %.1f ms, buckets %s", count, getMean(),
+                bound(getPercentile(50)), bound(getPercentile(95)), getMax(), Arrays.toString(counts));
+    }
+
+    private static String bound(long millis) {
+        return millis == Long.MAX_VALUE ? "> " + BOUNDS[BOUNDS.length - 1] + " ms" : "< " + millis + " ms";
+    }
+}
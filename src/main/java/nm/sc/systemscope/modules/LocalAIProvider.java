@@ -0,0 +1,313 @@
+package nm.sc.systemscope.modules;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * A provider for a model served on this machine, e.g. by the llama.cpp server, Ollama or LM Studio.
+ * <p>
+ * The server is addressed either through its OpenAI-compatible {@code /v1/chat/completions} endpoint or, for
+ * llama.cpp, through its native {@code /completion} endpoint. On the native endpoint, requests that wait for the
+ * whole response are collected for up to {@value #BATCH_WINDOW} ms and sent as one request with an array of
+ * prompts that the server evaluates in parallel slots. The OpenAI-compatible API has no such batch form, so its
+ * requests are sent immediately, as are all streamed requests, which are interactive.
+ * </p>
+ * <p>
+ * The native endpoint takes a plain-text prompt, so the conversation is first formatted with the chat template of
+ * the loaded model by the server's {@code /apply-template} endpoint; the server then also stops at the model's own
+ * end-of-turn token. Servers that predate that endpoint receive a ChatML prompt with {@code <|im_end|>} as the stop
+ * sequence, which only suits models trained on ChatML; for other models use the OpenAI-compatible API, which always
+ * applies the model's template on the server.
+ * </p>
+ */
+public class LocalAIProvider extends OpenAIProvider {
+    private static final int BATCH_WINDOW = 50, MAX_BATCH = 8;
+    private static final String CHATML_ASSISTANT = "<|im_start|>assistant\n";
+
+    private final String baseUrl;
+    private final boolean llamaCpp;
+    private final List<Pending> batch = new ArrayList<>();
+    private volatile boolean applyTemplate = true;
+
+    /**
+     * Constructs a provider for a local server.
+     *
+     * @param baseUrl the address of the server, e.g. {@code http://127.0.0.1:8080}.
+     * @param model the model requested from the server.
+     * @param llamaCpp {@code true} to use the native llama.cpp API, {@code false} to use the OpenAI-compatible API.
+     */
+    public LocalAIProvider(String baseUrl, String model, boolean llamaCpp) {
+        super(trimSlash(baseUrl) + "/v1/chat/completions", "", model);
+        this.baseUrl = trimSlash(baseUrl);
+        this.llamaCpp = llamaCpp;
+    }
+
+    @Override public String getName() {
+        return "local";
+    }
+
+    @Override public CompletableFuture<String> complete(JsonArray messages) {
+        if (!llamaCpp) {
+            return super.complete(messages);
+        }
+
+        CompletableFuture<String> future = new CompletableFuture<>();
+        boolean flushNow;
+        synchronized (batch) {
+            batch.add(new Pending(messages, future));
+            flushNow = batch.size() >= MAX_BATCH;
+            if (batch.size() == 1 && !flushNow) {
+                CompletableFuture.runAsync(this::flush,
+                        CompletableFuture.delayedExecutor(BATCH_WINDOW, TimeUnit.MILLISECONDS, ScopeAIClient.getExecutor()));
+            }
+        }
+        if (flushNow) {
+            flush();
+        }
+        return future;
+    }
+
+    @Override public CompletableFuture<String> stream(JsonArray messages, Consumer<String> onToken) {
+        if (!llamaCpp) {
+            return super.stream(messages, onToken);
+        }
+
+        return toPrompt(messages).thenCompose(prompt -> {
+            JsonObject body = buildCompletionBody(prompt, isChatML(prompt));
+            body.addProperty("stream", true);
+            return stream(baseUrl + "/completion", body, onToken);
+        });
+    }
+
+    /**
+     * Sends a request that generates a single token, so the server loads the model before the first real request.
+     *
+     * @return a future completed when the server has answered.
+     */
+    @Override public CompletableFuture<Void> warmUp() {
+        long start = System.nanoTime();
+        CompletableFuture<String> response;
+        if (llamaCpp) {
+            JsonObject body = buildCompletionBody("", false);
+            body.addProperty("n_predict", 1);
+            response = post(baseUrl + "/completion", body);
+        } else {
+            JsonArray messages = new JsonArray();
+            JsonObject message = new JsonObject();
+            message.addProperty("role", "user");
+            message.addProperty("content", "ping");
+            messages.add(message);
+            JsonObject body = buildRequestBody(messages, false);
+            body.addProperty("max_tokens", 1);
+            response = post(baseUrl + "/v1/chat/completions", body);
+        }
+
+        return response.thenAccept(body -> ScopeLogger.logInfo("Local model {} warmed up in {} ms{}", getModel(),
+                (System.nanoTime() - start) / 1_000_000, body.startsWith("❌") ? " with an error response" : ""));
+    }
+
+    @Override protected String extractDelta(String data) {
+        if (!llamaCpp) {
+            return super.extractDelta(data);
+        }
+        try {
+            JsonObject event = JsonParser.parseString(data).getAsJsonObject();
+            return event.has("content") && !event.get("content").isJsonNull() ? event.get("content").getAsString() : null;
+        } catch (Exception e) {
+            ScopeLogger.logError("Error while parsing streamed AI event: {}", data, e);
+            return null;
+        }
+    }
+
+    @Override protected String extractMessage(String json) {
+        if (!llamaCpp) {
+            return super.extractMessage(json);
+        }
+        try {
+            return extractContent(JsonParser.parseString(json));
+        } catch (Exception e) {
+            ScopeLogger.logError("Помилка при розборі JSON: ", e);
+            return "❌ Не вдалося обробити відповідь від AI.";
+        }
+    }
+
+    /**
+     * Sends all collected requests to the native endpoint.
+     */
+    private void flush() {
+        List<Pending> requests;
+        synchronized (batch) {
+            if (batch.isEmpty()) {
+                return;
+            }
+            requests = new ArrayList<>(batch);
+            batch.clear();
+        }
+
+        if (requests.size() == 1) {
+            Pending request = requests.get(0);
+            toPrompt(request.messages)
+                    .thenCompose(prompt -> post(baseUrl + "/completion", buildCompletionBody(prompt, isChatML(prompt))))
+                    .thenApply(this::extractResponse)
+                    .whenComplete(request::complete);
+            return;
+        }
+
+        List<CompletableFuture<String>> prompts = new ArrayList<>();
+        for (Pending request : requests) {
+            prompts.add(toPrompt(request.messages));
+        }
+
+        CompletableFuture.allOf(prompts.toArray(new CompletableFuture<?>[0])).thenCompose(ignored -> {
+            JsonArray array = new JsonArray();
+            prompts.forEach(prompt -> array.add(prompt.join()));
+            JsonObject body = buildCompletionBody(null, prompts.stream().anyMatch(prompt -> isChatML(prompt.join())));
+            body.add("prompt", array);
+
+            ScopeLogger.logInfo("Sending a batch of {} requests to the local model", requests.size());
+            return post(baseUrl + "/completion", body);
+        }).whenComplete((response, error) -> {
+            if (error != null || response.startsWith("❌")) {
+                requests.forEach(request -> request.complete(response, error));
+                return;
+            }
+            try {
+                JsonElement results = JsonParser.parseString(response);
+                JsonArray array = results.isJsonArray() ? results.getAsJsonArray() : null;
+                for (int i = 0; i < requests.size(); i++) {
+                    requests.get(i).complete(array != null && i < array.size()
+                            ? extractContent(array.get(i))
+                            : "❌ Не вдалося обробити відповідь від AI.", null);
+                }
+            } catch (Exception e) {
+                ScopeLogger.logError("Помилка при розборі JSON: ", e);
+                requests.forEach(request -> request.complete("❌ Не вдалося обробити відповідь від AI.", null));
+            }
+        });
+    }
+
+    /**
+     * Extracts the generated text from the body of a response, leaving error messages unchanged.
+     *
+     * @param body the body of the response or an error message.
+     * @return the generated text or the error message.
+     */
+    private String extractResponse(String body) {
+        return body.startsWith("❌") ? body : extractMessage(body);
+    }
+
+    /**
+     * Extracts the generated text from a result of the native completion endpoint.
+     *
+     * @param result the result object.
+     * @return the generated text.
+     */
+    private static String extractContent(JsonElement result) {
+        return result.getAsJsonObject().get("content").getAsString().strip();
+    }
+
+    /**
+     * Builds the body of a request to the native completion endpoint. The ChatML stop sequence is added only for
+     * ChatML prompts; for other templates the server stops at the model's own end-of-turn token.
+     *
+     * @param prompt the prompt, or {@code null} if it is added by the caller.
+     * @param chatML whether the prompt is formatted as ChatML.
+     * @return the request body.
+     */
+    private static JsonObject buildCompletionBody(String prompt, boolean chatML) {
+        JsonObject body = new JsonObject();
+        if (prompt != null) {
+            body.addProperty("prompt", prompt);
+        }
+        body.addProperty("cache_prompt", true);
+        if (chatML) {
+            JsonArray stop = new JsonArray();
+            stop.add("<|im_end|>");
+            body.add("stop", stop);
+        }
+        return body;
+    }
+
+    /**
+     * Formats the messages of a conversation with the chat template of the loaded model, which the native endpoint
+     * expects as plain text. Falls back to ChatML for this request if the server fails to apply the template, and for
+     * all further requests if the server has no {@code /apply-template} endpoint.
+     *
+     * @param messages the messages of the conversation.
+     * @return a future completed with the prompt, ending with the start of the assistant's turn.
+     */
+    private CompletableFuture<String> toPrompt(JsonArray messages) {
+        if (!applyTemplate) {
+            return CompletableFuture.completedFuture(toChatML(messages));
+        }
+
+        JsonObject body = new JsonObject();
+        body.add("messages", messages);
+        return post(baseUrl + "/apply-template", body).thenApply(response -> {
+            if (!response.startsWith("❌")) {
+                try {
+                    return JsonParser.parseString(response).getAsJsonObject().get("prompt").getAsString();
+                } catch (Exception e) {
+                    ScopeLogger.logError("Error while parsing the applied chat template: ", e);
+                }
+            } else if (response.startsWith("❌ Error 404") || response.startsWith("❌ Error 405") || response.startsWith("❌ Error 501")) {
+                applyTemplate = false;
+                ScopeLogger.logWarn("The local server does not apply chat templates, falling back to ChatML");
+            }
+            return toChatML(messages);
+        });
+    }
+
+    /**
+     * Formats the messages of a conversation as a ChatML prompt.
+     *
+     * @param messages the messages of the conversation.
+     * @return the prompt, ending with the start of the assistant's turn.
+     */
+    private static String toChatML(JsonArray messages) {
+        StringBuilder prompt = new StringBuilder();
+        for (JsonElement element : messages) {
+            JsonObject message = element.getAsJsonObject();
+            prompt.append("<|im_start|>").append(message.get("role").getAsString()).append('\n')
+                    .append(message.get("content").getAsString()).append("<|im_end|>\n");
+        }
+        return prompt.append(CHATML_ASSISTANT).toString();
+    }
+
+    private static boolean isChatML(String prompt) {
+        return prompt.endsWith(CHATML_ASSISTANT);
+    }
+
+    private static String trimSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    /**
+     * A request that waits for the next batch.
+     */
+    private static final class Pending {
+        private final JsonArray messages;
+        private final CompletableFuture<String> future;
+
+        private Pending(JsonArray messages, CompletableFuture<String> future) {
+            this.messages = messages;
+            this.future = future;
+        }
+
+        private void complete(String response, Throwable error) {
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(response);
+            }
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package nm.sc.systemscope.modules;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.UncheckedIOException;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * A provider that sends requests to an OpenAI-compatible chat completions endpoint through {@link ScopeAIClient}.
+ * <p>
+ * Responses are either read as a whole or streamed as server-sent events. If the server ignores the stream flag
+ * and returns a regular JSON response, the whole message is passed to the token callback at once. The deadline of
+ * {@link ScopeAIClient} ends once the headers of a streamed response arrive, so a stream that receives no line for
+ * {@value #STREAM_IDLE_TIMEOUT} ms is closed and fails with an {@link HttpTimeoutException}.
+ * </p>
+ */
+public class OpenAIProvider implements ScopeAIProvider {
+    private static final long STREAM_IDLE_TIMEOUT = 60_000;
+
+    private final String url, apiKey, model;
+
+    /**
+     * Constructs a provider for a chat completions endpoint.
+     *
+     * @param url the URL of the chat completions endpoint.
+     * @param apiKey the API key sent as a bearer token.
+     * @param model the model requested from the service.
+     */
+    public OpenAIProvider(String url, String apiKey, String model) {
+        this.url = url;
+        this.apiKey = apiKey;
+        this.model = model;
+    }
+
+    @Override public String getName() {
+        return "remote";
+    }
+
+    @Override public String getModel() {
+        return model;
+    }
+
+    @Override public CompletableFuture<String> complete(JsonArray messages) {
+        return post(url, buildRequestBody(messages, false))
+                .thenApply(body -> body.startsWith("❌") ? body : extractMessage(body));
+    }
+
+    @Override public CompletableFuture<String> stream(JsonArray messages, Consumer<String> onToken) {
+        return stream(url, buildRequestBody(messages, true), onToken);
+    }
+
+    /**
+     * Sends a request body and returns the body of the response.
+     *
+     * @param url the URL of the endpoint.
+     * @param body the JSON body of the request.
+     * @return a future completed with the body of the response, or with an error message if the server returned an error status
+     *         or an empty body. The future completes exceptionally if the server could not be reached.
+     */
+    protected CompletableFuture<String> post(String url, JsonObject body) {
+        return ScopeAIClient.send(url, apiKey, body, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+                .thenApply(response -> {
+                    int status = response.statusCode();
+                    if (status >= 400) {
+                        ScopeLogger.logError("API error response: " + response.body());
+                        return "❌ Error " + status + " - " + checkStatusCode(status);
+                    }
+                    if (response.body() == null || response.body().isEmpty()) {
+                        ScopeLogger.logError("API success response, but the body is empty");
+                        return "❌ Error: Empty response from AI.";
+                    }
+                    return response.body();
+                });
+    }
+
+    /**
+     * Sends a request body with the stream flag set and reads the server-sent events of the response as they arrive.
+     *
+     * @param url the URL of the endpoint.
+     * @param body the JSON body of the request.
+     * @param onToken a callback receiving each piece of generated text, called on a thread of the AI client.
+     * @return a future completed with the complete response, or with an error message if the server returned an error.
+     */
+    protected CompletableFuture<String> stream(String url, JsonObject body, Consumer<String> onToken) {
+        return ScopeAIClient.send(url, apiKey, body, HttpResponse.BodyHandlers.ofLines())
+                .thenApplyAsync(response -> readStream(response, onToken), ScopeAIClient.getExecutor());
+    }
+
+    /**
+     * Reads a streamed response line by line and passes each piece of generated text to {@code onToken}.
+     * The body is closed by an {@link IdleWatchdog} if the server stops sending lines.
+     *
+     * @param response The response with the lines of the body.
+     * @param onToken A callback receiving each piece of generated text.
+     * @return The complete AI response, or an error message if something goes wrong.
+     */
+    private String readStream(HttpResponse<Stream<String>> response, Consumer<String> onToken) {
+        try (Stream<String> body = response.body()) {
+            IdleWatchdog watchdog = new IdleWatchdog(body);
+            Stream<String> lines = body.peek(line -> watchdog.touch());
+            try {
+                int status = response.statusCode();
+                if (status >= 400) {
+                    ScopeLogger.logError("API error response: " + String.join("", lines.toList()));
+                    return "❌ Error " + status + " - " + checkStatusCode(status);
+                }
+
+                boolean eventStream = response.headers().firstValue("Content-Type")
+                        .map(type -> type.startsWith("text/event-stream")).orElse(false);
+                if (!eventStream) {
+                    String message = extractMessage(String.join("", lines.toList()));
+                    onToken.accept(message);
+                    return message;
+                }
+
+                StringBuilder message = new StringBuilder();
+                Iterator<String> iterator = lines.iterator();
+                while (iterator.hasNext()) {
+                    String line = iterator.next();
+                    if (!line.startsWith("data:")) {
+                        continue;
+                    }
+
+                    String data = line.substring(5).trim();
+                    if (data.equals("[DONE]")) {
+                        break;
+                    }
+
+                    String token = extractDelta(data);
+                    if (token != null && !token.isEmpty()) {
+                        message.append(token);
+                        onToken.accept(token);
+                    }
+                }
+
+                return !message.isEmpty() ? message.toString() : "❌ Error: Empty response from AI.";
+            } catch (UncheckedIOException e) {
+                if (watchdog.isExpired()) {
+                    throw new CompletionException(new HttpTimeoutException(
+                            "No data from the AI service for " + STREAM_IDLE_TIMEOUT + " ms"));
+                }
+                throw e;
+            } finally {
+                watchdog.stop();
+            }
+        }
+    }
+
+    /**
+     * Builds the JSON body of a chat completion request.
+     *
+     * @param messages The messages to send.
+     * @param stream Whether the response should be streamed.
+     * @return The request body.
+     */
+    protected JsonObject buildRequestBody(JsonArray messages, boolean stream) {
+        JsonObject body = new JsonObject();
+        body.addProperty("model", model);
+        body.add("messages", messages);
+        if (stream) {
+            body.addProperty("stream", true);
+        }
+        return body;
+    }
+
+    /**
+     * Extracts the generated text from a single server-sent event of a streamed response.
+     *
+     * @param data The JSON payload of the event.
+     * @return The generated text of the event, or {@code null} if the event carries no text.
+     */
+    protected String extractDelta(String data) {
+        try {
+            JsonArray choices = JsonParser.parseString(data).getAsJsonObject().getAsJsonArray("choices");
+            if (choices != null && !choices.isEmpty()) {
+                JsonObject delta = choices.get(0).getAsJsonObject().getAsJsonObject("delta");
+                if (delta != null && delta.has("content") && !delta.get("content").isJsonNull()) {
+                    return delta.get("content").getAsString();
+                }
+            }
+        } catch (Exception e) {
+            ScopeLogger.logError("Error while parsing streamed AI event: {}", data, e);
+        }
+        return null;
+    }
+
+    /**
+     * Extracts the content message from the AI's response.
+     *
+     * @param json The raw JSON response from the AI service.
+     * @return The AI's response content, or an error message if the extraction fails.
+     */
+    protected String extractMessage(String json) {
+        try {
+            JsonObject jsonObject = JsonParser.parseString(json).getAsJsonObject();
+            JsonArray choices = jsonObject.getAsJsonArray("choices");
+            if (choices != null && !choices.isEmpty()) {
+                JsonObject message = choices.get(0).getAsJsonObject().getAsJsonObject("message");
+                return message.get("content").getAsString();
+            }
+        } catch (Exception e) {
+            ScopeLogger.logError("Помилка при розборі JSON: ", e);
+        }
+        return "❌ Не вдалося обробити відповідь від AI.";
+    }
+
+    /**
+     * Checks the status code in the error message and returns an appropriate error message.
+     *
+     * @param statusCode The error message containing the status code.
+     * @return A custom error message based on the status code.
+     */
+    static String checkStatusCode(int statusCode) {
+        return switch (statusCode) {
+            case 400 -> "Bad Request: The request was invalid or cannot be served.";
+            case 401 -> "Unauthorized: Authentication failed or user does not have permissions.";
+            case 403 -> "Forbidden: You have exceeded the API request limit.";
+            case 404 -> "Not Found: The requested resource could not be found.";
+            case 500 -> "Internal Server Error: An error occurred on the server.";
+            case 502 -> "Bad Gateway: The server was acting as a gateway and received an invalid response.";
+            case 503 -> "Service Unavailable: The server is currently unavailable.";
+            default -> "Unexpected error occurred.";
+        };
+    }
+
+    /**
+     * Closes the body of a streamed response once no line has arrived for {@value #STREAM_IDLE_TIMEOUT} ms, which
+     * ends a read that is blocked on a stalled server. The watchdog wakes up at most once per timeout.
+     */
+    private static final class IdleWatchdog implements Runnable {
+        private final Stream<String> body;
+        private volatile long lastLine = System.nanoTime();
+        private volatile boolean expired, stopped;
+        private ScheduledFuture<?> check;
+
+        private IdleWatchdog(Stream<String> body) {
+            this.body = body;
+            schedule(STREAM_IDLE_TIMEOUT);
+        }
+
+        private void touch() {
+            lastLine = System.nanoTime();
+        }
+
+        private boolean isExpired() {
+            return expired;
+        }
+
+        private synchronized void stop() {
+            stopped = true;
+            if (check != null) {
+                check.cancel(false);
+            }
+        }
+
+        @Override public void run() {
+            long idle = (System.nanoTime() - lastLine) / 1_000_000;
+            if (idle < STREAM_IDLE_TIMEOUT) {
+                schedule(STREAM_IDLE_TIMEOUT - idle);
+                return;
+            }
+            synchronized (this) {
+                if (stopped) {
+                    return;
+                }
+                expired = true;
+            }
+            ScopeLogger.logWarn("AI response stalled for {} ms, closing the stream", idle);
+            body.close();
+        }
+
+        private synchronized void schedule(long delay) {
+            if (!stopped && !ScopeExecutors.getScheduler().isShutdown()) {
+                check = ScopeExecutors.getScheduler().schedule(this, delay, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+}
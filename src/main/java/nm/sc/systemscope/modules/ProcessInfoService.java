@@ -27,8 +27,10 @@ public class ProcessInfoService {
 
         if (os.contains("win")) {
             process = Runtime.getRuntime().exec("tasklist /fo csv");
+            ScopeSelfMonitor.recordFork();
         } else {
             process = Runtime.getRuntime().exec("ps -e");
+            ScopeSelfMonitor.recordFork();
         }
 
         BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
@@ -76,8 +78,10 @@ public class ProcessInfoService {
         try {
             if (os.contains("win")) {
                 process = Runtime.getRuntime().exec("taskkill /PID " + pid);
+                ScopeSelfMonitor.recordFork();
             } else {
                 process = Runtime.getRuntime().exec("kill -9 " + pid);
+                ScopeSelfMonitor.recordFork();
             }
 
             int exitCode = process.waitFor();
@@ -0,0 +1,237 @@
+package nm.sc.systemscope.modules;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A provider that analyzes system metrics with fixed rules instead of a language model.
+ * <p>
+ * The analyzer reads the last user message, which is either a {@link TelemetryDigest} of a benchmark or the
+ * current readings gathered by the chat, and compares temperatures, throttling episodes, trends and the balance
+ * between CPU and GPU usage with thresholds. It needs no network and answers immediately, so it is used when no
+ * model is configured or reachable. Messages without metrics are answered with a short explanation.
+ * </p>
+ */
+public class RuleBasedAnalyzer implements ScopeAIProvider {
+    private static final double CPU_CRITICAL = 90, CPU_HIGH = 80, GPU_CRITICAL = 83, GPU_HIGH = 75;
+    private static final double RISING_TREND = 1.0, BOTTLENECK_USAGE = 90, UNDERUSED = 60;
+
+    private static final Pattern DIGEST_LINE = Pattern.compile("^(CPU|GPU) (Temperature|Usage) \\(.*?\\): n=\\d+");
+    private static final Pattern P95 = Pattern.compile("p95 (-?\\d+(?:\\.\\d+)?)");
+    private static final Pattern MAX = Pattern.compile("max (-?\\d+(?:\\.\\d+)?)");
+    private static final Pattern MEAN = Pattern.compile("mean (-?\\d+(?:\\.\\d+)?)");
+    private static final Pattern TREND = Pattern.compile("trend ([+-]?\\d+(?:\\.\\d+)?)/min");
+    private static final Pattern EPISODES = Pattern.compile("(\\d+) episodes, (\\d+:\\d{2}) total");
+
+    @Override public String getName() {
+        return "rules";
+    }
+
+    @Override public String getModel() {
+        return "rules";
+    }
+
+    @Override public CompletableFuture<String> complete(JsonArray messages) {
+        return CompletableFuture.completedFuture(analyze(lastUserMessage(messages)));
+    }
+
+    @Override public CompletableFuture<String> stream(JsonArray messages, Consumer<String> onToken) {
+        String response = analyze(lastUserMessage(messages));
+        onToken.accept(response);
+        return CompletableFuture.completedFuture(response);
+    }
+
+    /**
+     * Analyzes the metrics contained in a prompt.
+     *
+     * @param prompt the prompt with a telemetry digest or current readings.
+     * @return the analysis in Ukrainian, or an explanation if the prompt contains no metrics.
+     */
+    public static String analyze(String prompt) {
+        Map<SensorMetric, Stats> metrics = parse(prompt);
+        if (metrics.isEmpty()) {
+            return "Локальний аналізатор розуміє лише показники системи. Натисніть «Аналізувати дані» або " +
+                    "налаштуйте AI-модель, щоб поставити довільне запитання.";
+        }
+
+        StringBuilder report = new StringBuilder("Аналіз показників (локальні правила):\n");
+        analyzeTemperature(report, "CPU", metrics.get(SensorMetric.CPU_TEMPERATURE), CPU_HIGH, CPU_CRITICAL);
+        analyzeTemperature(report, "GPU", metrics.get(SensorMetric.GPU_TEMPERATURE), GPU_HIGH, GPU_CRITICAL);
+        analyzeLoad(report, metrics.get(SensorMetric.CPU_USAGE), metrics.get(SensorMetric.GPU_USAGE));
+        return report.toString().strip();
+    }
+
+    /**
+     * Appends the verdict for the temperature of one component.
+     */
+    private static void analyzeTemperature(StringBuilder report, String component, Stats stats, double high, double critical) {
+        if (stats == null) {
+            return;
+        }
+
+        double peak = stats.peak();
+        if (peak >= critical) {
+            report.append(String.format(Locale.ROOT, "• %s: температура до %.0f °C — досягнуто порогу тротлінгу (%.0f °C). " +
+                    "Перевірте охолодження, термопасту та пил у радіаторі.\n", component, peak, critical));
+        } else if (peak >= high) {
+            report.append(String.format(Locale.ROOT, "• %s: температура до %.0f °C — висока, але нижче порогу тротлінгу. " +
+                    "Варто покращити обдув корпусу.\n", component, peak));
+        } else {
+            report.append(String.format(Locale.ROOT, "• %s: температура до %.0f °C — у нормі.\n", component, peak));
+        }
+
+        if (stats.episodes > 0) {
+            report.append(String.format(Locale.ROOT, "  Тротлінг: %d епізод(ів), загалом %s. Частота могла знижуватися.\n",
+                    stats.episodes, stats.throttleTime));
+        }
+        if (stats.trend >= RISING_TREND) {
+            report.append(String.format(Locale.ROOT, "  Температура зростала на %.1f °C/хв до кінця запису — " +
+                    "охолодження не встигає вийти на сталий режим.\n", stats.trend));
+        }
+    }
+
+    /**
+     * Appends the verdict for the balance between CPU and GPU usage.
+     */
+    private static void analyzeLoad(StringBuilder report, Stats cpu, Stats gpu) {
+        if (cpu == null && gpu == null) {
+            return;
+        }
+
+        double cpuLoad = cpu != null ? cpu.typical() : Double.NaN;
+        double gpuLoad = gpu != null ? gpu.typical() : Double.NaN;
+        if (!Double.isNaN(cpuLoad)) {
+            report.append(String.format(Locale.ROOT, "• Завантаження CPU: %.0f %%.\n", cpuLoad));
+        }
+        if (!Double.isNaN(gpuLoad)) {
+            report.append(String.format(Locale.ROOT, "• Завантаження GPU: %.0f %%.\n", gpuLoad));
+        }
+
+        if (cpuLoad >= BOTTLENECK_USAGE && (Double.isNaN(gpuLoad) || gpuLoad < UNDERUSED)) {
+            report.append("  Процесор завантажений повністю, а відеокарта — ні: продуктивність обмежує CPU. " +
+                    "Закрийте фонові програми або знизьте налаштування, що навантажують процесор.\n");
+        } else if (gpuLoad >= BOTTLENECK_USAGE) {
+            report.append("  Продуктивність обмежує відеокарта — це нормально для ігор. " +
+                    "Для вищого FPS знизьте роздільну здатність або якість графіки.\n");
+        } else if (cpuLoad < UNDERUSED && gpuLoad < UNDERUSED) {
+            report.append("  Обидва компоненти мають запас потужності: ймовірно, діє обмеження FPS, V-Sync або система простоює.\n");
+        }
+    }
+
+    /**
+     * Extracts the metrics from a telemetry digest or from lines with current readings.
+     * A digest line takes precedence over a current reading of the same metric.
+     *
+     * @param prompt the prompt.
+     * @return the metrics found in the prompt.
+     */
+    private static Map<SensorMetric, Stats> parse(String prompt) {
+        Map<SensorMetric, Stats> metrics = new EnumMap<>(SensorMetric.class);
+        if (prompt == null) {
+            return metrics;
+        }
+
+        for (String line : prompt.split("\n")) {
+            Matcher digest = DIGEST_LINE.matcher(line);
+            if (digest.find()) {
+                SensorMetric metric = toMetric(digest.group(1), digest.group(2).equals("Temperature"));
+                Stats stats = new Stats();
+                stats.p95 = find(P95, line);
+                stats.max = find(MAX, line);
+                stats.mean = find(MEAN, line);
+                double trend = find(TREND, line);
+                stats.trend = Double.isNaN(trend) ? 0 : trend;
+                Matcher episodes = EPISODES.matcher(line);
+                if (episodes.find()) {
+                    stats.episodes = Integer.parseInt(episodes.group(1));
+                    stats.throttleTime = episodes.group(2);
+                }
+                metrics.put(metric, stats);
+                continue;
+            }
+
+            int separator = line.indexOf(':');
+            if (separator < 0) {
+                continue;
+            }
+            String label = line.substring(0, separator).trim();
+            boolean temperature = label.startsWith("Температура");
+            if (!temperature && !label.startsWith("Завантаження")) {
+                continue;
+            }
+
+            double value = ThermalSteadyState.parseTemperature(line.substring(separator + 1));
+            SensorMetric metric = toMetric(label.endsWith("GPU") ? "GPU" : "CPU", temperature);
+            if (!Double.isNaN(value) && !metrics.containsKey(metric)) {
+                Stats stats = new Stats();
+                stats.current = value;
+                metrics.put(metric, stats);
+            }
+        }
+        return metrics;
+    }
+
+    private static SensorMetric toMetric(String component, boolean temperature) {
+        if (component.equals("GPU")) {
+            return temperature ? SensorMetric.GPU_TEMPERATURE : SensorMetric.GPU_USAGE;
+        }
+        return temperature ? SensorMetric.CPU_TEMPERATURE : SensorMetric.CPU_USAGE;
+    }
+
+    private static double find(Pattern pattern, String line) {
+        Matcher matcher = pattern.matcher(line);
+        return matcher.find() ? Double.parseDouble(matcher.group(1)) : Double.NaN;
+    }
+
+    /**
+     * Returns the content of the last user message of a conversation.
+     *
+     * @param messages the messages of the conversation.
+     * @return the content, or {@code null} if there is no user message.
+     */
+    private static String lastUserMessage(JsonArray messages) {
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            JsonElement element = messages.get(i);
+            JsonObject message = element.getAsJsonObject();
+            if ("user".equals(message.get("role").getAsString())) {
+                return message.get("content").getAsString();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The values of one metric found in a prompt. A digest provides the distribution, a current reading only {@link #current}.
+     */
+    private static final class Stats {
+        private double current = Double.NaN, p95 = Double.NaN, max = Double.NaN, mean = Double.NaN, trend;
+        private int episodes;
+        private String throttleTime = "";
+
+        /**
+         * Returns the highest value that is representative of the metric.
+         */
+        private double peak() {
+            return !Double.isNaN(max) ? max : current;
+        }
+
+        /**
+         * Returns the value that describes the usual level of the metric.
+         */
+        private double typical() {
+            if (!Double.isNaN(mean)) {
+                return mean;
+            }
+            return !Double.isNaN(p95) ? p95 : current;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package nm.sc.systemscope.modules;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A content-addressed cache of AI responses, so repeated analyses of an almost unchanged system are answered
+ * instantly instead of with a paid round trip.
+ * <p>
+ * The key is a SHA-256 hash of the model, the system prompt and the request content. Every standalone number in the
+ * content is rounded to a multiple of {@value #QUANTUM} before hashing, so readings that differ only slightly map to
+ * the same entry; digits that are part of a word, such as a model name like {@code i7-12700K}, are kept. At most
+ * {@value #MAX_ENTRIES} entries are kept; the least recently used one is evicted first, and entries expire after
+ * {@value #TTL_MINUTES} minutes. The cache is persisted to {@link DataStorage#getAICachePath()} and keeps hit and miss
+ * counters. It is bypassed when {@link ScopeConfigManager#isAICache()} is off.
+ * </p>
+ */
+public class ScopeAICache {
+    private static final int MAX_ENTRIES = 100;
+    private static final int TTL_MINUTES = 30;
+    private static final int QUANTUM = 5;
+    private static final Pattern NUMBER = Pattern.compile("(?<![\\p{L}\\d.])\\d++(\\.\\d++)?+(?![\\p{L}\\d])");
+
+    private static final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private static final AtomicLong hits = new AtomicLong(), misses = new AtomicLong();
+    private static boolean loaded;
+
+    /**
+     * Private constructor of the class
+     */
+    private ScopeAICache() {
+        throw new UnsupportedOperationException("ScopeAICache is a static utility class and cannot be instantiated.");
+    }
+
+    /**
+     * Computes the cache key of a request.
+     *
+     * @param model the name of the model.
+     * @param systemPrompt the system prompt.
+     * @param content the content of the request, e.g. an analysis prompt with a telemetry digest.
+     * @return the key as a hexadecimal SHA-256 hash.
+     */
+    public static String key(String model, String systemPrompt, String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((model + '\0' + systemPrompt + '\0' + quantize(content)).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Rounds every standalone number in a text to the nearest multiple of {@value #QUANTUM}. Digits adjoining a
+     * letter or another number, as in {@code i7} or {@code 2.4.1}, are left unchanged.
+     *
+     * @param text the text to quantize.
+     * @return the quantized text.
+     */
+    static String quantize(String text) {
+        Matcher matcher = NUMBER.matcher(text);
+        StringBuilder result = new StringBuilder();
+        while (matcher.find()) {
+            long rounded = Math.round(Double.parseDouble(matcher.group()) / QUANTUM) * QUANTUM;
+            matcher.appendReplacement(result, Long.toString(rounded));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+
+    /**
+     * Looks up a cached response.
+     *
+     * @param key the cache key.
+     * @return the cached response, or {@code null} if there is none, it has expired, or the cache is bypassed.
+     */
+    public static synchronized String get(String key) {
+        if (!ScopeConfigManager.isAICache()) {
+            return null;
+        }
+        load();
+
+        Entry entry = entries.get(key);
+        if (entry != null && entry.isExpired()) {
+            entries.remove(key);
+            entry = null;
+        }
+
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        ScopeLogger.logInfo("AI cache hit ({} hits, {} misses)", hits.get(), misses.get());
+        return entry.response;
+    }
+
+    /**
+     * Stores a response and persists the cache. Does nothing if the cache is bypassed.
+     *
+     * @param key the cache key.
+     * @param response the response to store.
+     */
+    public static synchronized void put(String key, String response) {
+        if (!ScopeConfigManager.isAICache()) {
+            return;
+        }
+        load();
+
+        entries.put(key, new Entry(response, System.currentTimeMillis()));
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (entries.size() > MAX_ENTRIES && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+        save();
+    }
+
+    /**
+     * Removes all entries and deletes the persisted cache.
+     */
+    public static synchronized void clear() {
+        entries.clear();
+        loaded = true;
+        try {
+            Files.deleteIfExists(DataStorage.getAICachePath());
+        } catch (IOException e) {
+            ScopeLogger.logError("Error while deleting AI cache: ", e);
+        }
+    }
+
+    /**
+     * Returns the number of lookups answered from the cache since start.
+     *
+     * @return the hit count.
+     */
+    public static long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of lookups that were not answered from the cache since start.
+     *
+     * @return the miss count.
+     */
+    public static long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Loads the persisted entries on first use, skipping expired ones.
+     */
+    private static void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+
+        Path path = DataStorage.getAICachePath();
+        if (!Files.exists(path)) {
+            return;
+        }
+        try {
+            JsonArray array = JsonParser.parseString(Files.readString(path, StandardCharsets.UTF_8)).getAsJsonArray();
+            for (JsonElement element : array) {
+                JsonObject object = element.getAsJsonObject();
+                Entry entry = new Entry(object.get("response").getAsString(), object.get("created").getAsLong());
+                if (!entry.isExpired()) {
+                    entries.put(object.get("key").getAsString(), entry);
+                }
+            }
+        } catch (Exception e) {
+            ScopeLogger.logError("Error while loading AI cache, starting empty: ", e);
+            entries.clear();
+        }
+    }
+
+    /**
+     * Writes all entries to disk in least recently used order. The entries are written to a temporary file that then
+     * replaces the cache file, so an interrupted write never leaves a truncated cache behind.
+     */
+    private static void save() {
+        JsonArray array = new JsonArray();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            JsonObject object = new JsonObject();
+            object.addProperty("key", entry.getKey());
+            object.addProperty("response", entry.getValue().response);
+            object.addProperty("created", entry.getValue().created);
+            array.add(object);
+        }
+        Path target = DataStorage.getAICachePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            Files.writeString(temp, array.toString(), StandardCharsets.UTF_8);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            ScopeLogger.logError("Error while saving AI cache: ", e);
+        }
+    }
+
+    /**
+     * A cached response with its creation time.
+     */
+    private static final class Entry {
+        private final String response;
+        private final long created;
+
+        private Entry(String response, long created) {
+            this.response = response;
+            this.created = created;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() - created > TTL_MINUTES * 60_000L;
+        }
+    }
+}
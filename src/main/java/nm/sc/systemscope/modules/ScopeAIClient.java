@@ -0,0 +1,184 @@
+package nm.sc.systemscope.modules;
+
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code ScopeAIClient} class sends requests to the AI service over a single shared {@link HttpClient}.
+ * <p>
+ * The client prefers HTTP/2 and keeps connections alive, so concurrent and consecutive requests reuse the
+ * same connection instead of opening a new one with a new TLS handshake each time. Responses are processed
+ * on the network pool of {@link ScopeExecutors}, connection attempts and requests have timeouts, and requests
+ * that fail with {@code 429} or a {@code 5xx} status or an I/O error are retried with exponential backoff,
+ * honouring the {@code Retry-After} header when the server sends one. A request that timed out is not retried,
+ * since the server may still be processing it, and the whole chain of attempts fails after {@code DEADLINE},
+ * so callers can fall back within a bounded time.
+ * </p>
+ */
+public class ScopeAIClient {
+    private static final int MAX_RETRIES = 3;
+    private static final long BASE_BACKOFF_MILLIS = 500, MAX_BACKOFF_MILLIS = 30_000;
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10), REQUEST_TIMEOUT = Duration.ofSeconds(90),
+            DEADLINE = Duration.ofSeconds(120);
+
+    private static final ExecutorService httpExecutor = ScopeExecutors.newPool("scope-ai-http", 2);
+    private static final ExecutorService responseExecutor = ScopeExecutors.getNetworkPool();
+
+    private static final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(CONNECT_TIMEOUT)
+            .executor(httpExecutor)
+            .build();
+
+    /**
+     * Private constructor of the class
+     */
+    private ScopeAIClient() {
+        throw new UnsupportedOperationException("ScopeAIClient is a static utility class and cannot be instantiated.");
+    }
+
+    /**
+     * Returns the executor on which response callbacks run. Blocking work that belongs to an AI request,
+     * such as reading a streamed response, should run here rather than on a new thread.
+     *
+     * @return the shared network pool.
+     */
+    public static ExecutorService getExecutor() {
+        return responseExecutor;
+    }
+
+    /**
+     * Sends a chat completion request and retries it on transient failures.
+     *
+     * @param url the URL of the chat completions endpoint.
+     * @param apiKey the API key sent as a bearer token.
+     * @param body the JSON body of the request.
+     * @param handler the handler for the response body.
+     * @param <T> the type of the response body.
+     * @return a future completed with the final response, which may still carry an error status
+     *         if the retries are exhausted or the error is not transient. The future fails with a
+     *         {@link java.util.concurrent.TimeoutException} if no response arrived within {@code DEADLINE}.
+     */
+    public static <T> CompletableFuture<HttpResponse<T>> send(String url, String apiKey, JsonObject body, HttpResponse.BodyHandler<T> handler) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Authorization", "Bearer " + apiKey)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body.toString(), StandardCharsets.UTF_8))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        long deadline = System.nanoTime() + DEADLINE.toNanos();
+        return send(request, handler, 0, deadline).orTimeout(DEADLINE.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private static <T> CompletableFuture<HttpResponse<T>> send(HttpRequest request, HttpResponse.BodyHandler<T> handler,
+                                                               int attempt, long deadline) {
+        return httpClient.sendAsync(request, handler)
+                .handle((response, error) -> {
+                    if (attempt >= MAX_RETRIES) {
+                        return result(response, error);
+                    }
+                    if (error != null && !isTransient(error)) {
+                        return result(response, error);
+                    }
+                    if (response != null && !isRetryable(response.statusCode())) {
+                        return CompletableFuture.completedFuture(response);
+                    }
+
+                    long delay = backoff(attempt, response);
+                    if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay) >= deadline) {
+                        return result(response, error);
+                    }
+                    ScopeLogger.logWarn("AI request failed ({}), retrying in {} ms",
+                            error != null ? error.getClass().getSimpleName() : "status " + response.statusCode(), delay);
+                    discard(response);
+
+                    return CompletableFuture.runAsync(() -> { },
+                                    CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, responseExecutor))
+                            .thenCompose(ignored -> send(request, handler, attempt + 1, deadline));
+                })
+                .thenCompose(future -> future);
+    }
+
+    private static <T> CompletableFuture<HttpResponse<T>> result(HttpResponse<T> response, Throwable error) {
+        return error != null ? CompletableFuture.failedFuture(error) : CompletableFuture.completedFuture(response);
+    }
+
+    /**
+     * Checks whether a status code indicates a transient failure worth retrying.
+     *
+     * @param status the HTTP status code.
+     * @return {@code true} for {@code 429} and {@code 5xx} statuses.
+     */
+    private static boolean isRetryable(int status) {
+        return status == 429 || status >= 500;
+    }
+
+    /**
+     * Checks whether a request failure is an I/O error that may succeed on retry. Timeouts are not retried:
+     * the server may still be working on the request, and retrying it would only multiply the wait.
+     *
+     * @param error the failure.
+     * @return {@code true} if the request should be retried.
+     */
+    private static boolean isTransient(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof IOException && !(cause instanceof HttpTimeoutException);
+    }
+
+    /**
+     * Computes the delay before the next attempt. A {@code Retry-After} header given in seconds takes precedence,
+     * otherwise the delay doubles with every attempt and a random jitter of up to 20 % is added.
+     *
+     * @param attempt the number of the failed attempt, starting at 0.
+     * @param response the failed response, or {@code null} if no response was received.
+     * @return the delay in milliseconds.
+     */
+    private static long backoff(int attempt, HttpResponse<?> response) {
+        if (response != null) {
+            var retryAfter = response.headers().firstValue("Retry-After");
+            if (retryAfter.isPresent()) {
+                try {
+                    return Math.min(Long.parseLong(retryAfter.get().trim()) * 1000, MAX_BACKOFF_MILLIS);
+                } catch (NumberFormatException ignored) {
+                    // An HTTP date instead of seconds, fall back to exponential backoff.
+                }
+            }
+        }
+
+        long delay = Math.min(BASE_BACKOFF_MILLIS << attempt, MAX_BACKOFF_MILLIS);
+        return delay + ThreadLocalRandom.current().nextLong(delay / 5 + 1);
+    }
+
+    /**
+     * Closes the body of a response that is about to be retried, so its connection can be reused.
+     *
+     * @param response the response to discard, may be {@code null}.
+     */
+    private static void discard(HttpResponse<?> response) {
+        if (response != null && response.body() instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception ignored) {
+                // The body is not needed any more.
+            }
+        }
+    }
+}
@@ -2,36 +2,49 @@ package nm.sc.systemscope.modules;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
-
-import javax.net.ssl.HttpsURLConnection;
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
+
+import java.net.http.HttpTimeoutException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
- * The {@code ScopeAIHelper} class provides methods to interact with an AI model through HTTP requests.
+ * The {@code ScopeAIHelper} class provides methods to interact with an AI model through a {@link ScopeAIProvider}.
  * It manages the chat history, initializes the model with previous chat messages, and sends requests to
- * the AI service to receive responses based on user prompts.
+ * the provider to receive responses based on user prompts.
  *
  * <p>This class is responsible for:
  * - Loading and initializing the model with chat history.
- * - Sending requests to the AI service and handling responses.
- * - Escaping JSON strings for safe transmission over HTTP.
+ * - Sending requests to the configured provider and handling responses, either as a whole or streamed token by token.
+ * - Falling back to the {@link RuleBasedAnalyzer} while the provider cannot be reached, so analyses never wait for
+ *   the network.
  * - Managing the chat history.
  * </p>
  */
 public class ScopeAIHelper {
-    private static final String API_KEY = ScopeConfigManager.getAPI_KEY();
-    private static final String API_URL = ScopeConfigManager.getAPI_URL();
-    private static final String MODEL = ScopeConfigManager.getMODEL();
-    private static final String MODEL_DESCRIPTION = ScopeConfigManager.getMODEL_DESCRIPTION();
+    /**
+     * The note that precedes a response of the rule-based fallback.
+     */
+    public static final String FALLBACK_NOTE = "⚠ AI-модель недоступна, відповідь сформовано локальними правилами.\n\n";
+
+    private static final long UNREACHABLE_MILLIS = 60_000;
 
-    private static JsonArray previousChatHistory = new JsonArray();
+    private static final ScopeChatContext context = new ScopeChatContext(ScopeSetting.CONTEXT_TOKEN_BUDGET.get());
+    private static final ScopeAIProvider fallback = new RuleBasedAnalyzer();
+    private static volatile ScopeAIProvider provider = createProvider();
+    private static volatile long unreachableUntil;
+
+    static {
+        ScopeConfigManager.addListener(() -> {
+            reloadProvider();
+            warmUp();
+        }, ScopeSetting.AI_PROVIDER, ScopeSetting.API_URL, ScopeSetting.API_KEY, ScopeSetting.MODEL,
+                ScopeSetting.LOCAL_AI_URL, ScopeSetting.LOCAL_AI_API, ScopeSetting.LOCAL_AI_MODEL);
+        ScopeConfigManager.addListener(ScopeAIHelper::updateContext, ScopeSetting.MODEL_DESCRIPTION, ScopeSetting.CONTEXT_TOKEN_BUDGET);
+    }
 
     /**
      * Loads and initializes the AI model with chat history.
@@ -43,156 +56,311 @@ public class ScopeAIHelper {
 
     /**
      * Initializes the AI model with the provided chat history.
-     * Adds a system message with the model description and appends each message from the chat history.
+     * The model description becomes the system prompt and each message from the chat history becomes a turn
+     * of the conversation. Only as much of the history as fits into the context token budget is sent with requests.
      *
      * @param chatHistory A list of previous chat messages to initialize the model with.
      */
-    public static void initializeModelWithHistory(List<ChatMessage> chatHistory) {
-        previousChatHistory = new JsonArray();
-
-        JsonObject modelIntro = new JsonObject();
-        modelIntro.addProperty("role", "system");
-        modelIntro.addProperty("content", MODEL_DESCRIPTION);
-        previousChatHistory.add(modelIntro);
-
-        for (ChatMessage chatMessage : chatHistory) {
-            JsonObject message = new JsonObject();
-            message.addProperty("role", chatMessage.getSender().name());
-            message.addProperty("content", chatMessage.getMessage());
-            previousChatHistory.add(message);
-        }
+    public static synchronized void initializeModelWithHistory(List<ChatMessage> chatHistory) {
+        context.reset(ScopeSetting.MODEL_DESCRIPTION.get(), chatHistory);
     }
 
     /**
-     * Sends a prompt to the AI model and returns the AI's response.
-     * The method builds a request, sends it to the AI service, and processes the response.
+     * Sends a prompt to the AI model and waits for the AI's response.
+     * The prompt is appended to the chat history and the whole history is sent with it.
      *
      * @param prompt The user-provided prompt for the AI model.
      * @return The AI's response as a string, or an error message if something goes wrong.
      */
     public static String request(String prompt) {
-        try {
-            URL url = new URL(API_URL);
-            HttpURLConnection connection = (HttpsURLConnection) url.openConnection();
-
-            connection.setRequestMethod("POST");
-            connection.setRequestProperty("Authorization", "Bearer " + API_KEY);
-            connection.setRequestProperty("Content-Type", "application/json");
-            connection.setDoOutput(true);
-
-            JsonObject userMessage = new JsonObject();
-            userMessage.addProperty("role", "user");
-            userMessage.addProperty("content", escapeJson(prompt));
-            previousChatHistory.add(userMessage);
-
-            String jsonRequest = String.format("""
-            {
-              "model": "%s",
-              "messages": %s
+        return requestAsync(prompt).join();
+    }
+
+    /**
+     * Sends a prompt to the AI model without blocking.
+     * The prompt is appended to the chat history and the whole history is sent with it.
+     *
+     * @param prompt The user-provided prompt for the AI model.
+     * @return A future completed with the AI's response, or with an error message if something goes wrong.
+     */
+    public static CompletableFuture<String> requestAsync(String prompt) {
+        return complete(addUserMessage(prompt))
+                .thenApply(ScopeAIHelper::addAssistantMessage);
+    }
+
+    /**
+     * Sends a single prompt to the AI model without the chat history and without recording it in the history.
+     * Used for auxiliary requests such as generating a chat name.
+     *
+     * @param prompt The prompt for the AI model.
+     * @return A future completed with the AI's response, or with an error message if something goes wrong.
+     */
+    public static CompletableFuture<String> requestStandalone(String prompt) {
+        JsonArray messages = new JsonArray();
+        messages.add(createMessage("user", prompt));
+        return complete(messages);
+    }
+
+    /**
+     * Sends a prompt to the AI model and streams the response as it is generated.
+     * Each piece of generated text is passed to {@code onToken}. If the provider cannot be reached, the response
+     * of the rule-based fallback is passed at once. If the provider fails midway, the part of the response received
+     * so far is kept and followed by the error message.
+     *
+     * @param prompt The user-provided prompt for the AI model.
+     * @param onToken A callback receiving each piece of generated text, called on a thread of the AI client.
+     * @return A future completed with the complete AI response, or with an error message if something goes wrong.
+     */
+    public static CompletableFuture<String> requestStream(String prompt, Consumer<String> onToken) {
+        return stream(prompt, onToken, Function.identity());
+    }
+
+    /**
+     * Streams the response to a prompt like {@link #requestStream(String, Consumer)}, but answers from the
+     * {@link ScopeAICache} if an equivalent request was made recently. A cached response is passed to
+     * {@code onToken} at once and recorded in the conversation as if it had been received. Responses of the
+     * rule-based fallback are not cached, so the model answers once it is reachable again.
+     *
+     * @param prompt The user-provided prompt for the AI model.
+     * @param onToken A callback receiving each piece of generated text.
+     * @return A future completed with the complete AI response, or with an error message if something goes wrong.
+     */
+    public static CompletableFuture<String> requestStreamCached(String prompt, Consumer<String> onToken) {
+        String key = ScopeAICache.key(provider.getModel(), ScopeSetting.MODEL_DESCRIPTION.get(), prompt);
+        String cached = ScopeAICache.get(key);
+        if (cached != null) {
+            addUserMessage(prompt);
+            addAssistantMessage(cached);
+            onToken.accept(cached);
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        return stream(prompt, onToken, response -> {
+            if (!response.startsWith("❌") && !isFallback(response)) {
+                ScopeAICache.put(key, response);
             }
-            """, MODEL, previousChatHistory.toString());
+            return response;
+        });
+    }
 
-            try (OutputStream os = connection.getOutputStream()) {
-                byte[] input = jsonRequest.getBytes(StandardCharsets.UTF_8);
-                os.write(input, 0, input.length);
+    /**
+     * Streams the response to a prompt. If the provider fails before it has passed any text to {@code onToken},
+     * the request is answered by the rule-based fallback. If it fails midway, the text received so far is kept and
+     * followed by the error message, so it is not mixed with a fallback answer.
+     *
+     * @param prompt The user-provided prompt for the AI model.
+     * @param onToken A callback receiving each piece of generated text.
+     * @param onResponse Applied to a complete response before it is returned; not applied to failed requests.
+     * @return A future completed with the complete AI response, or with an error message if something goes wrong.
+     */
+    private static CompletableFuture<String> stream(String prompt, Consumer<String> onToken, Function<String, String> onResponse) {
+        JsonArray messages = addUserMessage(prompt);
+        StringBuilder received = new StringBuilder();
+        Consumer<String> tracked = token -> {
+            synchronized (received) {
+                received.append(token);
             }
+            onToken.accept(token);
+        };
+
+        return withFallback(messages, current -> current.stream(messages, tracked), onToken, () -> {
+                    synchronized (received) {
+                        return received.length() > 0;
+                    }
+                })
+                .thenApply(ScopeAIHelper::addAssistantMessage)
+                .thenApply(onResponse)
+                .exceptionally(error -> {
+                    String failure = handleFailure(error);
+                    synchronized (received) {
+                        return received.length() > 0 ? received + "\n\n" + failure : failure;
+                    }
+                });
+    }
+
+    /**
+     * Applies the current system prompt and token budget to the conversation.
+     */
+    private static synchronized void updateContext() {
+        context.setSystemPrompt(ScopeSetting.MODEL_DESCRIPTION.get());
+        context.setBudget(ScopeSetting.CONTEXT_TOKEN_BUDGET.get());
+    }
+
+    /**
+     * Rebuilds the provider from the current configuration. Called when the AI settings change.
+     */
+    private static void reloadProvider() {
+        provider = createProvider();
+        unreachableUntil = 0;
+        ScopeLogger.logInfo("AI provider set to {} ({})", provider.getName(), provider.getModel());
+    }
 
-            int status = connection.getResponseCode();
+    /**
+     * Prepares the configured provider for the first request in the background, e.g. by loading a local model
+     * into memory. If the provider cannot be reached, requests go to the rule-based fallback until it can.
+     *
+     * @return A future completed when the provider is ready or known to be unreachable.
+     */
+    public static CompletableFuture<Void> warmUp() {
+        ScopeAIProvider current = provider;
+        return current.warmUp().exceptionally(error -> {
+            markUnreachable(current, error);
+            return null;
+        });
+    }
 
-            if (status >= 400) {
-                var errorStream = connection.getErrorStream();
-                if (errorStream == null) {
-                    ScopeLogger.logError("API error response: null error stream");
-                    return "❌ Error " + status + " - " + checkStatusCode(status);
-                }
+    /**
+     * Checks whether a response was produced by the rule-based fallback instead of the configured provider.
+     *
+     * @param response The response.
+     * @return {@code true} if the response is a fallback response.
+     */
+    public static boolean isFallback(String response) {
+        return response != null && response.startsWith(FALLBACK_NOTE);
+    }
 
-                try (BufferedReader errReader = new BufferedReader(new InputStreamReader(errorStream, StandardCharsets.UTF_8))) {
-                    StringBuilder errorResponse = new StringBuilder();
-                    String line;
-                    while ((line = errReader.readLine()) != null) {
-                        errorResponse.append(line.trim());
+    /**
+     * Sends messages to the configured provider and waits for the whole response.
+     *
+     * @param messages The messages to send.
+     * @return A future completed with the AI's response, or with an error message if something goes wrong.
+     */
+    private static CompletableFuture<String> complete(JsonArray messages) {
+        return withFallback(messages, current -> current.complete(messages), null, () -> false)
+                .exceptionally(ScopeAIHelper::handleFailure);
+    }
+
+    /**
+     * Sends a request to the configured provider and answers it with the rule-based fallback if the provider
+     * cannot be reached. After a failure the provider is skipped for a while, so further requests do not wait
+     * for connection timeouts.
+     *
+     * @param messages The messages of the request.
+     * @param request Sends the request to a provider.
+     * @param onToken A callback receiving the fallback response, or {@code null} if the response is not streamed.
+     * @param started Whether the provider has already passed text to the caller; such a request fails instead of
+     *                being answered by the fallback.
+     * @return A future completed with the response.
+     */
+    private static CompletableFuture<String> withFallback(JsonArray messages, Function<ScopeAIProvider, CompletableFuture<String>> request,
+                                                          Consumer<String> onToken, BooleanSupplier started) {
+        ScopeAIProvider current = provider;
+        if (current == fallback) {
+            return request.apply(fallback);
+        }
+        if (System.currentTimeMillis() < unreachableUntil) {
+            return fallback(messages, onToken);
+        }
+
+        return request.apply(current)
+                .handle((response, error) -> {
+                    if (error == null) {
+                        return CompletableFuture.completedFuture(response);
                     }
-                    ScopeLogger.logError("API error response: " + errorResponse);
-                }
-
-                return "❌ Error " + status + " - " + checkStatusCode(status);
-            } else {
-                var inputStream = connection.getInputStream();
-                if (inputStream == null) {
-                    ScopeLogger.logError("API success response, but input stream is null");
-                    return "❌ Error: Empty response from AI.";
-                }
-
-                StringBuilder response = new StringBuilder();
-                try (BufferedReader successReader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-                    String responseLine;
-                    while ((responseLine = successReader.readLine()) != null) {
-                        response.append(responseLine.trim());
+                    if (started.getAsBoolean()) {
+                        return CompletableFuture.<String>failedFuture(error);
                     }
-                }
-                return extractMessage(response.toString());
-            }
+                    markUnreachable(current, error);
+                    return fallback(messages, onToken);
+                })
+                .thenCompose(Function.identity());
+    }
 
-        } catch (Exception e) {
-            ScopeLogger.logError("Error requesting AI: ", e);
-            return "❌ " +  checkStatusCode(Integer.parseInt(e.getMessage()));
+    /**
+     * Answers a request with the rule-based analyzer, preceded by {@link #FALLBACK_NOTE}.
+     */
+    private static CompletableFuture<String> fallback(JsonArray messages, Consumer<String> onToken) {
+        if (onToken != null) {
+            onToken.accept(FALLBACK_NOTE);
+            return fallback.stream(messages, onToken).thenApply(response -> FALLBACK_NOTE + response);
         }
+        return fallback.complete(messages).thenApply(response -> FALLBACK_NOTE + response);
     }
 
     /**
-     * Extracts the content message from the AI's response.
-     *
-     * @param json The raw JSON response from the AI service.
-     * @return The AI's response content, or an error message if the extraction fails.
+     * Records that a provider could not be reached, so requests skip it for {@value #UNREACHABLE_MILLIS} ms.
      */
-    private static String extractMessage(String json) {
-        try {
-            JsonObject jsonObject = JsonParser.parseString(json).getAsJsonObject();
-            JsonArray choices = jsonObject.getAsJsonArray("choices");
-            if (choices != null && !choices.isEmpty()) {
-                JsonObject message = choices.get(0).getAsJsonObject().getAsJsonObject("message");
-                return message.get("content").getAsString();
-            }
-        } catch (Exception e) {
-            ScopeLogger.logError("Помилка при розборі JSON: ", e);
+    private static void markUnreachable(ScopeAIProvider failed, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (failed == provider) {
+            unreachableUntil = System.currentTimeMillis() + UNREACHABLE_MILLIS;
         }
-        return "❌ Не вдалося обробити відповідь від AI.";
+        ScopeLogger.logWarn("AI provider {} is unreachable ({}), using local rules", failed.getName(), cause.toString());
     }
 
     /**
-     * Escapes special characters in a JSON string for safe transmission.
-     * Replaces double quotes with escaped quotes and newlines with escaped newline characters.
+     * Creates the provider selected in the configuration.
      *
-     * @param text The text to be escaped.
-     * @return The escaped text.
+     * @return The provider.
      */
-    private static String escapeJson(String text) {
-        return text.replace("\"", "\\\"").replace("\n", "\\n");
+    private static ScopeAIProvider createProvider() {
+        return switch (ScopeSetting.AI_PROVIDER.get()) {
+            case "local" -> new LocalAIProvider(ScopeSetting.LOCAL_AI_URL.get(), ScopeSetting.LOCAL_AI_MODEL.get(),
+                    "llamacpp".equals(ScopeSetting.LOCAL_AI_API.get()));
+            case "rules" -> fallback;
+            default -> new OpenAIProvider(ScopeSetting.API_URL.get(), ScopeSetting.API_KEY.get(), ScopeSetting.MODEL.get());
+        };
     }
 
     /**
-     * Clears the chat history, removing all previous chat messages.
+     * Logs a failed request and converts it into an error message.
+     *
+     * @param error The failure of the request.
+     * @return An error message for the user.
      */
-    public static void clearChatHistory(){
-        previousChatHistory = new JsonArray();
+    private static String handleFailure(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        ScopeLogger.logError("Error requesting AI: ", cause);
+        return cause instanceof HttpTimeoutException
+                ? "❌ Timeout: The AI service did not respond in time."
+                : "❌ " + OpenAIProvider.checkStatusCode(0);
     }
 
     /**
-     * Checks the status code in the error message and returns an appropriate error message.
+     * Appends a user message to the conversation and builds the messages to send.
      *
-     * @param statusCode The error message containing the status code.
-     * @return A custom error message based on the status code.
+     * @param prompt The text of the user message.
+     * @return The messages to send, bounded by the context token budget.
      */
-    private static String checkStatusCode(int statusCode) {
-        return switch (statusCode) {
-            case 400 -> "Bad Request: The request was invalid or cannot be served.";
-            case 401 -> "Unauthorized: Authentication failed or user does not have permissions.";
-            case 403 -> "Forbidden: You have exceeded the API request limit.";
-            case 404 -> "Not Found: The requested resource could not be found.";
-            case 500 -> "Internal Server Error: An error occurred on the server.";
-            case 502 -> "Bad Gateway: The server was acting as a gateway and received an invalid response.";
-            case 503 -> "Service Unavailable: The server is currently unavailable.";
-            default -> "Unexpected error occurred.";
-        };
+    private static synchronized JsonArray addUserMessage(String prompt) {
+        context.addTurn("user", prompt);
+        return context.build();
+    }
+
+    /**
+     * Appends a successful AI response to the conversation, so follow-up requests include it.
+     * Error messages are not recorded.
+     *
+     * @param response The AI's response.
+     * @return The same response.
+     */
+    private static String addAssistantMessage(String response) {
+        if (response != null && !response.startsWith("❌")) {
+            synchronized (ScopeAIHelper.class) {
+                context.addTurn("assistant", response);
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Creates a chat message object.
+     *
+     * @param role The role of the sender.
+     * @param content The text of the message.
+     * @return The message as a JSON object.
+     */
+    private static JsonObject createMessage(String role, String content) {
+        JsonObject message = new JsonObject();
+        message.addProperty("role", role);
+        message.addProperty("content", content);
+        return message;
+    }
+
+    /**
+     * Clears the chat history, removing all previous chat messages.
+     */
+    public static synchronized void clearChatHistory(){
+        context.clear();
     }
 }
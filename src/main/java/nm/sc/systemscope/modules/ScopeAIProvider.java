@@ -0,0 +1,58 @@
+package nm.sc.systemscope.modules;
+
+import com.google.gson.JsonArray;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * A backend that answers chat completion requests for {@link ScopeAIHelper}.
+ * <p>
+ * Implementations differ in where the answer comes from: a remote OpenAI-compatible service, a model served
+ * on this machine, or local rules. A provider reports an error it received from its backend as a response
+ * starting with {@code "❌"}, and completes the future exceptionally only if the backend could not be reached
+ * at all, so the caller can fall back to another provider.
+ * </p>
+ */
+public interface ScopeAIProvider {
+    /**
+     * Returns a short name of the provider for logs and settings.
+     *
+     * @return the name of the provider.
+     */
+    String getName();
+
+    /**
+     * Returns the model that answers the requests. Responses of different models are cached separately.
+     *
+     * @return the name of the model.
+     */
+    String getModel();
+
+    /**
+     * Sends the messages of a conversation and waits for the whole response.
+     *
+     * @param messages the messages, each a JSON object with a {@code role} and a {@code content}.
+     * @return a future completed with the response.
+     */
+    CompletableFuture<String> complete(JsonArray messages);
+
+    /**
+     * Sends the messages of a conversation and passes each piece of the response to {@code onToken} as it is generated.
+     *
+     * @param messages the messages, each a JSON object with a {@code role} and a {@code content}.
+     * @param onToken a callback receiving each piece of generated text.
+     * @return a future completed with the complete response.
+     */
+    CompletableFuture<String> stream(JsonArray messages, Consumer<String> onToken);
+
+    /**
+     * Prepares the backend for the first request, e.g. by loading the model into memory.
+     * Providers without anything to prepare complete immediately.
+     *
+     * @return a future completed when the provider is ready.
+     */
+    default CompletableFuture<Void> warmUp() {
+        return CompletableFuture.completedFuture(null);
+    }
+}
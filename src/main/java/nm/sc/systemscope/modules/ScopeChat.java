@@ -14,6 +14,9 @@ import java.util.UUID;
 public class ScopeChat {
     private List<ChatMessage> messageHistory;
     private String chatID, chatName;
+    private int messageCount;
+    private long lastModified;
+    private long loadedOffset = -1;
 
     /**
      * Constructs an empty {@link ScopeChat} with a generated unique chat ID.
@@ -128,6 +131,60 @@ public class ScopeChat {
         this.chatName = chatName;
     }
 
+    /**
+     * Returns the total number of messages in the chat, including those that are not loaded yet.
+     *
+     * @return The number of messages stored for the chat.
+     */
+    public int getMessageCount() {
+        return messageCount;
+    }
+
+    /**
+     * Sets the total number of messages in the chat.
+     *
+     * @param messageCount The number of messages stored for the chat.
+     */
+    public void setMessageCount(int messageCount) {
+        this.messageCount = messageCount;
+    }
+
+    /**
+     * Returns the time of the last change to the chat.
+     *
+     * @return The last modification time in milliseconds since the epoch.
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Sets the time of the last change to the chat.
+     *
+     * @param lastModified The last modification time in milliseconds since the epoch.
+     */
+    public void setLastModified(long lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Returns the position in the message log where the oldest loaded message starts.
+     *
+     * @return The byte offset of the oldest loaded message, or -1 if no page has been loaded yet.
+     */
+    long getLoadedOffset() {
+        return loadedOffset;
+    }
+
+    /**
+     * Sets the position in the message log where the oldest loaded message starts.
+     *
+     * @param loadedOffset The byte offset of the oldest loaded message.
+     */
+    void setLoadedOffset(long loadedOffset) {
+        this.loadedOffset = loadedOffset;
+    }
+
     /**
      * Returns a string representation of the {@link ScopeChat} object.
      * <p>
@@ -0,0 +1,316 @@
+package nm.sc.systemscope.modules;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the list of messages sent with an AI request so that its size stays within a token budget,
+ * no matter how long the conversation is.
+ * <p>
+ * The system prompt, if set, is always sent. The most recent turns are sent verbatim, as many as fit into the budget.
+ * The last {@value #MIN_RECENT_TURNS} turns are always sent; if even they exceed the budget, they are shortened to
+ * their beginning and end around a marker, so a single pasted log cannot blow the budget. Older turns are condensed
+ * into a single summary message with one short line per turn, and the oldest turns are dropped entirely once the
+ * summary would exceed its share of the budget. Token counts are estimated from the text and cached per message, so
+ * building the context does not re-measure the whole history.
+ * </p>
+ */
+public class ScopeChatContext {
+    private static final int MESSAGE_OVERHEAD = 4;
+    private static final int MIN_RECENT_TURNS = 2;
+    private static final int SUMMARY_LINE_LENGTH = 160;
+    private static final double SUMMARY_SHARE = 0.2;
+    private static final String TRUNCATION_MARKER = "\n[…]\n";
+
+    private int budget;
+    private final List<Turn> turns = new ArrayList<>();
+    private String systemPrompt = "";
+    private int systemTokens = MESSAGE_OVERHEAD;
+
+    /**
+     * Constructs an empty context.
+     *
+     * @param budget the approximate number of tokens the built context may use.
+     */
+    public ScopeChatContext(int budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Replaces the system prompt and the conversation with the given chat history.
+     *
+     * @param systemPrompt the system prompt sent with every request.
+     * @param history the previous messages of the chat, oldest first.
+     */
+    public void reset(String systemPrompt, List<ChatMessage> history) {
+        this.systemPrompt = systemPrompt != null ? systemPrompt : "";
+        this.systemTokens = estimateTokens(this.systemPrompt);
+        turns.clear();
+        for (ChatMessage message : history) {
+            addTurn(message.getSender().name(), message.getMessage());
+        }
+    }
+
+    /**
+     * Replaces the system prompt while keeping the conversation.
+     *
+     * @param systemPrompt the system prompt sent with every request.
+     */
+    public void setSystemPrompt(String systemPrompt) {
+        this.systemPrompt = systemPrompt != null ? systemPrompt : "";
+        this.systemTokens = estimateTokens(this.systemPrompt);
+    }
+
+    /**
+     * Changes the number of tokens the built context may use.
+     *
+     * @param budget the approximate number of tokens.
+     */
+    public void setBudget(int budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Removes all turns while keeping the system prompt.
+     */
+    public void clear() {
+        turns.clear();
+    }
+
+    /**
+     * Appends a turn to the conversation.
+     *
+     * @param role the role of the sender, e.g. {@code "user"} or {@code "assistant"}.
+     * @param content the text of the message.
+     */
+    public void addTurn(String role, String content) {
+        turns.add(new Turn(role, content != null ? content : ""));
+    }
+
+    /**
+     * Returns the number of turns in the conversation.
+     *
+     * @return the number of turns.
+     */
+    public int size() {
+        return turns.size();
+    }
+
+    /**
+     * Builds the messages to send: the system prompt, a summary of older turns if needed, and the recent turns.
+     *
+     * @return the messages as a JSON array in the format of the chat completions API.
+     */
+    public JsonArray build() {
+        int available = Math.max(0, budget - systemTokens);
+
+        int total = 0;
+        for (Turn turn : turns) {
+            total += turn.tokens;
+        }
+
+        int firstKept = 0;
+        int used = total;
+        if (total > available) {
+            int recentBudget = (int) (available * (1 - SUMMARY_SHARE));
+            used = 0;
+            firstKept = turns.size();
+            while (firstKept > 0) {
+                Turn turn = turns.get(firstKept - 1);
+                boolean required = turns.size() - firstKept < MIN_RECENT_TURNS;
+                if (!required && used + turn.tokens > recentBudget) {
+                    break;
+                }
+                used += turn.tokens;
+                firstKept--;
+            }
+        }
+
+        JsonArray messages = new JsonArray();
+        if (!systemPrompt.isEmpty()) {
+            messages.add(createMessage("system", systemPrompt));
+        }
+
+        if (firstKept > 0) {
+            String summary = summarize(firstKept, Math.max(0, available - used));
+            if (summary != null) {
+                messages.add(createMessage("system", summary));
+            }
+        }
+
+        int[] limits = used > available ? distribute(firstKept, available) : null;
+        for (int i = firstKept; i < turns.size(); i++) {
+            Turn turn = turns.get(i);
+            String content = limits != null ? truncate(turn.content, limits[i - firstKept]) : turn.content;
+            messages.add(createMessage(turn.role, content));
+        }
+        return messages;
+    }
+
+    /**
+     * Shares a budget among the turns from {@code start} on. Smaller turns are served first and keep their full
+     * size, so whatever they leave over goes to the larger ones.
+     *
+     * @param start the index of the first turn.
+     * @param budget the number of tokens to share.
+     * @return the number of tokens each turn may use, in the order of the turns.
+     */
+    private int[] distribute(int start, int budget) {
+        List<Integer> order = new ArrayList<>();
+        for (int i = start; i < turns.size(); i++) {
+            order.add(i - start);
+        }
+        order.sort((a, b) -> Integer.compare(turns.get(start + a).tokens, turns.get(start + b).tokens));
+
+        int[] limits = new int[order.size()];
+        int remaining = budget;
+        for (int i = 0; i < order.size(); i++) {
+            int index = order.get(i);
+            limits[index] = Math.min(turns.get(start + index).tokens, remaining / (order.size() - i));
+            remaining -= limits[index];
+        }
+        return limits;
+    }
+
+    /**
+     * Shortens a text to a number of tokens, keeping its beginning and end around {@link #TRUNCATION_MARKER}.
+     *
+     * @param text the text.
+     * @param maxTokens the number of tokens the message may use, including the per-message overhead.
+     * @return the text itself if it fits, otherwise the shortened text.
+     */
+    private static String truncate(String text, int maxTokens) {
+        if (estimateTokens(text) <= maxTokens) {
+            return text;
+        }
+
+        // Costs are counted in quarter tokens: one for an ASCII character, two for any other character.
+        int half = Math.max(0, maxTokens - estimateTokens(TRUNCATION_MARKER)) * 4 / 2;
+        int head = 0, cost = 0;
+        while (head < text.length() && cost + charCost(text.charAt(head)) <= half) {
+            cost += charCost(text.charAt(head++));
+        }
+        int tail = text.length();
+        cost = 0;
+        while (tail > head && cost + charCost(text.charAt(tail - 1)) <= half) {
+            cost += charCost(text.charAt(--tail));
+        }
+
+        if (head > 0 && Character.isHighSurrogate(text.charAt(head - 1))) {
+            head--;
+        }
+        if (tail < text.length() && Character.isLowSurrogate(text.charAt(tail))) {
+            tail++;
+        }
+        return text.substring(0, head) + TRUNCATION_MARKER + text.substring(tail);
+    }
+
+    private static int charCost(char c) {
+        return c < 128 ? 1 : 2;
+    }
+
+    /**
+     * Condenses the turns before {@code end} into one line each, newest first, until the summary budget is used up.
+     *
+     * @param end the index of the first turn that is sent verbatim.
+     * @param summaryBudget the number of tokens the summary may use.
+     * @return the summary text, or {@code null} if not even one line fits.
+     */
+    private String summarize(int end, int summaryBudget) {
+        List<String> lines = new ArrayList<>();
+        int used = MESSAGE_OVERHEAD + 20;
+        int start = end;
+        while (start > 0) {
+            Turn turn = turns.get(start - 1);
+            int tokens = turn.getSummaryTokens();
+            if (used + tokens > summaryBudget) {
+                break;
+            }
+            lines.add(0, turn.getSummaryLine());
+            used += tokens;
+            start--;
+        }
+
+        if (lines.isEmpty()) {
+            return null;
+        }
+
+        StringBuilder summary = new StringBuilder("Summary of the earlier conversation");
+        if (start > 0) {
+            summary.append(" (").append(start).append(" older messages omitted)");
+        }
+        summary.append(":\n");
+        for (String line : lines) {
+            summary.append("- ").append(line).append('\n');
+        }
+        return summary.toString();
+    }
+
+    private static JsonObject createMessage(String role, String content) {
+        JsonObject message = new JsonObject();
+        message.addProperty("role", role);
+        message.addProperty("content", content);
+        return message;
+    }
+
+    /**
+     * Estimates the number of tokens a message takes, including the per-message overhead.
+     * ASCII text is counted as about four characters per token and other text, such as Cyrillic,
+     * as about two characters per token.
+     *
+     * @param text the text of the message.
+     * @return the estimated number of tokens.
+     */
+    public static int estimateTokens(String text) {
+        int ascii = 0, other = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) < 128) {
+                ascii++;
+            } else {
+                other++;
+            }
+        }
+        return MESSAGE_OVERHEAD + (ascii + 3) / 4 + (other + 1) / 2;
+    }
+
+    /**
+     * A single message of the conversation with its cached token counts.
+     */
+    private static final class Turn {
+        private final String role;
+        private final String content;
+        private final int tokens;
+        private String summaryLine;
+        private int summaryTokens;
+
+        private Turn(String role, String content) {
+            this.role = role;
+            this.content = content;
+            this.tokens = estimateTokens(content);
+        }
+
+        private String getSummaryLine() {
+            if (summaryLine == null) {
+                String text = content.strip().replaceAll("\\s+", " ");
+                int sentenceEnd = text.indexOf(". ");
+                if (sentenceEnd > 0) {
+                    text = text.substring(0, sentenceEnd + 1);
+                }
+                if (text.length() > SUMMARY_LINE_LENGTH) {
+                    text = text.substring(0, SUMMARY_LINE_LENGTH) + "…";
+                }
+                summaryLine = role + ": " + text;
+                summaryTokens = estimateTokens(summaryLine) - MESSAGE_OVERHEAD + 1;
+            }
+            return summaryLine;
+        }
+
+        private int getSummaryTokens() {
+            getSummaryLine();
+            return summaryTokens;
+        }
+    }
+}
@@ -0,0 +1,386 @@
+package nm.sc.systemscope.modules;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import nm.sc.systemscope.adapters.ChatMessageAdapter;
+import nm.sc.systemscope.adapters.ScopeChatAdapter;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Persists AI chats as a small index plus one append-only message log per chat.
+ * <p>
+ * The index ({@value #INDEX_FILE}) holds the ID, name, last modification time and message count of every chat
+ * and is the only file read when the chat window opens. The messages of a chat are stored in
+ * {@code <id>.jsonl}, one JSON object per line, so a new message is a single append instead of a rewrite of
+ * the whole chat. Messages are loaded lazily in pages of {@value #PAGE_SIZE}, newest first, by reading the log
+ * backwards from the oldest message loaded so far.
+ * </p>
+ * <p>
+ * Chats saved by older versions as a single {@code <name><id>.json} file are converted on the first load.
+ * </p>
+ */
+public class ScopeChatStore {
+    private static final String INDEX_FILE = "index.json";
+    private static final String LOG_EXTENSION = ".jsonl";
+    private static final int PAGE_SIZE = 50;
+    private static final int BLOCK_SIZE = 8192;
+    private static final Pattern UUID_PATTERN = Pattern.compile("[0-9a-fA-F-]{36}");
+
+    private static final Gson gson = new GsonBuilder()
+            .registerTypeAdapter(ScopeChat.class, new ScopeChatAdapter())
+            .registerTypeAdapter(ChatMessage.class, new ChatMessageAdapter())
+            .create();
+    private static final Map<String, ScopeChat> chats = new LinkedHashMap<>();
+
+    /**
+     * Private constructor of the class
+     */
+    private ScopeChatStore() {
+        throw new UnsupportedOperationException("ScopeChatStore is a static utility class and cannot be instantiated.");
+    }
+
+    /**
+     * Loads the chat index. The returned chats contain no messages yet; use {@link #loadOlder(ScopeChat)} to load them.
+     * Chats in the old single-file format are converted first, and the index is rebuilt from the message logs if it is missing.
+     *
+     * @return the chats, most recently modified first.
+     */
+    public static synchronized List<ScopeChat> loadIndex() {
+        chats.clear();
+
+        Path folder = DataStorage.getChatHistoryFolder();
+        Path index = folder.resolve(INDEX_FILE);
+        if (Files.exists(index)) {
+            readIndex(index);
+        } else {
+            rebuildIndex(folder);
+        }
+
+        if (migrateLegacyChats(folder) || !Files.exists(index)) {
+            saveIndex();
+        }
+
+        List<ScopeChat> result = new ArrayList<>(chats.values());
+        result.sort(Comparator.comparingLong(ScopeChat::getLastModified).reversed());
+        return result;
+    }
+
+    /**
+     * Registers a new, empty chat in the index.
+     *
+     * @param chat the chat to register.
+     */
+    public static synchronized void create(ScopeChat chat) {
+        chat.setMessageCount(0);
+        chat.setLastModified(System.currentTimeMillis());
+        chat.setLoadedOffset(0);
+        chats.put(chat.getChatID(), chat);
+        saveIndex();
+    }
+
+    /**
+     * Renames a chat and updates the index.
+     *
+     * @param chat the chat to rename.
+     * @param name the new name.
+     */
+    public static synchronized void rename(ScopeChat chat, String name) {
+        chat.setChatName(name);
+        chats.putIfAbsent(chat.getChatID(), chat);
+        saveIndex();
+        ScopeSearchIndex.renameChat(chat);
+    }
+
+    /**
+     * Appends a message to the log of a chat and to its loaded history, and updates the index.
+     *
+     * @param chat the chat the message belongs to.
+     * @param message the message to append.
+     */
+    public static synchronized void append(ScopeChat chat, ChatMessage message) {
+        chat.addMessage(message);
+
+        Path log = getLogPath(chat);
+        try {
+            if (chat.getLoadedOffset() < 0) {
+                // Older messages are loaded later from before this message, not including it
+                chat.setLoadedOffset(Files.exists(log) ? Files.size(log) : 0);
+            }
+            Files.writeString(log, gson.toJson(message, ChatMessage.class) + "\n", StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            ScopeLogger.logError("Помилка при збереженні повідомлення чату: " + log.getFileName(), e);
+            return;
+        }
+
+        chat.setMessageCount(chat.getMessageCount() + 1);
+        chat.setLastModified(System.currentTimeMillis());
+        chats.putIfAbsent(chat.getChatID(), chat);
+        saveIndex();
+        ScopeSearchIndex.indexChat(chat);
+    }
+
+    /**
+     * Removes all messages of a chat, both loaded and stored.
+     *
+     * @param chat the chat to clear.
+     */
+    public static synchronized void clear(ScopeChat chat) {
+        chat.clearHistory();
+        try {
+            Files.deleteIfExists(getLogPath(chat));
+        } catch (IOException e) {
+            ScopeLogger.logError("Помилка при очищенні історії чату: " + chat.getChatID(), e);
+        }
+
+        chat.setMessageCount(0);
+        chat.setLastModified(System.currentTimeMillis());
+        chat.setLoadedOffset(0);
+        saveIndex();
+        ScopeSearchIndex.removeChat(chat.getChatID());
+    }
+
+    /**
+     * Checks whether a chat has stored messages that are older than the loaded ones.
+     *
+     * @param chat the chat to check.
+     * @return {@code true} if {@link #loadOlder(ScopeChat)} would return more messages, {@code false} otherwise.
+     */
+    public static synchronized boolean hasOlder(ScopeChat chat) {
+        return chat.getLoadedOffset() != 0 && chat.getMessageCount() > 0;
+    }
+
+    /**
+     * Loads the next page of older messages of a chat and prepends them to its loaded history.
+     * The first call for a chat loads its most recent messages.
+     *
+     * @param chat the chat to load messages for.
+     * @return the loaded messages in chronological order, or an empty list if there are no more.
+     */
+    public static synchronized List<ChatMessage> loadOlder(ScopeChat chat) {
+        List<ChatMessage> page = new ArrayList<>();
+        Path log = getLogPath(chat);
+        if (!hasOlder(chat) || !Files.exists(log)) {
+            chat.setLoadedOffset(0);
+            return page;
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(log.toFile(), "r")) {
+            long end = chat.getLoadedOffset() < 0 ? file.length() : chat.getLoadedOffset();
+            long start = end;
+            byte[] buffer = new byte[0];
+            int newlines = 0;
+
+            // Read whole blocks backwards until the buffer holds one line more than the page, or the file start
+            while (start > 0 && newlines <= PAGE_SIZE) {
+                int size = (int) Math.min(BLOCK_SIZE, start);
+                start -= size;
+
+                byte[] block = new byte[size];
+                file.seek(start);
+                file.readFully(block);
+                for (byte b : block) {
+                    if (b == '\n') {
+                        newlines++;
+                    }
+                }
+
+                byte[] joined = new byte[size + buffer.length];
+                System.arraycopy(block, 0, joined, 0, size);
+                System.arraycopy(buffer, 0, joined, size, buffer.length);
+                buffer = joined;
+            }
+
+            List<String> lines = new ArrayList<>();
+            int lineEnd = buffer.length;
+            while (lines.size() < PAGE_SIZE && lineEnd > 0) {
+                int lineStart = lineEnd - 1;
+                while (lineStart > 0 && buffer[lineStart - 1] != '\n') {
+                    lineStart--;
+                }
+                lines.add(0, new String(buffer, lineStart, lineEnd - 1 - lineStart, StandardCharsets.UTF_8));
+                lineEnd = lineStart;
+            }
+            chat.setLoadedOffset(start + lineEnd);
+
+            for (String line : lines) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    page.add(gson.fromJson(line, ChatMessage.class));
+                } catch (RuntimeException e) {
+                    ScopeLogger.logWarn("Skipping a damaged message in chat log {}", log.getFileName());
+                }
+            }
+        } catch (IOException e) {
+            ScopeLogger.logError("Помилка при завантаженні чату з файлу: " + log.getFileName(), e);
+            chat.setLoadedOffset(0);
+        }
+
+        chat.getMessageHistory().addAll(0, page);
+        return page;
+    }
+
+    /**
+     * Returns the path of the message log of a chat.
+     *
+     * @param chat the chat.
+     * @return the path of the log file.
+     */
+    public static Path getLogPath(ScopeChat chat) {
+        return DataStorage.getChatHistoryFolder().resolve(chat.getChatID() + LOG_EXTENSION);
+    }
+
+    /**
+     * Reads the index file into the chat map.
+     *
+     * @param index the path of the index file.
+     */
+    private static void readIndex(Path index) {
+        try {
+            JsonArray array = JsonParser.parseString(Files.readString(index, StandardCharsets.UTF_8)).getAsJsonArray();
+            for (JsonElement element : array) {
+                JsonObject object = element.getAsJsonObject();
+                ScopeChat chat = new ScopeChat(object.get("name").getAsString());
+                chat.setChatID(object.get("id").getAsString());
+                chat.setLastModified(object.get("modified").getAsLong());
+                chat.setMessageCount(object.get("count").getAsInt());
+                chats.put(chat.getChatID(), chat);
+            }
+        } catch (Exception e) {
+            ScopeLogger.logError("Error while reading chat index, rebuilding it: ", e);
+            chats.clear();
+            rebuildIndex(index.getParent());
+        }
+    }
+
+    /**
+     * Rebuilds the index from the message logs in the chat folder. Chat names are not stored in the logs,
+     * so a rebuilt chat is named after its ID.
+     *
+     * @param folder the chat folder.
+     */
+    private static void rebuildIndex(Path folder) {
+        try (DirectoryStream<Path> logs = Files.newDirectoryStream(folder, "*" + LOG_EXTENSION)) {
+            for (Path log : logs) {
+                String id = log.getFileName().toString().replace(LOG_EXTENSION, "");
+                ScopeChat chat = new ScopeChat(id);
+                chat.setChatID(id);
+                chat.setLastModified(Files.getLastModifiedTime(log).toMillis());
+                chat.setMessageCount(countLines(log));
+                chats.put(id, chat);
+            }
+        } catch (IOException e) {
+            ScopeLogger.logError("Error while rebuilding chat index: ", e);
+        }
+    }
+
+    /**
+     * Converts chats stored by older versions as {@code <name><id>.json} into a message log and an index entry,
+     * then deletes the old file.
+     *
+     * @param folder the chat folder.
+     * @return {@code true} if at least one chat was converted, {@code false} otherwise.
+     */
+    private static boolean migrateLegacyChats(Path folder) {
+        boolean migrated = false;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(folder, "*.json")) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                Matcher matcher = UUID_PATTERN.matcher(fileName);
+                if (fileName.equals(INDEX_FILE) || !matcher.find()) {
+                    continue;
+                }
+
+                ScopeChat chat;
+                try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    chat = gson.fromJson(reader, ScopeChat.class);
+                }
+                if (chat == null) {
+                    continue;
+                }
+                chat.setChatID(matcher.group());
+                chat.setChatName(fileName.substring(0, matcher.start()).trim());
+
+                StringBuilder lines = new StringBuilder();
+                for (ChatMessage message : chat.getMessageHistory()) {
+                    lines.append(gson.toJson(message, ChatMessage.class)).append('\n');
+                }
+                Path log = getLogPath(chat);
+                Path temp = log.resolveSibling(log.getFileName() + ".tmp");
+                Files.writeString(temp, lines, StandardCharsets.UTF_8);
+                Files.move(temp, log, StandardCopyOption.REPLACE_EXISTING);
+
+                chat.setMessageCount(chat.getMessageHistory().size());
+                chat.setLastModified(Files.getLastModifiedTime(file).toMillis());
+                chat.getMessageHistory().clear();
+                chats.put(chat.getChatID(), chat);
+
+                Files.delete(file);
+                migrated = true;
+                ScopeLogger.logInfo("Converted chat '{}' to the paged chat store", chat.getChatName());
+            }
+        } catch (Exception e) {
+            ScopeLogger.logError("Error while converting old chat files: ", e);
+        }
+        return migrated;
+    }
+
+    /**
+     * Writes the index to a temporary file and moves it over the old one, so a crash never leaves a partial index.
+     */
+    private static void saveIndex() {
+        JsonArray array = new JsonArray();
+        for (ScopeChat chat : chats.values()) {
+            JsonObject object = new JsonObject();
+            object.addProperty("id", chat.getChatID());
+            object.addProperty("name", chat.getChatName());
+            object.addProperty("modified", chat.getLastModified());
+            object.addProperty("count", chat.getMessageCount());
+            array.add(object);
+        }
+
+        Path index = DataStorage.getChatHistoryFolder().resolve(INDEX_FILE);
+        Path temp = index.resolveSibling(INDEX_FILE + ".tmp");
+        try {
+            Files.writeString(temp, array.toString(), StandardCharsets.UTF_8);
+            Files.move(temp, index, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            ScopeLogger.logError("Error while saving chat index: ", e);
+        }
+    }
+
+    /**
+     * Counts the non-empty lines of a message log.
+     *
+     * @param log the path of the log.
+     * @return the number of messages in the log.
+     * @throws IOException if the log cannot be read.
+     */
+    private static int countLines(Path log) throws IOException {
+        try (var lines = Files.lines(log, StandardCharsets.UTF_8)) {
+            return (int) lines.filter(line -> !line.isBlank()).count();
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package nm.sc.systemscope.modules;
+
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.collections.FXCollections;
+import javafx.scene.control.IndexedCell;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.skin.VirtualFlow;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.VBox;
+
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A virtualized transcript of chat messages.
+ * <p>
+ * Unlike a {@link VBox} with one node per message, this {@link ListView} only creates cells for the messages
+ * that are visible and recycles them while scrolling, so a chat with thousands of messages costs about as much
+ * as one with a screenful. The height of a wrapped message is measured once per message and width and cached,
+ * because the list measures cells far more often than it creates them.
+ * </p>
+ * <p>
+ * One message at a time can be marked as streaming; its cell is bound to {@link #getStreamingText()} instead of
+ * the message text, so a response can be rendered while it arrives.
+ * </p>
+ */
+public class ScopeChatView extends ListView<ChatMessage> {
+    private final Map<ChatMessage, double[]> heights = new WeakHashMap<>();
+    private final StringProperty streamingText = new SimpleStringProperty("");
+    private ChatMessage streamingMessage;
+    private Runnable onScrolledToTop;
+
+    /**
+     * Default constructor that initializes an empty transcript with recycled message cells.
+     */
+    public ScopeChatView() {
+        super(FXCollections.observableArrayList());
+        getStyleClass().add("chat-view");
+        setFocusTraversable(false);
+        setCellFactory(view -> new MessageCell());
+
+        widthProperty().addListener((obs, oldWidth, newWidth) -> heights.clear());
+        addEventHandler(ScrollEvent.SCROLL, event -> {
+            if (event.getDeltaY() > 0) {
+                checkScrolledToTop();
+            }
+        });
+        skinProperty().addListener((obs, oldSkin, newSkin) -> {
+            VirtualFlow<?> flow = getFlow();
+            if (flow != null) {
+                flow.positionProperty().addListener((o, oldPosition, newPosition) -> checkScrolledToTop());
+            }
+        });
+    }
+
+    /**
+     * Sets the action that is run when the user scrolls to the top of the transcript, e.g. to load older messages.
+     *
+     * @param onScrolledToTop the action, or {@code null} to remove it.
+     */
+    public void setOnScrolledToTop(Runnable onScrolledToTop) {
+        this.onScrolledToTop = onScrolledToTop;
+    }
+
+    /**
+     * Inserts older messages at the top of the transcript, keeping the messages that were visible before in place.
+     *
+     * @param messages the messages to insert, in chronological order.
+     */
+    public void prepend(List<ChatMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        getItems().addAll(0, messages);
+
+        VirtualFlow<?> flow = getFlow();
+        if (flow != null) {
+            flow.scrollToTop(messages.size());
+        } else {
+            scrollTo(messages.size());
+        }
+    }
+
+    /**
+     * Adds a placeholder message whose cell displays {@link #getStreamingText()} until {@link #finishStreaming(ChatMessage)} is called.
+     *
+     * @param placeholder the message that stands for the response while it is streamed.
+     */
+    public void startStreaming(ChatMessage placeholder) {
+        streamingText.set("");
+        streamingMessage = placeholder;
+        getItems().add(placeholder);
+    }
+
+    /**
+     * Replaces the streaming placeholder with the complete message.
+     *
+     * @param message the complete message.
+     */
+    public void finishStreaming(ChatMessage message) {
+        int index = getItems().indexOf(streamingMessage);
+        streamingMessage = null;
+        if (index >= 0) {
+            getItems().set(index, message);
+        } else {
+            getItems().add(message);
+        }
+    }
+
+    /**
+     * Returns the text shown in the cell of the streaming message.
+     *
+     * @return the streaming text property.
+     */
+    public StringProperty getStreamingText() {
+        return streamingText;
+    }
+
+    /**
+     * Scrolls so the bottom of the last message is visible.
+     */
+    public void scrollToBottom() {
+        int last = getItems().size() - 1;
+        if (last < 0) {
+            return;
+        }
+
+        VirtualFlow<?> flow = getFlow();
+        if (flow == null) {
+            scrollTo(last);
+            return;
+        }
+        flow.scrollTo(last);
+        scrollToBottom(flow, last);
+    }
+
+    /**
+     * Bottom-aligns the cell of the given index if it is currently visible.
+     *
+     * @param flow the virtual flow of the list.
+     * @param index the index of the cell.
+     * @param <T> the type of the cells.
+     */
+    @SuppressWarnings("rawtypes")
+    private static <T extends IndexedCell> void scrollToBottom(VirtualFlow<T> flow, int index) {
+        T cell = flow.getVisibleCell(index);
+        if (cell != null) {
+            flow.scrollToBottom(cell);
+        }
+    }
+
+    /**
+     * Runs the scrolled-to-top action if the first message is at the top of the viewport.
+     */
+    private void checkScrolledToTop() {
+        VirtualFlow<?> flow = getFlow();
+        if (onScrolledToTop != null && flow != null && !getItems().isEmpty() && flow.getPosition() <= 0) {
+            onScrolledToTop.run();
+        }
+    }
+
+    /**
+     * Returns the virtual flow created by the skin of the list.
+     *
+     * @return the virtual flow, or {@code null} if the skin has not been created yet.
+     */
+    private VirtualFlow<?> getFlow() {
+        return lookup(".virtual-flow") instanceof VirtualFlow<?> flow ? flow : null;
+    }
+
+    /**
+     * A recycled cell that displays one message bubble with its time.
+     */
+    private final class MessageCell extends ListCell<ChatMessage> {
+        private final Label messageLabel = new Label();
+        private final Label timeLabel = new Label();
+        private final VBox container = new VBox(messageLabel, timeLabel);
+
+        private MessageCell() {
+            messageLabel.setWrapText(true);
+            timeLabel.getStyleClass().add("message-time");
+            container.getStyleClass().add("message-box");
+            setText(null);
+        }
+
+        @Override protected void updateItem(ChatMessage item, boolean empty) {
+            super.updateItem(item, empty);
+
+            messageLabel.textProperty().unbind();
+            if (empty || item == null) {
+                setGraphic(null);
+                return;
+            }
+
+            if (item == streamingMessage) {
+                messageLabel.textProperty().bind(streamingText);
+            } else {
+                messageLabel.setText(item.getMessage());
+            }
+            timeLabel.setText(item.getTime());
+
+            messageLabel.getStyleClass().removeAll("user-message", "ai-message");
+            messageLabel.getStyleClass().add(item.getSender() == Sender.user ? "user-message" : "ai-message");
+            setGraphic(container);
+        }
+
+        @Override protected double computePrefHeight(double width) {
+            ChatMessage item = getItem();
+            if (isEmpty() || item == null || item == streamingMessage) {
+                return super.computePrefHeight(width);
+            }
+
+            double[] cached = heights.get(item);
+            if (cached != null && cached[0] == width) {
+                return cached[1];
+            }
+            double height = super.computePrefHeight(width);
+            heights.put(item, new double[]{width, height});
+            return height;
+        }
+    }
+}
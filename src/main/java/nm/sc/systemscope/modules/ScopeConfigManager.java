@@ -1,24 +1,71 @@
 package nm.sc.systemscope.modules;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Manages the configuration for the System Scope application.
  * Loads, saves, and updates configuration values from a properties file.
+ * <p>
+ * Setters only change the configuration in memory and request a save. Saves are debounced: the file is written
+ * on a background thread {@value #SAVE_DELAY} ms after the last change, so a burst of setters results in a single
+ * write. The file is written to a temporary file, synced to disk once and then atomically renamed over the old
+ * file, so a crash leaves either the old or the new configuration, never a partial one. Pending changes are
+ * written when the application exits.
+ * </p>
+ * <p>
+ * Components that apply settings while running register a listener for the {@link ScopeSetting}s they use.
+ * Listeners are called on the configuration thread once per batch of changes, both for changes made through
+ * the setters and for edits of the properties file by another program, which is watched after {@link #startWatching()}.
+ * </p>
  */
 public class ScopeConfigManager {
     private static final String CONFIG_FILE = "config.properties";
+    private static final long SAVE_DELAY = 300;
+    private static final ScheduledExecutorService saver = ScopeExecutors.newSerialScheduler("scope-config");
+    private static final Object writeLock = new Object();
+    private static final long RELOAD_DELAY = 200, WATCH_INTERVAL = 1000;
+    private static final Map<Runnable, Set<String>> listeners = new ConcurrentHashMap<>();
+    private static ScheduledFuture<?> pendingSave, pendingReload;
+    private static Properties applied = new Properties();
+    private static boolean dirty, watching;
     private static String API_KEY = "", API_URL = "", MODEL_DESCRIPTION = "", MODEL = "";
     private static final Properties props = new Properties();
     private static Theme theme = Theme.DARK;
-    private static boolean saveBenchLogs, generateAIReport, showCPUTemp, showCPUUsage, showGPUTemp, showGPUUsage, lastSave = true;
-    private static int mainDelay = 2;
+    private static boolean saveBenchLogs, generateAIReport, showCPUTemp, showCPUUsage, showGPUTemp, showGPUUsage, thermalGate, lightweightOverlay, aiCache, lastSave = true;
+    private static final Map<String, Integer> samplePeriods = new ConcurrentHashMap<>();
+    private static int contextTokenBudget = 3000;
+    private static String aiProvider = "remote", localAIUrl = "http://127.0.0.1:8080", localAIApi = "openai", localAIModel = "local";
 
     static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ScopeConfigManager::write, "scope-config-flush"));
+
         File configFile = new File(CONFIG_FILE);
         if (!configFile.exists()) {
             ScopeLogger.logInfo("Config not found, default config will be set");
@@ -27,6 +74,7 @@ public class ScopeConfigManager {
         } else {
             loadConfig();
         }
+        applied = (Properties) props.clone();
     }
 
     /**
@@ -40,11 +88,18 @@ public class ScopeConfigManager {
         showGPUTemp = true;
         showCPUUsage = true;
         showGPUUsage = true;
+        thermalGate = false;
+        lightweightOverlay = true;
+        aiCache = true;
         API_KEY = "";
         API_URL = "";
         MODEL_DESCRIPTION = "";
         MODEL = "";
-        mainDelay = 2;
+        contextTokenBudget = 3000;
+        aiProvider = "remote";
+        localAIUrl = "http://127.0.0.1:8080";
+        localAIApi = "openai";
+        localAIModel = "local";
 
         props.setProperty("theme", theme.toString());
         props.setProperty("saveBenchLogs", String.valueOf(saveBenchLogs));
@@ -53,11 +108,23 @@ public class ScopeConfigManager {
         props.setProperty("show_cpu_usage", String.valueOf(showCPUUsage));
         props.setProperty("show_gpu_temp", String.valueOf(showGPUTemp));
         props.setProperty("show_gpu_usage", String.valueOf(showGPUUsage));
+        props.setProperty("thermal_gate", String.valueOf(thermalGate));
+        props.setProperty("lightweight_overlay", String.valueOf(lightweightOverlay));
+        props.setProperty("ai_cache", String.valueOf(aiCache));
         props.setProperty("API_KEY", API_KEY);
         props.setProperty("API_URL", API_URL);
         props.setProperty("model_description", MODEL_DESCRIPTION);
         props.setProperty("model", MODEL);
-        props.setProperty("main_delay", String.valueOf(mainDelay));
+        props.setProperty("context_token_budget", String.valueOf(contextTokenBudget));
+        props.setProperty("ai_provider", aiProvider);
+        props.setProperty("local_ai_url", localAIUrl);
+        props.setProperty("local_ai_api", localAIApi);
+        props.setProperty("local_ai_model", localAIModel);
+
+        samplePeriods.clear();
+        for (ScopeProbe probe : ScopeProbe.values()) {
+            props.setProperty(samplePeriodKey(probe.getKey()), String.valueOf(probe.getDefaultPeriod()));
+        }
     }
 
     /**
@@ -69,7 +136,8 @@ public class ScopeConfigManager {
      * </p>
      *
      * <p>If the configuration file cannot be read (e.g., file missing or corrupted),
-     * default values are used, and an error message is printed to the console.</p>
+     * default values are used and an error is logged. Numeric values that cannot be parsed or are out of range
+     * are replaced by their defaults one by one, so a single bad entry does not discard the rest of the file.</p>
      *
      * <p>Properties loaded:</p>
      * <ul>
@@ -80,11 +148,19 @@ public class ScopeConfigManager {
      *     <li>{@code show_cpu_usage} - Whether to show CPU usage</li>
      *     <li>{@code show_gpu_temp} - Whether to show GPU temperature</li>
      *     <li>{@code show_gpu_usage} - Whether to show GPU usage</li>
+     *     <li>{@code thermal_gate} - Whether to wait for a thermal steady state before a benchmark</li>
+     *     <li>{@code lightweight_overlay} - Whether the benchmark window uses the canvas overlay instead of Swing</li>
+     *     <li>{@code ai_cache} - Whether repeated AI analyses are answered from the response cache</li>
      *     <li>{@code API_KEY} - API authentication key</li>
      *     <li>{@code API_URL} - API endpoint URL</li>
      *     <li>{@code model_description} - AI model description</li>
      *     <li>{@code model} - AI model name</li>
-     *     <li>{@code main_delay} - Delay between updates (in seconds, default 2)</li>
+     *     <li>{@code context_token_budget} - Approximate number of tokens of chat history sent with an AI request (default 3000)</li>
+     *     <li>{@code ai_provider} - Backend that answers AI requests: "remote", "local" or "rules" (default "remote")</li>
+     *     <li>{@code local_ai_url} - Address of the local model server (default "http://127.0.0.1:8080")</li>
+     *     <li>{@code local_ai_api} - API of the local model server: "openai" or "llamacpp" (default "openai")</li>
+     *     <li>{@code local_ai_model} - Model requested from the local server (default "local")</li>
+     *     <li>{@code sample_<metric>_ms} - Sampling period of a metric in milliseconds, see {@link ScopeProbe}</li>
      * </ul>
      *
      * @see java.util.Properties
@@ -92,33 +168,349 @@ public class ScopeConfigManager {
     public static void loadConfig() {
         try (FileReader reader = new FileReader(CONFIG_FILE)) {
             props.load(reader);
-
-            theme = Theme.fromString(props.getProperty("theme", "dark"));
-            saveBenchLogs = Boolean.parseBoolean(props.getProperty("saveBenchLogs", "false"));
-            generateAIReport = Boolean.parseBoolean(props.getProperty("generateAIReport", "false"));
-            showCPUTemp = Boolean.parseBoolean(props.getProperty("show_cpu_temp", "false"));
-            showCPUUsage = Boolean.parseBoolean(props.getProperty("show_cpu_usage", "false"));
-            showGPUTemp = Boolean.parseBoolean(props.getProperty("show_gpu_temp", "false"));
-            showGPUUsage = Boolean.parseBoolean(props.getProperty("show_gpu_usage", "false"));
-            API_KEY = props.getProperty("API_KEY", "");
-            API_URL = props.getProperty("API_URL", "");
-            MODEL_DESCRIPTION = props.getProperty("model_description", "");
-            MODEL = props.getProperty("model", "");
-            mainDelay = Integer.parseInt(props.getProperty("main_delay", "2"));
         } catch (IOException e) {
-            System.out.println("Не вдалося завантажити конфіг. Використовуються стандартні значення.");
+            ScopeLogger.logError("Failed to load config, default values are used: ", e);
+            return;
+        }
+
+        try {
+            applyProperties();
+        } catch (IllegalArgumentException e) {
+            ScopeLogger.logWarn("Invalid config: {}", e.getMessage());
+            resetInvalidProperties();
+            applyProperties();
+        }
+    }
+
+    /**
+     * Replaces the numeric properties that {@link #applyProperties()} would reject with their default values.
+     * A sampling period of an unknown metric has no default and is removed.
+     */
+    private static void resetInvalidProperties() {
+        for (String key : props.stringPropertyNames()) {
+            boolean isPeriod = key.startsWith("sample_") && key.endsWith("_ms");
+            if (!isPeriod && !key.equals("context_token_budget")) {
+                continue;
+            }
+
+            String value = props.getProperty(key);
+            try {
+                if (!isPeriod) {
+                    Integer.parseInt(value);
+                    continue;
+                }
+                if (Integer.parseInt(value.trim()) > 0) {
+                    continue;
+                }
+            } catch (NumberFormatException ignored) {
+                // Replaced below.
+            }
+
+            String fallback = isPeriod ? getDefaultPeriod(key) : "3000";
+            ScopeLogger.logWarn("Invalid config value {}={}, using the default {}", key, value, fallback);
+            if (fallback != null) {
+                props.setProperty(key, fallback);
+            } else {
+                props.remove(key);
+            }
         }
     }
 
     /**
-     * Saves the current configuration to the properties file.
+     * Returns the default sampling period for a property key.
+     *
+     * @param key the property key, e.g. {@code sample_cpu_temp_ms}.
+     * @return the default period in milliseconds, or {@code null} if no probe uses the key.
      */
-    public static void save() {
-        try (FileWriter writer = new FileWriter(CONFIG_FILE)) {
-            props.store(writer, "System Scope Configuration");
+    private static String getDefaultPeriod(String key) {
+        for (ScopeProbe probe : ScopeProbe.values()) {
+            if (samplePeriodKey(probe.getKey()).equals(key)) {
+                return String.valueOf(probe.getDefaultPeriod());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses the values of the properties into the typed fields.
+     */
+    private static void applyProperties() {
+        theme = Theme.fromString(props.getProperty("theme", "dark"));
+        saveBenchLogs = Boolean.parseBoolean(props.getProperty("saveBenchLogs", "false"));
+        generateAIReport = Boolean.parseBoolean(props.getProperty("generateAIReport", "false"));
+        showCPUTemp = Boolean.parseBoolean(props.getProperty("show_cpu_temp", "false"));
+        showCPUUsage = Boolean.parseBoolean(props.getProperty("show_cpu_usage", "false"));
+        showGPUTemp = Boolean.parseBoolean(props.getProperty("show_gpu_temp", "false"));
+        showGPUUsage = Boolean.parseBoolean(props.getProperty("show_gpu_usage", "false"));
+        thermalGate = Boolean.parseBoolean(props.getProperty("thermal_gate", "false"));
+        lightweightOverlay = Boolean.parseBoolean(props.getProperty("lightweight_overlay", "true"));
+        aiCache = Boolean.parseBoolean(props.getProperty("ai_cache", "true"));
+        API_KEY = props.getProperty("API_KEY", "");
+        API_URL = props.getProperty("API_URL", "");
+        MODEL_DESCRIPTION = props.getProperty("model_description", "");
+        MODEL = props.getProperty("model", "");
+        contextTokenBudget = Integer.parseInt(props.getProperty("context_token_budget", "3000"));
+        aiProvider = props.getProperty("ai_provider", "remote");
+        localAIUrl = props.getProperty("local_ai_url", "http://127.0.0.1:8080");
+        localAIApi = props.getProperty("local_ai_api", "openai");
+        localAIModel = props.getProperty("local_ai_model", "local");
+
+        Map<String, Integer> periods = new HashMap<>();
+        for (String key : props.stringPropertyNames()) {
+            if (key.startsWith("sample_") && key.endsWith("_ms")) {
+                int period = Integer.parseInt(props.getProperty(key).trim());
+                if (period <= 0) {
+                    throw new IllegalArgumentException("Sampling period must be positive: " + key + "=" + period);
+                }
+                periods.put(key, period);
+            }
+        }
+        samplePeriods.keySet().retainAll(periods.keySet());
+        samplePeriods.putAll(periods);
+    }
+
+    /**
+     * Requests a save of the current configuration. The properties file is written in the background once no
+     * further changes have been made for {@value #SAVE_DELAY} ms.
+     */
+    public static synchronized void save() {
+        dirty = true;
+        if (pendingSave != null) {
+            pendingSave.cancel(false);
+        }
+        try {
+            pendingSave = saver.schedule(ScopeConfigManager::write, SAVE_DELAY, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // The executors are shut down because the application exits; the shutdown hook writes the change.
+            pendingSave = null;
+        }
+    }
+
+    /**
+     * Writes pending changes without waiting for the debounce delay.
+     *
+     * @return a future completed with the status of the save, see {@link #getSaveStatus()}.
+     */
+    public static CompletableFuture<Boolean> flush() {
+        return CompletableFuture.supplyAsync(() -> {
+            write();
+            return lastSave;
+        }, saver);
+    }
+
+    /**
+     * Writes the configuration if it has changed since the last write. Writes are serialized by a lock of their own,
+     * so a write started at exit waits until a write already in progress has renamed its file; the shutdown hook
+     * therefore never returns while the latest changes are still on their way to disk.
+     */
+    private static void write() {
+        Set<String> changed;
+        synchronized (writeLock) {
+            changed = writeFile();
+        }
+        if (changed != null) {
+            notifyListeners(changed);
+        }
+    }
+
+    /**
+     * Writes a snapshot of the properties to a temporary file and renames it over the properties file.
+     * Must be called with {@link #writeLock} held.
+     *
+     * @return the keys changed since the previous write, or {@code null} if there was nothing to write.
+     */
+    private static Set<String> writeFile() {
+        Properties snapshot;
+        Set<String> changed;
+        synchronized (ScopeConfigManager.class) {
+            if (pendingSave != null) {
+                pendingSave.cancel(false);
+                pendingSave = null;
+            }
+            if (!dirty) {
+                return null;
+            }
+            dirty = false;
+            snapshot = (Properties) props.clone();
+            changed = diff(applied, snapshot);
+            applied = snapshot;
+        }
+
+        Path target = Paths.get(CONFIG_FILE).toAbsolutePath();
+        Path temp = target.resolveSibling(CONFIG_FILE + ".tmp");
+        try {
+            try (FileOutputStream out = new FileOutputStream(temp.toFile());
+                 Writer writer = new OutputStreamWriter(out)) {
+                snapshot.store(writer, "System Scope Configuration");
+                writer.flush();
+                out.getFD().sync();
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            lastSave = true;
         } catch (IOException e) {
             ScopeLogger.logError("Error while saving config: " + e);
             lastSave = false;
+            synchronized (ScopeConfigManager.class) {
+                dirty = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Registers a listener that is called after any of the given settings has changed.
+     * The listener is called once per batch of changes, on the configuration thread.
+     *
+     * @param listener the listener to add.
+     * @param settings the settings the listener depends on.
+     */
+    public static void addListener(Runnable listener, ScopeSetting<?>... settings) {
+        Set<String> keys = new HashSet<>();
+        for (ScopeSetting<?> setting : settings) {
+            keys.add(setting.getKey());
+        }
+        listeners.put(listener, keys);
+    }
+
+    /**
+     * Removes a previously registered listener.
+     *
+     * @param listener the listener to remove.
+     */
+    public static void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Starts watching the properties file, so edits made by another program are loaded and applied without a restart.
+     * The directory of the file is polled for changes every {@value #WATCH_INTERVAL} ms on the configuration thread,
+     * so watching ends with the other executors when the application exits. Calling this method more than once has
+     * no effect.
+     */
+    public static synchronized void startWatching() {
+        if (watching) {
+            return;
+        }
+        watching = true;
+
+        Path target = Paths.get(CONFIG_FILE).toAbsolutePath();
+        try {
+            WatchService service = target.getFileSystem().newWatchService();
+            target.getParent().register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            saver.scheduleWithFixedDelay(() -> pollChanges(service, target), WATCH_INTERVAL, WATCH_INTERVAL, TimeUnit.MILLISECONDS);
+        } catch (IOException e) {
+            ScopeLogger.logError("Error while watching config: ", e);
+        }
+    }
+
+    /**
+     * Takes the pending changes of the directory that contains the properties file and schedules a reload
+     * if the file was modified. Editors often write a file in several steps, so reloads are debounced.
+     *
+     * @param service the watch service the directory is registered with.
+     * @param target the properties file.
+     */
+    private static void pollChanges(WatchService service, Path target) {
+        WatchKey key;
+        while ((key = service.poll()) != null) {
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (target.getFileName().equals(event.context())) {
+                    scheduleReload();
+                }
+            }
+            key.reset();
+        }
+    }
+
+    private static synchronized void scheduleReload() {
+        if (pendingReload != null) {
+            pendingReload.cancel(false);
+        }
+        pendingReload = saver.schedule(ScopeConfigManager::reload, RELOAD_DELAY, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Loads the properties file and applies the values that differ from the current configuration.
+     * Files written by this class do not differ and are ignored, as are edits made while changes of
+     * the application are waiting to be written, because that write replaces the file anyway.
+     */
+    private static void reload() {
+        Properties loaded = new Properties();
+        try (FileReader reader = new FileReader(CONFIG_FILE)) {
+            loaded.load(reader);
+        } catch (IOException e) {
+            ScopeLogger.logError("Error while reloading config: " + e);
+            return;
+        }
+
+        Set<String> changed;
+        synchronized (ScopeConfigManager.class) {
+            if (dirty) {
+                return;
+            }
+            changed = diff(props, loaded);
+            if (changed.isEmpty()) {
+                return;
+            }
+
+            Properties previous = (Properties) props.clone();
+            props.clear();
+            props.putAll(loaded);
+            try {
+                applyProperties();
+            } catch (IllegalArgumentException e) {
+                ScopeLogger.logError("Invalid config, the change is ignored: " + e);
+                props.clear();
+                props.putAll(previous);
+                applyProperties();
+                return;
+            }
+            applied = (Properties) props.clone();
+        }
+
+        ScopeLogger.logInfo("Config reloaded, changed: {}", changed);
+        notifyListeners(changed);
+    }
+
+    /**
+     * Returns the keys whose values differ between two sets of properties.
+     */
+    private static Set<String> diff(Properties before, Properties after) {
+        Set<String> changed = new HashSet<>();
+        for (String key : before.stringPropertyNames()) {
+            if (!Objects.equals(before.getProperty(key), after.getProperty(key))) {
+                changed.add(key);
+            }
+        }
+        for (String key : after.stringPropertyNames()) {
+            if (!before.containsKey(key)) {
+                changed.add(key);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Calls every listener that depends on one of the changed keys.
+     *
+     * @param changed the keys that have changed.
+     */
+    private static void notifyListeners(Set<String> changed) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<Runnable, Set<String>> entry : List.copyOf(listeners.entrySet())) {
+            if (entry.getValue().stream().anyMatch(changed::contains)) {
+                try {
+                    entry.getKey().run();
+                } catch (RuntimeException e) {
+                    ScopeLogger.logError("Error in config listener: ", e);
+                }
+            }
         }
     }
 
@@ -249,6 +641,60 @@ public class ScopeConfigManager {
         return showCPUTemp || showCPUUsage || showGPUTemp || showGPUUsage;
     }
 
+    /**
+     * Checks if the benchmark should wait for a thermal steady state before starting.
+     *
+     * @return {@code true} if the cool-down gate is enabled, {@code false} otherwise.
+     */
+    public static boolean isThermalGate() { return thermalGate; }
+
+    /**
+     * Sets the cool-down gate option and saves the updated configuration.
+     *
+     * @param key {@code true} to wait for a thermal steady state before a benchmark, {@code false} to start immediately.
+     */
+    public static void setThermalGate(boolean key) {
+        thermalGate = key;
+        props.setProperty("thermal_gate", String.valueOf(thermalGate));
+        save();
+    }
+
+    /**
+     * Checks if the benchmark window should use the lightweight canvas overlay.
+     *
+     * @return {@code true} if the canvas overlay is used, {@code false} if the Swing frame is used.
+     */
+    public static boolean isLightweightOverlay() { return lightweightOverlay; }
+
+    /**
+     * Sets the benchmark overlay mode and saves the updated configuration.
+     *
+     * @param key {@code true} to use the canvas overlay, {@code false} to use the Swing frame.
+     */
+    public static void setLightweightOverlay(boolean key) {
+        lightweightOverlay = key;
+        props.setProperty("lightweight_overlay", String.valueOf(lightweightOverlay));
+        save();
+    }
+
+    /**
+     * Checks if repeated AI analyses are answered from the response cache.
+     *
+     * @return {@code true} if the AI response cache is enabled, {@code false} if it is bypassed.
+     */
+    public static boolean isAICache() { return aiCache; }
+
+    /**
+     * Sets the AI response cache option and saves the updated configuration.
+     *
+     * @param key {@code true} to use the AI response cache, {@code false} to always send requests.
+     */
+    public static void setAICache(boolean key) {
+        aiCache = key;
+        props.setProperty("ai_cache", String.valueOf(aiCache));
+        save();
+    }
+
     /**
      * Toggles the generateAIReport flag and updates the config file.
      */
@@ -339,25 +785,134 @@ public class ScopeConfigManager {
     }
 
     /**
-     * Gets the current main delay value.
+     * Gets the sampling period of a metric.
+     *
+     * @param metric The key of the metric, see {@link ScopeProbe#getKey()}.
+     * @param defaultPeriod The period used when none is configured.
+     * @return The sampling period in milliseconds.
+     */
+    public static int getSamplePeriod(String metric, int defaultPeriod){
+        return samplePeriods.getOrDefault(samplePeriodKey(metric), defaultPeriod);
+    }
+
+    /**
+     * Sets the sampling period of a metric and saves the updated configuration.
+     *
+     * @param metric The key of the metric, see {@link ScopeProbe#getKey()}.
+     * @param period The new sampling period in milliseconds.
+     */
+    public static void setSamplePeriod(String metric, int period){
+        if (period <= 0) {
+            throw new IllegalArgumentException("Sampling period must be positive: " + period);
+        }
+        samplePeriods.put(samplePeriodKey(metric), period);
+        props.setProperty(samplePeriodKey(metric), String.valueOf(period));
+        save();
+    }
+
+    /**
+     * Returns the property key that holds the sampling period of a metric.
+     *
+     * @param metric The key of the metric.
+     * @return The property key, e.g. {@code sample_cpu_temp_ms}.
+     */
+    static String samplePeriodKey(String metric){
+        return "sample_" + metric + "_ms";
+    }
+
+    /**
+     * Gets the token budget for the chat history sent with an AI request.
+     *
+     * @return The approximate number of tokens.
+     */
+    public static int getContextTokenBudget(){ return contextTokenBudget; }
+
+    /**
+     * Sets the token budget for the chat history sent with an AI request and saves the updated configuration.
+     *
+     * @param budget The approximate number of tokens.
+     */
+    public static void setContextTokenBudget(int budget){
+        contextTokenBudget = budget;
+        props.setProperty("context_token_budget", String.valueOf(budget));
+        save();
+    }
+
+    /**
+     * Returns the backend that answers AI requests.
+     *
+     * @return {@code "remote"}, {@code "local"} or {@code "rules"}.
+     */
+    public static String getAIProvider(){ return aiProvider; }
+
+    /**
+     * Sets the backend that answers AI requests and saves the updated configuration.
+     *
+     * @param provider {@code "remote"}, {@code "local"} or {@code "rules"}.
+     */
+    public static void setAIProvider(String provider){
+        aiProvider = provider;
+        props.setProperty("ai_provider", provider);
+        save();
+    }
+
+    /**
+     * Returns the address of the local model server.
+     *
+     * @return the address, e.g. {@code http://127.0.0.1:8080}.
+     */
+    public static String getLocalAIUrl(){ return localAIUrl; }
+
+    /**
+     * Sets the address of the local model server and saves the updated configuration.
+     *
+     * @param url the address of the server.
+     */
+    public static void setLocalAIUrl(String url){
+        localAIUrl = url;
+        props.setProperty("local_ai_url", url);
+        save();
+    }
+
+    /**
+     * Returns the API of the local model server.
+     *
+     * @return {@code "openai"} or {@code "llamacpp"}.
+     */
+    public static String getLocalAIApi(){ return localAIApi; }
+
+    /**
+     * Sets the API of the local model server and saves the updated configuration.
+     *
+     * @param api {@code "openai"} or {@code "llamacpp"}.
+     */
+    public static void setLocalAIApi(String api){
+        localAIApi = api;
+        props.setProperty("local_ai_api", api);
+        save();
+    }
+
+    /**
+     * Returns the model requested from the local server.
      *
-     * @return The current main delay in seconds.
+     * @return the model name.
      */
-    public static int getMainDelay(){ return mainDelay; }
+    public static String getLocalAIModel(){ return localAIModel; }
 
     /**
-     * Sets the main delay value and saves the updated configuration.
+     * Sets the model requested from the local server and saves the updated configuration.
      *
-     * @param delay The new main delay value in seconds.
+     * @param model the model name.
      */
-    public static void setMainDelay(int delay){
-        mainDelay = delay;
-        props.setProperty("main_delay", String.valueOf(delay));
+    public static void setLocalAIModel(String model){
+        localAIModel = model;
+        props.setProperty("local_ai_model", model);
         save();
     }
 
     /**
-     * Returns the status of the last save operation.
+     * Returns the status of the last write of the properties file. Changes that are still waiting for the
+     * debounce delay are not reflected; use {@link #flush()} to wait for them.
      *
      * @return true if the last save was successful, false otherwise
      */
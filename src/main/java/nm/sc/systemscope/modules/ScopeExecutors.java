@@ -0,0 +1,385 @@
+package nm.sc.systemscope.modules;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The shared thread pools of the application.
+ * <p>
+ * Instead of starting threads or creating executors of their own, components run their work on one of
+ * three named, bounded pools:
+ * </p>
+ * <ul>
+ *     <li>the <b>scheduler</b> ({@code scope-scheduler}), a single thread for periodic and delayed work such
+ *     as sensor sampling; its tasks run one after another, so long blocking work belongs on the I/O pool,</li>
+ *     <li>the <b>I/O pool</b> ({@code scope-io}) for blocking work on files, processes and hardware,</li>
+ *     <li>the <b>network pool</b> ({@code scope-net}) for blocking network work such as reading AI responses.</li>
+ * </ul>
+ * <p>
+ * The pools keep at most {@value #QUEUE_CAPACITY} waiting tasks; when a queue is full the submitting thread
+ * runs the task itself, which slows the producer down instead of losing work. Work that may be dropped, such as a
+ * sensor reading, is submitted with {@link #tryExecuteIO(Runnable)} instead and is rejected when the queue is full,
+ * so it never runs on the submitting thread. Every pool records its peak queue
+ * depth and how long tasks waited before they started, see {@link #getMetrics()}. {@link #shutdown()} stops all
+ * pools and is called once when the application exits. Components whose work must run one task at a time and in
+ * order, such as the configuration saver, get a scheduler of their own from {@link #newSerialScheduler(String)},
+ * which is metered and shut down together with the shared pools.
+ * </p>
+ */
+public class ScopeExecutors {
+    private static final int IO_THREADS = 4, NETWORK_THREADS = 8, QUEUE_CAPACITY = 256;
+    private static final long SHUTDOWN_TIMEOUT = 2000;
+
+    private static final List<Metered> pools = new ArrayList<>();
+    private static final MeteredScheduler scheduler = register(new MeteredScheduler("scope-scheduler"));
+    private static final MeteredPool ioPool = register(new MeteredPool("scope-io", IO_THREADS));
+    private static final MeteredPool networkPool = register(new MeteredPool("scope-net", NETWORK_THREADS));
+
+    /**
+     * Private constructor of the class
+     */
+    private ScopeExecutors() {
+        throw new UnsupportedOperationException("ScopeExecutors is a static utility class and cannot be instantiated.");
+    }
+
+    /**
+     * Returns the scheduler for periodic and delayed work. It has a single thread, so tasks should be short.
+     *
+     * @return the shared scheduler.
+     */
+    public static ScheduledExecutorService getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Returns the pool for blocking work on files, processes and hardware.
+     *
+     * @return the shared I/O pool.
+     */
+    public static ExecutorService getIOPool() {
+        return ioPool;
+    }
+
+    /**
+     * Returns the pool for blocking network work.
+     *
+     * @return the shared network pool.
+     */
+    public static ExecutorService getNetworkPool() {
+        return networkPool;
+    }
+
+    /**
+     * Runs a task on the I/O pool unless its queue is full. Unlike {@link ExecutorService#execute(Runnable)}, a full
+     * queue does not make the calling thread run the task, so the task may be submitted from the scheduler.
+     *
+     * @param task the task to run.
+     * @throws RejectedExecutionException if the queue is full or the pool has been shut down.
+     */
+    public static void tryExecuteIO(Runnable task) {
+        ioPool.tryExecute(task);
+    }
+
+    /**
+     * Creates an additional bounded pool that is included in the metrics and in {@link #shutdown()}.
+     *
+     * @param name the prefix of the thread names.
+     * @param threads the maximum number of threads.
+     * @return the new pool.
+     */
+    static ExecutorService newPool(String name, int threads) {
+        return register(new MeteredPool(name, threads));
+    }
+
+    /**
+     * Creates an additional single-threaded scheduler that is included in the metrics and in {@link #shutdown()}.
+     * Its tasks run one after another, in the order of their scheduled time.
+     *
+     * @param name the prefix of the thread name.
+     * @return the new scheduler.
+     */
+    static ScheduledExecutorService newSerialScheduler(String name) {
+        return register(new MeteredScheduler(name));
+    }
+
+    /**
+     * Returns the current metrics of all pools.
+     *
+     * @return one entry per pool.
+     */
+    public static List<PoolMetrics> getMetrics() {
+        List<PoolMetrics> metrics = new ArrayList<>();
+        synchronized (pools) {
+            for (Metered pool : pools) {
+                metrics.add(pool.metrics());
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * Stops all pools. Running tasks get up to {@value #SHUTDOWN_TIMEOUT} ms to finish before they are interrupted.
+     * Delayed tasks that have not started yet are discarded.
+     */
+    public static void shutdown() {
+        List<Metered> all;
+        synchronized (pools) {
+            all = new ArrayList<>(pools);
+        }
+
+        for (Metered pool : all) {
+            ScopeLogger.logInfo("Executor {}", pool.metrics());
+            pool.executor().shutdown();
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SHUTDOWN_TIMEOUT);
+        for (Metered pool : all) {
+            try {
+                if (!pool.executor().awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    ScopeLogger.logWarn("Executor {} did not finish in time, interrupting {} tasks", pool.metrics().getName(),
+                            pool.executor().shutdownNow().size());
+                }
+            } catch (InterruptedException e) {
+                pool.executor().shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static <T extends Metered> T register(T pool) {
+        synchronized (pools) {
+            pools.add(pool);
+        }
+        return pool;
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * A pool that reports its metrics.
+     */
+    private interface Metered {
+        PoolMetrics metrics();
+
+        ExecutorService executor();
+    }
+
+    /**
+     * Counters shared by both kinds of pools.
+     */
+    private static final class Counters {
+        private final AtomicLong completed = new AtomicLong(), totalLatency = new AtomicLong(), maxLatency = new AtomicLong();
+        private final AtomicInteger peakQueue = new AtomicInteger();
+
+        private void started(long latencyNanos) {
+            completed.incrementAndGet();
+            totalLatency.addAndGet(latencyNanos);
+            maxLatency.accumulateAndGet(latencyNanos, Math::max);
+        }
+
+        private void queued(int depth) {
+            peakQueue.accumulateAndGet(depth, Math::max);
+        }
+
+        private PoolMetrics snapshot(String name, ThreadPoolExecutor executor) {
+            long count = completed.get();
+            return new PoolMetrics(name, executor.getQueue().size(), peakQueue.get(), executor.getActiveCount(),
+                    executor.getPoolSize(), count, count > 0 ? totalLatency.get() / count : 0, maxLatency.get());
+        }
+    }
+
+    /**
+     * A bounded pool that measures how long tasks wait in its queue.
+     */
+    private static final class MeteredPool extends ThreadPoolExecutor implements Metered {
+        private final String name;
+        private final Counters counters = new Counters();
+
+        private MeteredPool(String name, int threads) {
+            super(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(QUEUE_CAPACITY),
+                    daemonThreads(name), new Overflow());
+            this.name = name;
+            allowCoreThreadTimeOut(true);
+        }
+
+        @Override public void execute(Runnable command) {
+            super.execute(new Queued(command, false));
+            counters.queued(getQueue().size());
+        }
+
+        /**
+         * Runs a task unless the queue is full.
+         *
+         * @param command the task to run.
+         * @throws RejectedExecutionException if the queue is full or the pool has been shut down.
+         */
+        private void tryExecute(Runnable command) {
+            super.execute(new Queued(command, true));
+            counters.queued(getQueue().size());
+        }
+
+        @Override protected void beforeExecute(Thread thread, Runnable runnable) {
+            if (runnable instanceof Queued queued) {
+                counters.started(System.nanoTime() - queued.queuedAt);
+            }
+        }
+
+        @Override public PoolMetrics metrics() {
+            return counters.snapshot(name, this);
+        }
+
+        @Override public ExecutorService executor() {
+            return this;
+        }
+    }
+
+    /**
+     * A single-threaded scheduler that measures how late tasks start after their scheduled time.
+     */
+    private static final class MeteredScheduler extends ScheduledThreadPoolExecutor implements Metered {
+        private final String name;
+        private final Counters counters = new Counters();
+
+        private MeteredScheduler(String name) {
+            super(1, daemonThreads(name));
+            this.name = name;
+            setRemoveOnCancelPolicy(true);
+            setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        }
+
+        @Override protected <V> RunnableScheduledFuture<V> decorateTask(Runnable runnable, RunnableScheduledFuture<V> task) {
+            counters.queued(getQueue().size() + 1);
+            return task;
+        }
+
+        @Override protected void beforeExecute(Thread thread, Runnable runnable) {
+            if (runnable instanceof RunnableScheduledFuture<?> task) {
+                counters.started(Math.max(0, -task.getDelay(TimeUnit.NANOSECONDS)));
+            }
+        }
+
+        @Override public PoolMetrics metrics() {
+            return counters.snapshot(name, this);
+        }
+
+        @Override public ExecutorService executor() {
+            return this;
+        }
+    }
+
+    /**
+     * Runs a task that does not fit into a full queue on the submitting thread, unless it was submitted with
+     * {@link MeteredPool#tryExecute(Runnable)}; such a task is rejected instead.
+     */
+    private static final class Overflow extends ThreadPoolExecutor.CallerRunsPolicy {
+        @Override public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
+            if (runnable instanceof Queued queued && queued.rejectable) {
+                throw new RejectedExecutionException(executor.isShutdown() ? "The pool has been shut down" : "The queue is full");
+            }
+            super.rejectedExecution(runnable, executor);
+        }
+    }
+
+    /**
+     * A task that remembers when it was submitted.
+     */
+    private static final class Queued implements Runnable {
+        private final Runnable task;
+        private final boolean rejectable;
+        private final long queuedAt = System.nanoTime();
+
+        private Queued(Runnable task, boolean rejectable) {
+            this.task = task;
+            this.rejectable = rejectable;
+        }
+
+        @Override public void run() {
+            task.run();
+        }
+    }
+
+    /**
+     * The metrics of one pool at a point in time.
+     */
+    public static final class PoolMetrics {
+        private final String name;
+        private final int queueDepth, peakQueueDepth, activeThreads, poolSize;
+        private final long started, averageLatency, maxLatency;
+
+        private PoolMetrics(String name, int queueDepth, int peakQueueDepth, int activeThreads, int poolSize,
+                            long started, long averageLatency, long maxLatency) {
+            this.name = name;
+            this.queueDepth = queueDepth;
+            this.peakQueueDepth = peakQueueDepth;
+            this.activeThreads = activeThreads;
+            this.poolSize = poolSize;
+            this.started = started;
+            this.averageLatency = averageLatency;
+            this.maxLatency = maxLatency;
+        }
+
+        /**
+         * @return the name of the pool.
+         */
+        public String getName() { return name; }
+
+        /**
+         * @return the number of tasks waiting in the queue.
+         */
+        public int getQueueDepth() { return queueDepth; }
+
+        /**
+         * @return the highest number of tasks that waited in the queue at once.
+         */
+        public int getPeakQueueDepth() { return peakQueueDepth; }
+
+        /**
+         * @return the number of threads running a task.
+         */
+        public int getActiveThreads() { return activeThreads; }
+
+        /**
+         * @return the number of threads in the pool.
+         */
+        public int getPoolSize() { return poolSize; }
+
+        /**
+         * @return the number of tasks started so far.
+         */
+        public long getStarted() { return started; }
+
+        /**
+         * @return the average time in nanoseconds between submitting (or the scheduled time of) a task and its start.
+         */
+        public long getAverageLatency() { return averageLatency; }
+
+        /**
+         * @return the longest time in nanoseconds a task waited before it started.
+         */
+        public long getMaxLatency() { return maxLatency; }
+
+        @Override public String toString() {
+            return String.format(Locale.ROOT, "%s: %d started, queue %d (peak %d), threads %d/%d, latency avg %.2f ms, max %.2f ms",
+                    name, started, queueDepth, peakQueueDepth, activeThreads, poolSize, averageLatency / 1e6, maxLatency / 1e6);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package nm.sc.systemscope.modules;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * A persisted cache of the static hardware inventory, so the main window shows the CPU, baseboard, GPUs, RAM and
+ * disks instantly instead of waiting for OSHI to probe them again, which may go through slow paths such as
+ * {@code dmidecode} or {@code lshw}.
+ * <p>
+ * The cache is stored in {@link DataStorage#getInventoryCachePath()} together with a cheap fingerprint of the
+ * machine: the DMI product UUID (or the machine id where the UUID is not readable) and the boot id of the kernel.
+ * A cache written on another machine is ignored. Cached parts are shown right away and then revalidated in the
+ * background; only a part whose value changed is shown again and written back. While the boot id is unchanged
+ * the hardware cannot have been swapped, so revalidation is postponed by {@value #REVALIDATE_DELAY} ms to keep
+ * it away from the startup.
+ * </p>
+ */
+public class ScopeInventory {
+    private static final long REVALIDATE_DELAY = 30_000;
+    private static final List<String> MACHINE_ID_FILES =
+            List.of("/sys/class/dmi/id/product_uuid", "/etc/machine-id", "/var/lib/dbus/machine-id");
+    private static final String BOOT_ID_FILE = "/proc/sys/kernel/random/boot_id";
+
+    private static final Map<Part, String> parts = new EnumMap<>(Part.class);
+    private static final String machineId = readMachineId(), bootId = readFirstLine(BOOT_ID_FILE);
+    private static String storedBootId = "";
+    private static boolean loaded;
+
+    /**
+     * The parts of the inventory that are cached.
+     */
+    public enum Part {
+        COMPUTER_NAME("computer_name"),
+        BASEBOARD("baseboard"),
+        CPU("cpu"),
+        GPUS("gpus"),
+        RAM("ram"),
+        RAM_MODULES("ram_modules"),
+        DISKS("disks");
+
+        private final String key;
+
+        Part(String key) {
+            this.key = key;
+        }
+
+        /**
+         * Returns the key under which the part is stored.
+         *
+         * @return the key.
+         */
+        public String getKey() {
+            return key;
+        }
+    }
+
+    /**
+     * Private constructor of the class
+     */
+    private ScopeInventory() {
+        throw new UnsupportedOperationException("ScopeInventory is a static utility class and cannot be instantiated.");
+    }
+
+    /**
+     * Shows a part of the inventory. A cached value is passed to the panel right away and revalidated in the
+     * background; without one the part is loaded with {@link ScopeStartup#load}. Must be called on the JavaFX thread.
+     *
+     * @param part the part.
+     * @param probe the task that enumerates the part.
+     * @param panel the consumer that shows the value, called on the JavaFX thread.
+     */
+    public static void load(Part part, Callable<String> probe, Consumer<String> panel) {
+        String cached;
+        boolean sameBoot;
+        synchronized (ScopeInventory.class) {
+            loadCache();
+            cached = parts.get(part);
+            sameBoot = !bootId.isEmpty() && bootId.equals(storedBootId);
+        }
+
+        if (cached == null) {
+            revalidate(part, probe, panel, null);
+            return;
+        }
+
+        panel.accept(cached);
+        if (sameBoot) {
+            ScopeExecutors.getScheduler().schedule(() -> revalidate(part, probe, panel, cached),
+                    REVALIDATE_DELAY, TimeUnit.MILLISECONDS);
+        } else {
+            revalidate(part, probe, panel, cached);
+        }
+    }
+
+    /**
+     * Returns the current value of a part.
+     *
+     * @param part the part.
+     * @return the cached or revalidated value, or {@code null} if the part is not known yet.
+     */
+    public static synchronized String get(Part part) {
+        loadCache();
+        return parts.get(part);
+    }
+
+    /**
+     * Enumerates a part in the background and shows it again only if it differs from the cached value.
+     *
+     * @param part the part.
+     * @param probe the task that enumerates the part.
+     * @param panel the consumer that shows the value.
+     * @param cached the value already shown, or {@code null}.
+     */
+    private static void revalidate(Part part, Callable<String> probe, Consumer<String> panel, String cached) {
+        ScopeStartup.load(part.getKey(), probe, value -> {
+            if (!value.equals(cached)) {
+                panel.accept(value);
+            }
+        }).thenAccept(value -> update(part, value));
+    }
+
+    /**
+     * Stores a revalidated part. The cache is written only if the part changed or the cache is from an earlier boot.
+     *
+     * @param part the part.
+     * @param value the enumerated value.
+     */
+    private static synchronized void update(Part part, String value) {
+        String previous = parts.put(part, value);
+        if (value.equals(previous) && bootId.equals(storedBootId)) {
+            return;
+        }
+        if (previous != null && !value.equals(previous)) {
+            ScopeLogger.logInfo("Inventory part {} changed", part.getKey());
+        }
+        save();
+    }
+
+    /**
+     * Reads the persisted cache on first use, ignoring it if it was written on another machine.
+     */
+    private static void loadCache() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+
+        Path path = DataStorage.getInventoryCachePath();
+        if (!Files.exists(path)) {
+            return;
+        }
+        try {
+            JsonObject root = JsonParser.parseString(Files.readString(path, StandardCharsets.UTF_8)).getAsJsonObject();
+            if (!machineId.equals(root.get("machine").getAsString())) {
+                ScopeLogger.logInfo("Inventory cache belongs to another machine, ignoring it");
+                return;
+            }
+
+            storedBootId = root.get("boot").getAsString();
+            JsonObject stored = root.getAsJsonObject("parts");
+            for (Part part : Part.values()) {
+                if (stored.has(part.getKey())) {
+                    parts.put(part, stored.get(part.getKey()).getAsString());
+                }
+            }
+        } catch (Exception e) {
+            ScopeLogger.logError("Error while loading inventory cache, starting empty: ", e);
+            parts.clear();
+        }
+    }
+
+    /**
+     * Writes all known parts with the current fingerprint to a temporary file and renames it over the cache.
+     */
+    private static void save() {
+        JsonObject stored = new JsonObject();
+        for (Map.Entry<Part, String> entry : parts.entrySet()) {
+            stored.addProperty(entry.getKey().getKey(), entry.getValue());
+        }
+        JsonObject root = new JsonObject();
+        root.addProperty("machine", machineId);
+        root.addProperty("boot", bootId);
+        root.add("parts", stored);
+
+        Path target = DataStorage.getInventoryCachePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            Files.writeString(temp, root.toString(), StandardCharsets.UTF_8);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            storedBootId = bootId;
+        } catch (IOException e) {
+            ScopeLogger.logError("Error while saving inventory cache: ", e);
+        }
+    }
+
+    /**
+     * Reads an identifier of the machine without probing the hardware. Where no identifier file is readable,
+     * e.g. on Windows, the host name, operating system and architecture are used instead.
+     *
+     * @return the machine identifier.
+     */
+    private static String readMachineId() {
+        for (String file : MACHINE_ID_FILES) {
+            String id = readFirstLine(file);
+            if (!id.isEmpty()) {
+                return id;
+            }
+        }
+        return System.getenv().getOrDefault("COMPUTERNAME", "") + '/' + System.getProperty("os.name")
+                + '/' + System.getProperty("os.arch");
+    }
+
+    /**
+     * Reads the first line of a small system file.
+     *
+     * @param file the path of the file.
+     * @return the trimmed first line, or an empty string if the file does not exist or is not readable.
+     */
+    private static String readFirstLine(String file) {
+        try {
+            List<String> lines = Files.readAllLines(Path.of(file), StandardCharsets.UTF_8);
+            return lines.isEmpty() ? "" : lines.get(0).trim();
+        } catch (IOException | SecurityException e) {
+            return "";
+        }
+    }
+}
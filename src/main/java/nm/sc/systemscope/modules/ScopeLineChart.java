@@ -71,6 +71,26 @@ public class ScopeLineChart extends LineChart<String, Number> {
         setTips();
     }
 
+    /**
+     * Sets the value of a category. If the last data point belongs to the same category, its value is replaced,
+     * so readings taken more often than the categories change do not add extra points.
+     *
+     * @param category The category on the X-axis.
+     * @param value The value of the category.
+     * @return {@code true} if a new data point was added, {@code false} if the last one was updated.
+     */
+    public boolean put(String category, Number value) {
+        ObservableList<XYChart.Data<String, Number>> data = series.getData();
+        if (!data.isEmpty() && category.equals(data.get(data.size() - 1).getXValue())) {
+            data.get(data.size() - 1).setYValue(value);
+            setTips();
+            return false;
+        }
+
+        add(new XYChart.Data<>(category, value));
+        return true;
+    }
+
     /**
      * Adds multiple data points to the series at once.
      *
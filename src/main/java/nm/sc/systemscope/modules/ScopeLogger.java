@@ -57,4 +57,14 @@ public class ScopeLogger {
     public static void logWarn(String message) {
         logger.warn(message);
     }
+
+    /**
+     * Logs a warning message with optional arguments for formatting.
+     *
+     * @param message the warning message to log.
+     * @param args optional arguments to format the message.
+     */
+    public static void logWarn(String message, Object... args) {
+        logger.warn(message, args);
+    }
 }
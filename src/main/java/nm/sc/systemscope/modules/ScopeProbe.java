@@ -0,0 +1,126 @@
+package nm.sc.systemscope.modules;
+
+import nm.sc.systemscope.ScopeHardware.ScopeCentralProcessor;
+
+import java.util.function.Supplier;
+
+/**
+ * Enum representing the readings that the {@link ScopeSampler} takes periodically.
+ * <p>
+ * Every probe has its own sampling period in milliseconds, configured with the {@code sample_<key>_ms} property,
+ * so cheap readings such as the CPU load can be taken often while expensive ones such as the fan speeds are
+ * taken rarely. Probes that share a key also share their period.
+ * </p>
+ * <p>
+ * Every probe also defines, in its own unit, how much its readings may scatter while they still count as steady and
+ * how far a reading must move to count as a change. The {@link ScopeSampler} uses both for adaptive sampling, so a
+ * few percent of CPU load or a few dozen RPM of a fan are treated as noise just like a degree of temperature.
+ * </p>
+ */
+public enum ScopeProbe {
+    /**
+     * CPU temperature in °C.
+     */
+    CPU_TEMPERATURE("cpu_temp", 1000, 1.0, 3.0, ScopeCentralProcessor::getTemperatureCPU),
+
+    /**
+     * CPU usage in percent since the previous reading.
+     */
+    CPU_USAGE("cpu_usage", 250, 4.0, 10.0, ScopeCentralProcessor::getCPUUsageSinceLastProbe),
+
+    /**
+     * Temperature of the discrete GPU in °C.
+     */
+    GPU_TEMPERATURE("gpu_temp", 1000, 1.0, 3.0, SystemInformation::getTemperatureDiscreteGPU),
+
+    /**
+     * Temperatures of all GPUs in °C.
+     */
+    GPU_TEMPERATURES("gpu_temp", 1000, 1.0, 3.0, SystemInformation::getTemperatureGPU),
+
+    /**
+     * Usage of the discrete GPU in percent.
+     */
+    GPU_USAGE("gpu_usage", 1000, 4.0, 10.0, SystemInformation::getGPUUsage),
+
+    /**
+     * Fan speeds in RPM.
+     */
+    FANS("fans", 5000, 2500.0, 200.0, SystemInformation::getFansRPM);
+
+    private final String key;
+    private final int defaultPeriod;
+    private final double varianceThreshold, changeThreshold;
+    private final Supplier<String> reader;
+
+    ScopeProbe(String key, int defaultPeriod, double varianceThreshold, double changeThreshold, Supplier<String> reader) {
+        this.key = key;
+        this.defaultPeriod = defaultPeriod;
+        this.varianceThreshold = varianceThreshold;
+        this.changeThreshold = changeThreshold;
+        this.reader = reader;
+    }
+
+    /**
+     * Returns the key of the probe in the configuration.
+     *
+     * @return the key, e.g. {@code "cpu_temp"}.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the configured sampling period of the probe.
+     *
+     * @return the period in milliseconds.
+     */
+    public int getPeriod() {
+        return ScopeConfigManager.getSamplePeriod(key, defaultPeriod);
+    }
+
+    /**
+     * Returns the sampling period used when none is configured.
+     *
+     * @return the period in milliseconds.
+     */
+    int getDefaultPeriod() {
+        return defaultPeriod;
+    }
+
+    /**
+     * Returns the variance below which recent readings count as steady.
+     *
+     * @return the variance in the squared unit of the probe.
+     */
+    double getVarianceThreshold() {
+        return varianceThreshold;
+    }
+
+    /**
+     * Returns how far a reading must differ from the recent mean to count as a change.
+     *
+     * @return the difference in the unit of the probe.
+     */
+    double getChangeThreshold() {
+        return changeThreshold;
+    }
+
+    /**
+     * Returns the setting that holds the sampling period of the probe.
+     *
+     * @return the setting.
+     */
+    public ScopeSetting<Integer> getPeriodSetting() {
+        return new ScopeSetting<>(ScopeConfigManager.samplePeriodKey(key), this::getPeriod);
+    }
+
+    /**
+     * Takes a reading. May block while the hardware is queried.
+     *
+     * @return the reading as it is displayed.
+     */
+    String read() {
+        return reader.get();
+    }
+}
@@ -0,0 +1,159 @@
+package nm.sc.systemscope.modules;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Generates AI reports for finished benchmark logs in the background.
+ * <p>
+ * Submitting a log only writes a small marker file and queues a job, so the benchmark finishes without waiting for the
+ * AI service. Jobs run one at a time on a serial scheduler of {@link ScopeExecutors}: the telemetry digest is computed
+ * from the log, sent to the AI, and the answer is saved as a sidecar report next to the log. A failed job is retried
+ * with growing delays. A job that is still pending when the application exits is resumed on the next start.
+ * When a report is ready, a tray notification is shown and the registered listeners are called.
+ * </p>
+ */
+public class ScopeReportQueue {
+    private static final long[] RETRY_DELAYS = {30, 120, 600};
+    private static final int SAMPLE_INTERVAL = 1;
+
+    private static final List<Consumer<Path>> listeners = new CopyOnWriteArrayList<>();
+    private static final ScheduledExecutorService executor = ScopeExecutors.newSerialScheduler("scope-ai-reports");
+
+    /**
+     * Private constructor of the class
+     */
+    private ScopeReportQueue() {
+        throw new UnsupportedOperationException("ScopeReportQueue is a static utility class and cannot be instantiated.");
+    }
+
+    /**
+     * Queues the generation of an AI report for a finished benchmark log.
+     *
+     * @param logFile the benchmark log.
+     * @param gameName the name of the benchmarked application.
+     * @param duration the duration of the benchmark in seconds.
+     */
+    public static void submit(Path logFile, String gameName, double duration) {
+        String logName = logFile.getFileName().toString();
+        try {
+            Files.writeString(DataStorage.getPendingReportPath(logName), gameName + "\n" + duration + "\n", StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            ScopeLogger.logError("Error while writing pending report marker for {}", logName, e);
+        }
+
+        executor.execute(() -> run(logFile, gameName, duration, 0));
+        ScopeLogger.logInfo("AI report for {} queued", logName);
+    }
+
+    /**
+     * Queues all reports whose marker files were left by a previous session.
+     */
+    public static void resumePending() {
+        try (DirectoryStream<Path> markers = Files.newDirectoryStream(DataStorage.getReportsFolder(), "*.pending")) {
+            for (Path marker : markers) {
+                List<String> lines = Files.readAllLines(marker, StandardCharsets.UTF_8);
+                Path logFile = DataStorage.getLogPath(marker.getFileName().toString());
+
+                if (!Files.exists(logFile)) {
+                    Files.deleteIfExists(marker);
+                    continue;
+                }
+
+                String gameName = !lines.isEmpty() ? lines.get(0) : "";
+                double duration = lines.size() > 1 ? parseDuration(lines.get(1)) : 0;
+                executor.execute(() -> run(logFile, gameName, duration, 0));
+                ScopeLogger.logInfo("Pending AI report for {} resumed", logFile.getFileName());
+            }
+        } catch (IOException e) {
+            ScopeLogger.logError("Error while resuming pending AI reports: ", e);
+        }
+    }
+
+    /**
+     * Registers a listener that is called with the path of every report that has been written.
+     * Listeners are called on the report thread.
+     *
+     * @param listener the listener to add.
+     */
+    public static void addListener(Consumer<Path> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a previously registered listener.
+     *
+     * @param listener the listener to remove.
+     */
+    public static void removeListener(Consumer<Path> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Generates the report for a log, retrying later if the AI service fails.
+     */
+    private static void run(Path logFile, String gameName, double duration, int attempt) {
+        String logName = logFile.getFileName().toString();
+        String report;
+        try {
+            TelemetryDigest digest = TelemetryDigest.fromLogFile(logFile, SAMPLE_INTERVAL);
+            String prompt = "Analyze Data on ukrainian and english:\n" +
+                    "Duration: " + duration + " s\n" +
+                    digest +
+                    "Game name: " + gameName;
+            report = ScopeAIHelper.requestStandalone(prompt).join();
+        } catch (Exception e) {
+            ScopeLogger.logError("Error while generating AI report for {}", logName, e);
+            report = null;
+        }
+
+        if (report == null || report.startsWith("❌")) {
+            if (attempt < RETRY_DELAYS.length) {
+                ScopeLogger.logWarn("AI report for {} failed, retrying in {} s", logName, RETRY_DELAYS[attempt]);
+                executor.schedule(() -> run(logFile, gameName, duration, attempt + 1), RETRY_DELAYS[attempt], TimeUnit.SECONDS);
+            } else {
+                ScopeLogger.logError("AI report for {} failed after {} attempts, it will be retried on the next start", logName, attempt + 1);
+                SystemTrayManager.showNotification("SystemScope", "Не вдалося створити AI-звіт для " + logName);
+            }
+            return;
+        }
+
+        Path reportFile = DataStorage.getReportPath(logName);
+        try {
+            Files.writeString(reportFile, "-----------------ScopeHelper report---------------\n" +
+                    "Log: " + logName + "\n" +
+                    "Generated: " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")) + "\n\n" +
+                    report + "\n" +
+                    "--------------------------------------------------\n", StandardCharsets.UTF_8);
+            Files.deleteIfExists(DataStorage.getPendingReportPath(logName));
+        } catch (IOException e) {
+            ScopeLogger.logError("Error while writing AI report: {}", reportFile, e);
+            return;
+        }
+
+        ScopeLogger.logInfo("AI report written: {}", reportFile);
+        ScopeSearchIndex.indexLog(logFile);
+        SystemTrayManager.showNotification("SystemScope", "AI-звіт для " + logName + " готовий");
+        for (Consumer<Path> listener : listeners) {
+            listener.accept(reportFile);
+        }
+    }
+
+    private static double parseDuration(String value) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,456 @@
+package nm.sc.systemscope.modules;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Takes the readings of all {@link ScopeProbe}s that are in use on the shared scheduler of {@link ScopeExecutors}.
+ * <p>
+ * Each probe is read at its own configured period while at least one listener is subscribed to it. Deadlines are
+ * aligned to multiples of the period, so probes whose deadlines coincide — all probes with a period of one second, or
+ * every fourth reading of a 250 ms probe — are read together in one batch and the scheduler wakes up once for them.
+ * Every probe of a batch is then read in its own task on the I/O pool, so a slow probe neither blocks the scheduler nor
+ * delays the other probes of its batch. A probe is never read twice at the same time: while a reading is in flight,
+ * further ticks of that probe are skipped, and readings that take longer than the interval are counted as overruns. The
+ * time of every reading is recorded in a {@link DurationHistogram} per probe. A reading is passed to the listeners of
+ * its probe on the thread that took it, so listeners must hand UI work over to their toolkit's thread. Periods changed
+ * in the configuration apply from the next batch.
+ * </p>
+ * <p>
+ * Sampling is adaptive. While the last {@value #VARIANCE_WINDOW} readings of a probe have a variance below the
+ * {@linkplain ScopeProbe#getVarianceThreshold() threshold of the probe}, its interval is doubled after every reading,
+ * up to {@value #MAX_STRETCH} periods. While no window of the application is visible, every interval is additionally
+ * multiplied by {@value #HIDDEN_STRETCH}. A reading that differs from the recent mean by more than the
+ * {@linkplain ScopeProbe#getChangeThreshold() change threshold of the probe}, a window being shown and
+ * {@link #setFullRate(boolean)} return the probes to their configured period. The readings skipped this way are
+ * counted by {@link #getSavedCount()}.
+ * </p>
+ */
+public class ScopeSampler {
+    private static final long BATCH_TOLERANCE = 20;
+    private static final int VARIANCE_WINDOW = 5, MAX_STRETCH = 8, HIDDEN_STRETCH = 4;
+
+    private static final Map<ScopeProbe, State> states = new EnumMap<>(ScopeProbe.class);
+    private static ScheduledFuture<?> nextBatch;
+    private static long batches, readings, saved;
+    private static boolean visible = true, fullRate;
+
+    static {
+        List<ScopeSetting<?>> periods = new ArrayList<>();
+        for (ScopeProbe probe : ScopeProbe.values()) {
+            states.put(probe, new State(getEffectivePeriod(probe)));
+            periods.add(probe.getPeriodSetting());
+        }
+        ScopeConfigManager.addListener(ScopeSampler::updatePeriods, periods.toArray(new ScopeSetting<?>[0]));
+    }
+
+    /**
+     * Private constructor of the class
+     */
+    private ScopeSampler() {
+        throw new UnsupportedOperationException("ScopeSampler is a static utility class and cannot be instantiated.");
+    }
+
+    /**
+     * Subscribes a listener to the readings of a probe. The probe is read right away if it was not in use.
+     *
+     * @param probe the probe.
+     * @param listener the listener receiving each reading, called on a thread of the I/O pool.
+     */
+    public static synchronized void subscribe(ScopeProbe probe, Consumer<String> listener) {
+        State state = states.get(probe);
+        if (state.listeners.isEmpty()) {
+            state.reset();
+            state.deadline = System.currentTimeMillis();
+        }
+        state.listeners.add(listener);
+        reschedule();
+    }
+
+    /**
+     * Removes a listener from a probe. A probe without listeners is no longer read.
+     *
+     * @param probe the probe.
+     * @param listener the listener to remove.
+     */
+    public static synchronized void unsubscribe(ScopeProbe probe, Consumer<String> listener) {
+        states.get(probe).listeners.remove(listener);
+        reschedule();
+    }
+
+    /**
+     * Returns the most recent reading of a probe.
+     *
+     * @param probe the probe.
+     * @return the reading, or {@code null} if the probe has not been read yet.
+     */
+    public static String getLatest(ScopeProbe probe) {
+        return states.get(probe).latest;
+    }
+
+    /**
+     * Sets whether a window of the application is visible. While no window is visible all intervals are
+     * lengthened; showing a window returns the probes to their configured period.
+     *
+     * @param isVisible {@code true} if at least one window is visible.
+     */
+    public static synchronized void setWindowVisible(boolean isVisible) {
+        if (visible == isVisible) {
+            return;
+        }
+        visible = isVisible;
+        ScopeLogger.logInfo("Window visible: {}, sampling {}", isVisible, isVisible ? "at full rate" : "slowed down");
+        if (isVisible) {
+            snapBack();
+        }
+    }
+
+    /**
+     * Holds all probes at their configured period, e.g. while a benchmark is running.
+     *
+     * @param isFullRate {@code true} to suspend adaptive sampling, {@code false} to resume it.
+     */
+    public static synchronized void setFullRate(boolean isFullRate) {
+        fullRate = isFullRate;
+        if (isFullRate) {
+            snapBack();
+        }
+    }
+
+    /**
+     * Returns the number of batches run so far. Together with {@link #getReadingCount()} it shows how well
+     * readings are grouped.
+     *
+     * @return the number of batches.
+     */
+    public static synchronized long getBatchCount() {
+        return batches;
+    }
+
+    /**
+     * Returns the number of readings taken so far.
+     *
+     * @return the number of readings.
+     */
+    public static synchronized long getReadingCount() {
+        return readings;
+    }
+
+    /**
+     * Returns the number of readings that adaptive sampling has skipped so far, compared with reading
+     * every probe in use at its configured period.
+     *
+     * @return the number of skipped readings.
+     */
+    public static synchronized long getSavedCount() {
+        return saved;
+    }
+
+    /**
+     * Returns the histogram of the time it took to read a probe.
+     *
+     * @param probe the probe.
+     * @return the live histogram of the probe.
+     */
+    public static DurationHistogram getDurations(ScopeProbe probe) {
+        return states.get(probe).durations;
+    }
+
+    /**
+     * Returns how often reading a probe took longer than its interval.
+     *
+     * @param probe the probe.
+     * @return the number of overruns.
+     */
+    public static synchronized long getOverrunCount(ScopeProbe probe) {
+        return states.get(probe).overruns;
+    }
+
+    /**
+     * Returns how many ticks of a probe were skipped because its previous reading was still in flight or the I/O
+     * pool was saturated.
+     *
+     * @param probe the probe.
+     * @return the number of skipped ticks.
+     */
+    public static synchronized long getSkippedCount(ScopeProbe probe) {
+        return states.get(probe).skipped;
+    }
+
+    /**
+     * Logs the reading durations, overruns and skipped ticks of every probe that has been read.
+     */
+    public static synchronized void logStatistics() {
+        ScopeLogger.logInfo("Sampler: {} batches, {} readings, {} saved by adaptive sampling", batches, readings, saved);
+        for (Map.Entry<ScopeProbe, State> entry : states.entrySet()) {
+            State state = entry.getValue();
+            if (state.durations.getCount() > 0) {
+                ScopeLogger.logInfo("Probe {}: {}, {} overruns, {} skipped ticks", entry.getKey(), state.durations,
+                        state.overruns, state.skipped);
+            }
+        }
+    }
+
+    /**
+     * Applies changed sampling periods, e.g. after the configuration changed or a {@link SensorSimulator} was
+     * started or stopped. Deadlines are realigned to the new periods.
+     */
+    static synchronized void updatePeriods() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<ScopeProbe, State> entry : states.entrySet()) {
+            State state = entry.getValue();
+            long period = getEffectivePeriod(entry.getKey());
+            if (period != state.period) {
+                state.period = period;
+                state.reset();
+                state.deadline = align(now, period);
+                ScopeLogger.logInfo("Sampling period of {} set to {} ms", entry.getKey(), period);
+            }
+        }
+        reschedule();
+    }
+
+    /**
+     * Returns the period at which a probe is read. While the {@link SensorSimulator} is active, the configured
+     * period is divided by the simulation speed, so every simulated period is read once; the period never drops
+     * below one millisecond, so readings are skipped beyond a speed equal to the configured period in milliseconds.
+     *
+     * @param probe the probe.
+     * @return the period in milliseconds.
+     */
+    private static long getEffectivePeriod(ScopeProbe probe) {
+        long period = Math.max(1, probe.getPeriod());
+        return SensorSimulator.isActive() ? Math.max(1, Math.round(period / SensorSimulator.getSpeed())) : period;
+    }
+
+    /**
+     * Returns every probe to its configured period and moves lengthened deadlines forward.
+     */
+    private static void snapBack() {
+        long now = System.currentTimeMillis();
+        for (State state : states.values()) {
+            state.reset();
+            state.deadline = Math.min(state.deadline, align(now, state.period));
+        }
+        reschedule();
+    }
+
+    /**
+     * Schedules the next batch at the earliest deadline of the probes in use. Nothing is scheduled once the
+     * scheduler has been shut down, e.g. when a reading finishes while the application exits.
+     */
+    private static void reschedule() {
+        if (nextBatch != null) {
+            nextBatch.cancel(false);
+            nextBatch = null;
+        }
+        if (ScopeExecutors.getScheduler().isShutdown()) {
+            return;
+        }
+
+        long earliest = Long.MAX_VALUE;
+        for (State state : states.values()) {
+            if (!state.listeners.isEmpty()) {
+                earliest = Math.min(earliest, state.deadline);
+            }
+        }
+        if (earliest != Long.MAX_VALUE) {
+            long delay = Math.max(0, earliest - System.currentTimeMillis());
+            nextBatch = ScopeExecutors.getScheduler().schedule(ScopeSampler::runBatch, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Collects every probe in use whose deadline has come and hands each of them over to the I/O pool as a task
+     * of its own. A probe whose previous reading is still in flight is not read again; its tick is skipped and the
+     * probe waits for its next deadline. The tasks are submitted outside the lock and are never run on the scheduler
+     * thread: if the queue of the I/O pool is full, the reading is dropped and its tick is counted as skipped.
+     */
+    private static void runBatch() {
+        List<ScopeProbe> due = new ArrayList<>();
+        synchronized (ScopeSampler.class) {
+            long now = System.currentTimeMillis();
+            for (Map.Entry<ScopeProbe, State> entry : states.entrySet()) {
+                State state = entry.getValue();
+                if (state.listeners.isEmpty() || state.deadline > now + BATCH_TOLERANCE) {
+                    continue;
+                }
+
+                state.deadline = align(now, state.period);
+                if (state.inFlight) {
+                    state.skipped++;
+                    continue;
+                }
+                state.inFlight = true;
+                due.add(entry.getKey());
+                saved += state.multiplier - 1;
+            }
+
+            if (!due.isEmpty()) {
+                batches++;
+                readings += due.size();
+            }
+            reschedule();
+        }
+
+        for (ScopeProbe probe : due) {
+            try {
+                ScopeExecutors.tryExecuteIO(() -> read(probe));
+            } catch (RejectedExecutionException e) {
+                synchronized (ScopeSampler.class) {
+                    State state = states.get(probe);
+                    state.inFlight = false;
+                    readings--;
+                    if (state.skipped++ == 0) {
+                        ScopeLogger.logWarn("Skipping a reading of {}: the I/O pool is saturated", probe);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a probe and passes the reading to its listeners.
+     *
+     * @param probe the probe to read.
+     */
+    private static void read(ScopeProbe probe) {
+        State state = states.get(probe);
+        long start = System.nanoTime();
+        String value;
+        try {
+            value = probe.read();
+        } catch (RuntimeException e) {
+            ScopeLogger.logError("Error while reading {}: ", probe, e);
+            value = null;
+        }
+        long duration = System.nanoTime() - start;
+        state.durations.record(duration);
+
+        synchronized (ScopeSampler.class) {
+            state.inFlight = false;
+            if (duration / 1_000_000 > state.period * state.multiplier) {
+                if (state.overruns++ == 0) {
+                    ScopeLogger.logWarn("Reading {} took {} ms, longer than its period of {} ms; ticks are skipped while it runs",
+                            probe, duration / 1_000_000, state.period * state.multiplier);
+                }
+            }
+            if (value != null) {
+                adapt(probe, state, value);
+            }
+            reschedule();
+        }
+        if (value == null) {
+            return;
+        }
+
+        state.latest = value;
+        for (Consumer<String> listener : state.listeners) {
+            try {
+                listener.accept(value);
+            } catch (RuntimeException e) {
+                ScopeLogger.logError("Error in {} listener: ", probe, e);
+            }
+        }
+    }
+
+    /**
+     * Updates the interval of a probe after a reading. Readings that are not numeric count as steady
+     * while they repeat.
+     *
+     * @param probe the probe.
+     * @param state the state of the probe.
+     * @param value the new reading.
+     */
+    private static void adapt(ScopeProbe probe, State state, String value) {
+        double number = ThermalSteadyState.parseTemperature(value);
+        boolean steady;
+        if (Double.isNaN(number)) {
+            steady = value.equals(state.latest);
+        } else {
+            if (state.count > 0 && Math.abs(number - state.mean()) > probe.getChangeThreshold()) {
+                state.reset();
+            }
+            state.add(number);
+            steady = state.count == VARIANCE_WINDOW && state.variance() < probe.getVarianceThreshold();
+        }
+
+        if (!steady) {
+            state.stretch = 1;
+        } else if (state.stretch < MAX_STRETCH) {
+            state.stretch *= 2;
+        }
+
+        state.multiplier = fullRate ? 1 : state.stretch * (visible ? 1 : HIDDEN_STRETCH);
+        if (state.multiplier > 1) {
+            state.deadline = align(System.currentTimeMillis(), state.period * state.multiplier);
+        }
+    }
+
+    /**
+     * Returns the first multiple of the period after a point in time.
+     *
+     * @param now the point in time in milliseconds.
+     * @param period the period in milliseconds.
+     * @return the next aligned deadline.
+     */
+    private static long align(long now, long period) {
+        return (now / period + 1) * period;
+    }
+
+    /**
+     * The sampling state of one probe.
+     */
+    private static final class State {
+        private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+        private final double[] recent = new double[VARIANCE_WINDOW];
+        private final DurationHistogram durations = new DurationHistogram();
+        private long period, deadline, overruns, skipped;
+        private int stretch = 1, multiplier = 1, count, next;
+        private boolean inFlight;
+        private volatile String latest;
+
+        private State(long period) {
+            this.period = Math.max(1, period);
+        }
+
+        /**
+         * Returns the probe to its configured period and forgets the recent readings.
+         */
+        private void reset() {
+            stretch = 1;
+            multiplier = fullRate || visible ? 1 : HIDDEN_STRETCH;
+            count = 0;
+            next = 0;
+        }
+
+        private void add(double value) {
+            recent[next] = value;
+            next = (next + 1) % VARIANCE_WINDOW;
+            count = Math.min(VARIANCE_WINDOW, count + 1);
+        }
+
+        private double mean() {
+            double sum = 0;
+            for (int i = 0; i < count; i++) {
+                sum += recent[i];
+            }
+            return sum / count;
+        }
+
+        private double variance() {
+            double mean = mean(), sum = 0;
+            for (int i = 0; i < count; i++) {
+                sum += (recent[i] - mean) * (recent[i] - mean);
+            }
+            return sum / count;
+        }
+    }
+}
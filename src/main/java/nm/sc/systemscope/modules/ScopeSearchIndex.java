@@ -0,0 +1,641 @@
+package nm.sc.systemscope.modules;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An embedded full-text index over the message text of AI chats and the content of benchmark logs.
+ * <p>
+ * Every chat and every log (together with its AI report) is one document. Terms are lowercased runs of letters
+ * and digits; the index maps each term to the documents that contain it and how often, and keeps the terms
+ * sorted so a query word also matches every term it is a prefix of. Results are ranked with BM25, an exact
+ * term match weighs more than a prefix match, and a document has to match every word of the query.
+ * </p>
+ * <p>
+ * The index is updated incrementally: a chat message is indexed when it is appended, reading only the new part of the
+ * append-only chat log, and a log is re-indexed when it is written or its report arrives. All updates run one after
+ * another on a serial scheduler of {@link ScopeExecutors}. The index is persisted to
+ * {@link DataStorage#getSearchIndexPath()} a few seconds after a change and reconciled with the files on disk at
+ * start, so only new or changed documents are read again.
+ * </p>
+ */
+public class ScopeSearchIndex {
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int MAX_TERM_LENGTH = 40;
+    private static final int MAX_EXPANSIONS = 64;
+    private static final double PREFIX_WEIGHT = 0.7;
+    private static final double K1 = 1.2, B = 0.75;
+    private static final int SAVE_DELAY = 5;
+    private static final String CHAT_PREFIX = "chat:", LOG_PREFIX = "log:";
+
+    private static final Map<String, Document> documents = new HashMap<>();
+    private static final TreeMap<String, Map<Document, Integer>> postings = new TreeMap<>();
+    private static long totalLength;
+    private static boolean saveScheduled;
+
+    private static final ScheduledExecutorService executor = ScopeExecutors.newSerialScheduler("scope-search-index");
+
+    /**
+     * The kind of file a document was read from.
+     */
+    public enum Source {
+        CHAT, LOG
+    }
+
+    /**
+     * Private constructor of the class
+     */
+    private ScopeSearchIndex() {
+        throw new UnsupportedOperationException("ScopeSearchIndex is a static utility class and cannot be instantiated.");
+    }
+
+    /**
+     * Loads the persisted index and brings it up to date with the chat and log folders in the background.
+     */
+    public static void start() {
+        executor.execute(() -> {
+            long startTime = System.nanoTime();
+            load();
+            reconcile();
+            ScopeLogger.logInfo("Search index ready: {} documents, {} terms in {} ms",
+                    getDocumentCount(), getTermCount(), (System.nanoTime() - startTime) / 1_000_000);
+        });
+    }
+
+    /**
+     * Re-reads the chat and log folders in the background, indexing new or changed files and dropping deleted ones.
+     */
+    public static void refresh() {
+        executor.execute(ScopeSearchIndex::reconcile);
+    }
+
+    /**
+     * Indexes the messages that were appended to a chat since it was last indexed.
+     *
+     * @param chat the chat.
+     */
+    public static void indexChat(ScopeChat chat) {
+        String id = chat.getChatID();
+        String name = chat.getChatName();
+        Path log = ScopeChatStore.getLogPath(chat);
+        executor.execute(() -> indexChatLog(id, name, log));
+    }
+
+    /**
+     * Removes a chat from the index, e.g. after its history was cleared.
+     *
+     * @param chatId the ID of the chat.
+     */
+    public static void removeChat(String chatId) {
+        executor.execute(() -> remove(CHAT_PREFIX + chatId));
+    }
+
+    /**
+     * Updates the title under which a chat is found.
+     *
+     * @param chat the renamed chat.
+     */
+    public static void renameChat(ScopeChat chat) {
+        String key = CHAT_PREFIX + chat.getChatID();
+        String name = chat.getChatName();
+        executor.execute(() -> {
+            synchronized (ScopeSearchIndex.class) {
+                Document document = documents.get(key);
+                if (document != null) {
+                    document.title = name;
+                    scheduleSave();
+                }
+            }
+        });
+    }
+
+    /**
+     * Indexes a benchmark log together with its AI report, replacing the previous version if it was indexed before.
+     *
+     * @param logFile the path of the log.
+     */
+    public static void indexLog(Path logFile) {
+        executor.execute(() -> indexLogFile(logFile));
+    }
+
+    /**
+     * Removes a deleted benchmark log from the index.
+     *
+     * @param logFile the path of the log.
+     */
+    public static void removeLog(Path logFile) {
+        String key = LOG_PREFIX + logFile.getFileName();
+        executor.execute(() -> remove(key));
+    }
+
+    /**
+     * Finds the documents that match every word of a query, best match first.
+     * The last characters of a word may be omitted: {@code "therm"} also finds {@code "thermal"}.
+     *
+     * @param query the words to search for.
+     * @param source the kind of documents to search, or {@code null} to search all.
+     * @param limit the maximum number of results.
+     * @return the ranked results.
+     */
+    public static synchronized List<Hit> search(String query, Source source, int limit) {
+        List<String> words = tokenize(query == null ? "" : query);
+        if (words.isEmpty() || documents.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        double averageLength = Math.max(1, (double) totalLength / documents.size());
+        Map<Document, Double> scores = null;
+
+        for (String word : new HashSet<>(words)) {
+            Map<Document, Double> wordScores = new HashMap<>();
+            SortedMap<String, Map<Document, Integer>> matches = postings.subMap(word, word + Character.MAX_VALUE);
+
+            int expansions = 0;
+            for (Map.Entry<String, Map<Document, Integer>> entry : matches.entrySet()) {
+                if (expansions++ >= MAX_EXPANSIONS) {
+                    break;
+                }
+
+                Map<Document, Integer> postingList = entry.getValue();
+                double weight = entry.getKey().equals(word) ? 1 : PREFIX_WEIGHT;
+                double idf = Math.log(1 + (documents.size() - postingList.size() + 0.5) / (postingList.size() + 0.5));
+
+                for (Map.Entry<Document, Integer> posting : postingList.entrySet()) {
+                    Document document = posting.getKey();
+                    if (source != null && document.source != source) {
+                        continue;
+                    }
+                    int frequency = posting.getValue();
+                    double score = weight * idf * frequency * (K1 + 1)
+                            / (frequency + K1 * (1 - B + B * document.length / averageLength));
+                    wordScores.merge(document, score, Math::max);
+                }
+            }
+
+            if (scores == null) {
+                scores = wordScores;
+            } else {
+                Map<Document, Double> both = new HashMap<>();
+                for (Map.Entry<Document, Double> entry : scores.entrySet()) {
+                    Double wordScore = wordScores.get(entry.getKey());
+                    if (wordScore != null) {
+                        both.put(entry.getKey(), entry.getValue() + wordScore);
+                    }
+                }
+                scores = both;
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        for (Map.Entry<Document, Double> entry : scores.entrySet()) {
+            Document document = entry.getKey();
+            hits.add(new Hit(document.source, document.key.substring(document.key.indexOf(':') + 1),
+                    document.title, entry.getValue()));
+        }
+        hits.sort((a, b) -> Double.compare(b.score, a.score));
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    /**
+     * Returns the number of indexed documents.
+     *
+     * @return the document count.
+     */
+    public static synchronized int getDocumentCount() {
+        return documents.size();
+    }
+
+    /**
+     * Returns the number of distinct indexed terms.
+     *
+     * @return the term count.
+     */
+    public static synchronized int getTermCount() {
+        return postings.size();
+    }
+
+    /**
+     * Splits a text into lowercased terms of letters and digits.
+     *
+     * @param text the text to split.
+     * @return the terms in order of appearance.
+     */
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        StringBuilder term = new StringBuilder();
+        for (int i = 0, length = text.length(); i <= length; i++) {
+            char c = i < length ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                term.append(c);
+                continue;
+            }
+            if (term.length() >= MIN_TERM_LENGTH && term.length() <= MAX_TERM_LENGTH) {
+                terms.add(term.toString().toLowerCase(Locale.ROOT));
+            }
+            term.setLength(0);
+        }
+        return terms;
+    }
+
+    /**
+     * Indexes the complete lines that were appended to a chat log since it was last indexed.
+     * If the log is shorter than what was indexed, it was rewritten and is indexed from the start.
+     *
+     * @param id the ID of the chat.
+     * @param name the name of the chat, or {@code null} to keep the known name.
+     * @param log the path of the chat log.
+     */
+    private static void indexChatLog(String id, String name, Path log) {
+        if (!Files.exists(log)) {
+            return;
+        }
+
+        String key = CHAT_PREFIX + id;
+        long offset;
+        synchronized (ScopeSearchIndex.class) {
+            Document document = documents.get(key);
+            offset = document == null ? 0 : document.indexed;
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(log.toFile(), "r")) {
+            if (file.length() < offset) {
+                remove(key);
+                offset = 0;
+            }
+            if (file.length() == offset) {
+                synchronized (ScopeSearchIndex.class) {
+                    Document document = documents.get(key);
+                    if (document != null && name != null && !name.equals(document.title)) {
+                        document.title = name;
+                        scheduleSave();
+                    }
+                }
+                return;
+            }
+
+            byte[] bytes = new byte[(int) (file.length() - offset)];
+            file.seek(offset);
+            file.readFully(bytes);
+
+            int end = bytes.length;
+            while (end > 0 && bytes[end - 1] != '\n') {
+                end--;
+            }
+
+            Map<String, Integer> terms = new HashMap<>();
+            int count = 0;
+            for (String line : new String(bytes, 0, end, StandardCharsets.UTF_8).split("\n")) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    JsonElement message = JsonParser.parseString(line).getAsJsonObject().get("message");
+                    if (message != null) {
+                        count += addTerms(terms, message.getAsString());
+                    }
+                } catch (RuntimeException e) {
+                    ScopeLogger.logWarn("Skipping a damaged line while indexing chat {}", id);
+                }
+            }
+
+            synchronized (ScopeSearchIndex.class) {
+                Document document = documents.get(key);
+                if (document == null) {
+                    document = new Document(key, Source.CHAT);
+                    document.title = id;
+                    documents.put(key, document);
+                }
+                if (name != null) {
+                    document.title = name;
+                }
+                document.indexed = offset + end;
+                addPostings(document, terms, count);
+                scheduleSave();
+            }
+        } catch (IOException e) {
+            ScopeLogger.logError("Error while indexing chat {}: ", id, e);
+        }
+    }
+
+    /**
+     * Reads a benchmark log and its AI report and replaces their document in the index.
+     *
+     * @param logFile the path of the log.
+     */
+    private static void indexLogFile(Path logFile) {
+        String key = LOG_PREFIX + logFile.getFileName();
+        Path report = DataStorage.getReportPath(logFile.getFileName().toString());
+
+        try {
+            String stamp = getStamp(logFile, report);
+            Map<String, Integer> terms = new HashMap<>();
+            int count = addTerms(terms, Files.readString(logFile, StandardCharsets.UTF_8));
+            if (Files.exists(report)) {
+                count += addTerms(terms, Files.readString(report, StandardCharsets.UTF_8));
+            }
+
+            synchronized (ScopeSearchIndex.class) {
+                remove(key);
+                Document document = new Document(key, Source.LOG);
+                document.title = logFile.getFileName().toString();
+                document.stamp = stamp;
+                documents.put(key, document);
+                addPostings(document, terms, count);
+                scheduleSave();
+            }
+        } catch (IOException e) {
+            ScopeLogger.logError("Error while indexing log {}: ", logFile, e);
+        }
+    }
+
+    /**
+     * Indexes new and changed chats and logs and removes the documents of deleted ones.
+     */
+    private static void reconcile() {
+        Set<String> present = new HashSet<>();
+
+        try (DirectoryStream<Path> logs = Files.newDirectoryStream(DataStorage.getChatHistoryFolder(), "*.jsonl")) {
+            for (Path log : logs) {
+                String id = log.getFileName().toString().replace(".jsonl", "");
+                present.add(CHAT_PREFIX + id);
+                indexChatLog(id, null, log);
+            }
+        } catch (IOException e) {
+            ScopeLogger.logError("Error while scanning chat logs for the search index: ", e);
+        }
+
+        try (DirectoryStream<Path> logs = Files.newDirectoryStream(DataStorage.getLogsFolder(), "*.txt")) {
+            for (Path log : logs) {
+                String key = LOG_PREFIX + log.getFileName();
+                present.add(key);
+
+                String stamp;
+                synchronized (ScopeSearchIndex.class) {
+                    Document document = documents.get(key);
+                    stamp = document == null ? null : document.stamp;
+                }
+                if (!getStamp(log, DataStorage.getReportPath(log.getFileName().toString())).equals(stamp)) {
+                    indexLogFile(log);
+                }
+            }
+        } catch (IOException e) {
+            ScopeLogger.logError("Error while scanning benchmark logs for the search index: ", e);
+        }
+
+        synchronized (ScopeSearchIndex.class) {
+            for (String key : new ArrayList<>(documents.keySet())) {
+                if (!present.contains(key)) {
+                    remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds a stamp that changes whenever a log or its report is modified.
+     *
+     * @param logFile the path of the log.
+     * @param report the path of its report.
+     * @return the stamp.
+     * @throws IOException if the log cannot be read.
+     */
+    private static String getStamp(Path logFile, Path report) throws IOException {
+        long reportModified = Files.exists(report) ? Files.getLastModifiedTime(report).toMillis() : 0;
+        return Files.getLastModifiedTime(logFile).toMillis() + ":" + Files.size(logFile) + ":" + reportModified;
+    }
+
+    /**
+     * Counts the terms of a text into a term frequency map.
+     *
+     * @param terms the map to add the terms to.
+     * @param text the text.
+     * @return the number of terms in the text.
+     */
+    private static int addTerms(Map<String, Integer> terms, String text) {
+        List<String> tokens = tokenize(text);
+        for (String token : tokens) {
+            terms.merge(token, 1, Integer::sum);
+        }
+        return tokens.size();
+    }
+
+    /**
+     * Adds term frequencies to a document and to the posting lists. Must be called while holding the class lock.
+     *
+     * @param document the document.
+     * @param terms the term frequencies to add.
+     * @param count the number of terms they were counted from.
+     */
+    private static void addPostings(Document document, Map<String, Integer> terms, int count) {
+        for (Map.Entry<String, Integer> term : terms.entrySet()) {
+            document.terms.merge(term.getKey(), term.getValue(), Integer::sum);
+            postings.computeIfAbsent(term.getKey(), t -> new HashMap<>())
+                    .merge(document, term.getValue(), Integer::sum);
+        }
+        document.length += count;
+        totalLength += count;
+    }
+
+    /**
+     * Removes a document and its postings.
+     *
+     * @param key the key of the document.
+     */
+    private static synchronized void remove(String key) {
+        Document document = documents.remove(key);
+        if (document == null) {
+            return;
+        }
+
+        for (String term : document.terms.keySet()) {
+            Map<Document, Integer> postingList = postings.get(term);
+            if (postingList != null) {
+                postingList.remove(document);
+                if (postingList.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= document.length;
+        scheduleSave();
+    }
+
+    /**
+     * Schedules the index to be written to disk, unless a write is already scheduled.
+     * Must be called while holding the class lock.
+     */
+    private static void scheduleSave() {
+        if (!saveScheduled) {
+            saveScheduled = true;
+            executor.schedule(ScopeSearchIndex::save, SAVE_DELAY, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Loads the persisted documents and rebuilds the posting lists from their term frequencies.
+     */
+    private static void load() {
+        Path path = DataStorage.getSearchIndexPath();
+        if (!Files.exists(path)) {
+            return;
+        }
+
+        try {
+            JsonArray array = JsonParser.parseString(Files.readString(path, StandardCharsets.UTF_8)).getAsJsonArray();
+            synchronized (ScopeSearchIndex.class) {
+                for (JsonElement element : array) {
+                    JsonObject object = element.getAsJsonObject();
+                    String key = object.get("key").getAsString();
+                    Document document = new Document(key, key.startsWith(CHAT_PREFIX) ? Source.CHAT : Source.LOG);
+                    document.title = object.get("title").getAsString();
+                    document.indexed = object.get("indexed").getAsLong();
+                    document.stamp = object.has("stamp") ? object.get("stamp").getAsString() : null;
+
+                    Map<String, Integer> terms = new HashMap<>();
+                    for (Map.Entry<String, JsonElement> term : object.getAsJsonObject("terms").entrySet()) {
+                        terms.put(term.getKey(), term.getValue().getAsInt());
+                    }
+                    documents.put(key, document);
+                    addPostings(document, terms, object.get("length").getAsInt());
+                }
+            }
+        } catch (Exception e) {
+            ScopeLogger.logError("Error while loading search index, rebuilding it: ", e);
+            synchronized (ScopeSearchIndex.class) {
+                documents.clear();
+                postings.clear();
+                totalLength = 0;
+            }
+        }
+    }
+
+    /**
+     * Writes all documents with their term frequencies to a temporary file and moves it over the old index.
+     */
+    private static void save() {
+        JsonArray array = new JsonArray();
+        synchronized (ScopeSearchIndex.class) {
+            saveScheduled = false;
+            for (Document document : documents.values()) {
+                JsonObject object = new JsonObject();
+                object.addProperty("key", document.key);
+                object.addProperty("title", document.title);
+                object.addProperty("indexed", document.indexed);
+                if (document.stamp != null) {
+                    object.addProperty("stamp", document.stamp);
+                }
+                object.addProperty("length", document.length);
+
+                JsonObject terms = new JsonObject();
+                for (Map.Entry<String, Integer> term : document.terms.entrySet()) {
+                    terms.addProperty(term.getKey(), term.getValue());
+                }
+                object.add("terms", terms);
+                array.add(object);
+            }
+        }
+
+        Path path = DataStorage.getSearchIndexPath();
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Files.writeString(temp, array.toString(), StandardCharsets.UTF_8);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            ScopeLogger.logError("Error while saving search index: ", e);
+        }
+    }
+
+    /**
+     * One indexed chat or log with its term frequencies.
+     */
+    private static final class Document {
+        private final String key;
+        private final Source source;
+        private final Map<String, Integer> terms = new HashMap<>();
+        private String title, stamp;
+        private long indexed;
+        private int length;
+
+        private Document(String key, Source source) {
+            this.key = key;
+            this.source = source;
+        }
+    }
+
+    /**
+     * A search result.
+     */
+    public static final class Hit {
+        private final Source source;
+        private final String id, title;
+        private final double score;
+
+        private Hit(Source source, String id, String title, double score) {
+            this.source = source;
+            this.id = id;
+            this.title = title;
+            this.score = score;
+        }
+
+        /**
+         * Returns the kind of document that matched.
+         *
+         * @return the source of the document.
+         */
+        public Source getSource() { return source; }
+
+        /**
+         * Returns the chat ID for a chat, or the file name for a log.
+         *
+         * @return the ID of the document.
+         */
+        public String getId() { return id; }
+
+        /**
+         * Returns the chat name for a chat, or the file name for a log.
+         *
+         * @return the title of the document.
+         */
+        public String getTitle() { return title; }
+
+        /**
+         * Returns the BM25 relevance score; higher is better.
+         *
+         * @return the score.
+         */
+        public double getScore() { return score; }
+
+        /**
+         * Formats the hit for logs.
+         *
+         * @return the title and score of the hit.
+         */
+        @Override public String toString() {
+            return String.format("%s (%.2f)", title, score);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package nm.sc.systemscope.modules;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the resource footprint of SystemScope itself: process CPU time, heap usage,
+ * garbage collection pauses, thread count and the number of forked subprocesses.
+ * <p>
+ * The shared scheduler takes a sample every {@value #SAMPLE_INTERVAL} seconds. Rates such as the CPU
+ * percentage and forks per minute are computed over the last interval, and the CPU percentage is also
+ * averaged since the monitor was started. CPU percentages are relative to the whole machine (all cores).
+ * </p>
+ */
+public class ScopeSelfMonitor {
+    private static final int SAMPLE_INTERVAL = 5;
+    private static final AtomicLong forks = new AtomicLong();
+    private static final int cores = Runtime.getRuntime().availableProcessors();
+
+    private static ScheduledFuture<?> sampleTask;
+    private static volatile Snapshot latest = new Snapshot(0, 0, 0, 0, 0, 0, 0, 0, 0);
+    private static long startWall, startCpu, lastWall, lastCpu, lastGcTime, lastForks;
+
+    /**
+     * Private constructor of the class
+     */
+    private ScopeSelfMonitor() {
+        throw new UnsupportedOperationException("ScopeSelfMonitor is a static utility class and cannot be instantiated.");
+    }
+
+    /**
+     * Starts periodic sampling. Calling this method more than once has no effect.
+     */
+    public static synchronized void start() {
+        if (sampleTask != null) {
+            return;
+        }
+
+        startWall = lastWall = System.nanoTime();
+        startCpu = lastCpu = getProcessCpuNanos();
+        lastGcTime = getGcTime();
+        lastForks = forks.get();
+
+        sampleTask = ScopeExecutors.getScheduler().scheduleAtFixedRate(ScopeSelfMonitor::sample, SAMPLE_INTERVAL, SAMPLE_INTERVAL, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops periodic sampling.
+     */
+    public static synchronized void stop() {
+        if (sampleTask != null) {
+            sampleTask.cancel(false);
+            sampleTask = null;
+        }
+    }
+
+    /**
+     * Records that SystemScope has forked a subprocess. Must be called by every code path
+     * that starts an external command.
+     */
+    public static void recordFork() {
+        forks.incrementAndGet();
+    }
+
+    /**
+     * Returns the most recent sample.
+     *
+     * @return the latest {@link Snapshot}.
+     */
+    public static Snapshot getSnapshot() {
+        return latest;
+    }
+
+    /**
+     * Takes a new sample and computes the rates over the last interval.
+     */
+    private static synchronized void sample() {
+        long wall = System.nanoTime();
+        long cpu = getProcessCpuNanos();
+        long gcTime = getGcTime();
+        long forkCount = forks.get();
+
+        double elapsed = wall - lastWall;
+        double cpuPercent = elapsed > 0 ? (cpu - lastCpu) * 100.0 / (elapsed * cores) : 0;
+        double totalElapsed = wall - startWall;
+        double averageCpuPercent = totalElapsed > 0 ? (cpu - startCpu) * 100.0 / (totalElapsed * cores) : 0;
+        double forksPerMinute = elapsed > 0 ? (forkCount - lastForks) * 60_000_000_000.0 / elapsed : 0;
+
+        var heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+
+        latest = new Snapshot(cpuPercent, averageCpuPercent, heap.getUsed(), heap.getCommitted(),
+                gcTime, gcTime - lastGcTime, ManagementFactory.getThreadMXBean().getThreadCount(),
+                forksPerMinute, forkCount);
+
+        lastWall = wall;
+        lastCpu = cpu;
+        lastGcTime = gcTime;
+        lastForks = forkCount;
+    }
+
+    /**
+     * Returns the total CPU time consumed by this process.
+     *
+     * @return the CPU time in nanoseconds, or 0 if it is not available on this platform.
+     */
+    private static long getProcessCpuNanos() {
+        return ProcessHandle.current().info().totalCpuDuration().map(Duration::toNanos).orElse(0L);
+    }
+
+    /**
+     * Returns the accumulated collection time of all garbage collectors.
+     *
+     * @return the GC time in milliseconds.
+     */
+    private static long getGcTime() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            long time = gc.getCollectionTime();
+            if (time > 0) {
+                total += time;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * An immutable sample of SystemScope's own resource usage.
+     */
+    public static final class Snapshot {
+        private final double cpuPercent, averageCpuPercent, forksPerMinute;
+        private final long heapUsed, heapCommitted, gcTime, gcTimeInterval, totalForks;
+        private final int threadCount;
+
+        private Snapshot(double cpuPercent, double averageCpuPercent, long heapUsed, long heapCommitted,
+                         long gcTime, long gcTimeInterval, int threadCount, double forksPerMinute, long totalForks) {
+            this.cpuPercent = cpuPercent;
+            this.averageCpuPercent = averageCpuPercent;
+            this.heapUsed = heapUsed;
+            this.heapCommitted = heapCommitted;
+            this.gcTime = gcTime;
+            this.gcTimeInterval = gcTimeInterval;
+            this.threadCount = threadCount;
+            this.forksPerMinute = forksPerMinute;
+            this.totalForks = totalForks;
+        }
+
+        /**
+         * Returns the CPU usage of SystemScope over the last interval, in percent of all cores.
+         *
+         * @return the CPU usage of SystemScope over the last interval, in percent of all cores.
+         */
+        public double getCpuPercent() { return cpuPercent; }
+
+        /**
+         * Returns the CPU usage of SystemScope since the monitor was started, in percent of all cores.
+         *
+         * @return the CPU usage of SystemScope since the monitor was started, in percent of all cores.
+         */
+        public double getAverageCpuPercent() { return averageCpuPercent; }
+
+        /**
+         * Returns the used heap memory in bytes.
+         *
+         * @return the used heap memory in bytes.
+         */
+        public long getHeapUsed() { return heapUsed; }
+
+        /**
+         * Returns the committed heap memory in bytes.
+         *
+         * @return the committed heap memory in bytes.
+         */
+        public long getHeapCommitted() { return heapCommitted; }
+
+        /**
+         * Returns the total time spent in garbage collection since start, in milliseconds.
+         *
+         * @return the total time spent in garbage collection since start, in milliseconds.
+         */
+        public long getGcTime() { return gcTime; }
+
+        /**
+         * Returns the time spent in garbage collection during the last interval, in milliseconds.
+         *
+         * @return the time spent in garbage collection during the last interval, in milliseconds.
+         */
+        public long getGcTimeInterval() { return gcTimeInterval; }
+
+        /**
+         * Returns the number of live threads.
+         *
+         * @return the number of live threads.
+         */
+        public int getThreadCount() { return threadCount; }
+
+        /**
+         * Returns the number of subprocesses forked per minute over the last interval.
+         *
+         * @return the number of subprocesses forked per minute over the last interval.
+         */
+        public double getForksPerMinute() { return forksPerMinute; }
+
+        /**
+         * Returns the total number of subprocesses forked since start.
+         *
+         * @return the total number of subprocesses forked since start.
+         */
+        public long getTotalForks() { return totalForks; }
+
+        /**
+         * Formats the snapshot as a single line for logs and reports.
+         *
+         * @return a human-readable summary of the snapshot.
+         */
+        @Override public String toString() {
+            return String.format("CPU %.2f %% (avg %.2f %%), heap %.1f/%.1f MB, GC %d ms (+%d ms), threads %d, forks %.1f/min (%d total)",
+                    cpuPercent, averageCpuPercent, heapUsed / (1024.0 * 1024.0), heapCommitted / (1024.0 * 1024.0),
+                    gcTime, gcTimeInterval, threadCount, forksPerMinute, totalForks);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package nm.sc.systemscope.modules;
+
+import java.util.function.Supplier;
+
+/**
+ * A typed handle to a configuration value of {@link ScopeConfigManager} that can be observed for changes.
+ * <p>
+ * The constants of this class name the settings that running components apply without a restart; the sampling
+ * periods are available from {@link ScopeProbe#getPeriodSetting()}. A component
+ * registers a listener with {@link ScopeConfigManager#addListener(Runnable, ScopeSetting[])} and reads the new
+ * value with {@link #get()} when it is called.
+ * </p>
+ *
+ * @param <T> the type of the value.
+ */
+public final class ScopeSetting<T> {
+    /**
+     * Whether the benchmark shows the CPU temperature.
+     */
+    public static final ScopeSetting<Boolean> SHOW_CPU_TEMP = new ScopeSetting<>("show_cpu_temp", ScopeConfigManager::isShowCPUTemp);
+
+    /**
+     * Whether the benchmark shows the CPU usage.
+     */
+    public static final ScopeSetting<Boolean> SHOW_CPU_USAGE = new ScopeSetting<>("show_cpu_usage", ScopeConfigManager::isShowCPUUsage);
+
+    /**
+     * Whether the benchmark shows the GPU temperature.
+     */
+    public static final ScopeSetting<Boolean> SHOW_GPU_TEMP = new ScopeSetting<>("show_gpu_temp", ScopeConfigManager::isShowGPUTemp);
+
+    /**
+     * Whether the benchmark shows the GPU usage.
+     */
+    public static final ScopeSetting<Boolean> SHOW_GPU_USAGE = new ScopeSetting<>("show_gpu_usage", ScopeConfigManager::isShowGPUUsage);
+
+    /**
+     * API authentication key of the remote AI service.
+     */
+    public static final ScopeSetting<String> API_KEY = new ScopeSetting<>("API_KEY", ScopeConfigManager::getAPI_KEY);
+
+    /**
+     * Endpoint URL of the remote AI service.
+     */
+    public static final ScopeSetting<String> API_URL = new ScopeSetting<>("API_URL", ScopeConfigManager::getAPI_URL);
+
+    /**
+     * Model requested from the remote AI service.
+     */
+    public static final ScopeSetting<String> MODEL = new ScopeSetting<>("model", ScopeConfigManager::getMODEL);
+
+    /**
+     * System prompt sent with every AI request.
+     */
+    public static final ScopeSetting<String> MODEL_DESCRIPTION = new ScopeSetting<>("model_description", ScopeConfigManager::getMODEL_DESCRIPTION);
+
+    /**
+     * Approximate number of tokens of chat history sent with an AI request.
+     */
+    public static final ScopeSetting<Integer> CONTEXT_TOKEN_BUDGET = new ScopeSetting<>("context_token_budget", ScopeConfigManager::getContextTokenBudget);
+
+    /**
+     * Backend that answers AI requests.
+     */
+    public static final ScopeSetting<String> AI_PROVIDER = new ScopeSetting<>("ai_provider", ScopeConfigManager::getAIProvider);
+
+    /**
+     * Address of the local model server.
+     */
+    public static final ScopeSetting<String> LOCAL_AI_URL = new ScopeSetting<>("local_ai_url", ScopeConfigManager::getLocalAIUrl);
+
+    /**
+     * API of the local model server.
+     */
+    public static final ScopeSetting<String> LOCAL_AI_API = new ScopeSetting<>("local_ai_api", ScopeConfigManager::getLocalAIApi);
+
+    /**
+     * Model requested from the local server.
+     */
+    public static final ScopeSetting<String> LOCAL_AI_MODEL = new ScopeSetting<>("local_ai_model", ScopeConfigManager::getLocalAIModel);
+
+    private final String key;
+    private final Supplier<T> getter;
+
+    ScopeSetting(String key, Supplier<T> getter) {
+        this.key = key;
+        this.getter = getter;
+    }
+
+    /**
+     * Returns the key of the setting in the properties file.
+     *
+     * @return the key.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the current value of the setting.
+     *
+     * @return the value.
+     */
+    public T get() {
+        return getter.get();
+    }
+
+    @Override public String toString() {
+        return key;
+    }
+}
@@ -0,0 +1,100 @@
+package nm.sc.systemscope.modules;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+import java.time.Instant;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Coordinates the staged startup of the application.
+ * <p>
+ * The main window is shown before any hardware is enumerated. The static hardware inventory, such as the
+ * baseboard, CPU, GPUs, RAM, disks, USB devices and processes, is then loaded by independent tasks on the
+ * I/O pool, and each panel is filled in on the JavaFX thread as soon as its own result arrives. The time from
+ * the start of the JVM to the first frame of the main window and the time of every inventory task are logged.
+ * </p>
+ * <p>
+ * When the system property {@code systemscope.exitAfterStartup} is set to a number of milliseconds, the application
+ * exits that long after the first frame. Training runs for the class data sharing archive and the startup benchmark
+ * use it to launch the application once without user interaction.
+ * </p>
+ */
+public class ScopeStartup {
+    private static final long launchTime = ProcessHandle.current().info().startInstant()
+            .map(Instant::toEpochMilli)
+            .orElse(System.currentTimeMillis());
+
+    /**
+     * Private constructor of the class
+     */
+    private ScopeStartup() {
+        throw new UnsupportedOperationException("ScopeStartup is a static utility class and cannot be instantiated.");
+    }
+
+    /**
+     * Logs the time to first frame on the next pulse of the JavaFX thread, which is the pulse that renders
+     * a window shown just before. Must be called on the JavaFX thread right after the main window is shown.
+     * Schedules the exit requested by {@code systemscope.exitAfterStartup}, if any.
+     */
+    public static void logFirstFrame() {
+        new AnimationTimer() {
+            @Override public void handle(long now) {
+                stop();
+                ScopeLogger.logInfo("First frame after {} ms", getMillisSinceLaunch());
+
+                long exitDelay = Long.getLong("systemscope.exitAfterStartup", -1);
+                if (exitDelay >= 0) {
+                    ScopeExecutors.getScheduler().schedule(() -> Platform.runLater(() -> System.exit(0)),
+                            exitDelay, TimeUnit.MILLISECONDS);
+                }
+            }
+        }.start();
+    }
+
+    /**
+     * Loads a part of the inventory in the background and passes it to a panel on the JavaFX thread.
+     * A failed task is logged and leaves the panel as it is.
+     *
+     * @param name the name of the part, used in the log.
+     * @param task the task that enumerates the part.
+     * @param panel the consumer that shows the result, called on the JavaFX thread.
+     * @param <T> the type of the result.
+     * @return a future completed with the result once it has been enumerated.
+     */
+    public static <T> CompletableFuture<T> load(String name, Callable<T> task, Consumer<T> panel) {
+        long startTime = System.nanoTime();
+        CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> {
+            try {
+                return task.call();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, ScopeExecutors.getIOPool());
+
+        future.whenComplete((result, error) -> {
+            if (error != null) {
+                ScopeLogger.logError("Failed to load {}: ", name, error.getCause() != null ? error.getCause() : error);
+                return;
+            }
+
+            ScopeLogger.logInfo("Loaded {} in {} ms, {} ms after launch", name,
+                    (System.nanoTime() - startTime) / 1_000_000, getMillisSinceLaunch());
+            Platform.runLater(() -> panel.accept(result));
+        });
+        return future;
+    }
+
+    /**
+     * Returns the time since the JVM was started.
+     *
+     * @return the time in milliseconds.
+     */
+    public static long getMillisSinceLaunch() {
+        return System.currentTimeMillis() - launchTime;
+    }
+}
@@ -0,0 +1,105 @@
+package nm.sc.systemscope.modules;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.beans.property.StringProperty;
+import javafx.scene.control.Label;
+
+/**
+ * The {@code ScopeStreamingLabel} class renders text that arrives in small pieces, such as tokens of a
+ * streamed AI response, into a {@link Label} or another text property.
+ * <p>
+ * Pieces can be appended from any thread. They are collected in a buffer, and an {@link AnimationTimer}
+ * copies the buffer into the label at most once per rendered frame, so a fast stream never floods the
+ * JavaFX Application Thread with one update per token.
+ * </p>
+ */
+public class ScopeStreamingLabel {
+    private final StringProperty text;
+    private final Runnable onUpdate;
+    private final StringBuilder buffer = new StringBuilder();
+    private boolean dirty;
+
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override public void handle(long now) {
+            flush();
+        }
+    };
+
+    /**
+     * Constructs a streaming label.
+     *
+     * @param label the label that displays the text.
+     * @param onUpdate an action run on the JavaFX Application Thread after each update, e.g. scrolling to the bottom.
+     */
+    public ScopeStreamingLabel(Label label, Runnable onUpdate) {
+        this(label.textProperty(), onUpdate);
+    }
+
+    /**
+     * Constructs a streaming label that writes into a text property, e.g. one that a list cell is bound to.
+     *
+     * @param text the property that receives the text.
+     * @param onUpdate an action run on the JavaFX Application Thread after each update, e.g. scrolling to the bottom.
+     */
+    public ScopeStreamingLabel(StringProperty text, Runnable onUpdate) {
+        this.text = text;
+        this.onUpdate = onUpdate;
+    }
+
+    /**
+     * Starts rendering. Must be called on the JavaFX Application Thread.
+     */
+    public void start() {
+        timer.start();
+    }
+
+    /**
+     * Appends a piece of text. Can be called from any thread.
+     *
+     * @param text the text to append.
+     */
+    public void append(String text) {
+        synchronized (buffer) {
+            buffer.append(text);
+            dirty = true;
+        }
+    }
+
+    /**
+     * Stops rendering and shows the final text. Can be called from any thread.
+     *
+     * @param text the complete text to display, or {@code null} to keep the text streamed so far.
+     */
+    public void finish(String text) {
+        Platform.runLater(() -> {
+            timer.stop();
+            if (text != null) {
+                synchronized (buffer) {
+                    buffer.setLength(0);
+                    buffer.append(text);
+                    dirty = true;
+                }
+            }
+            flush();
+        });
+    }
+
+    /**
+     * Copies the buffered text into the label if it has changed since the last frame.
+     */
+    private void flush() {
+        String value;
+        synchronized (buffer) {
+            if (!dirty) {
+                return;
+            }
+            value = buffer.toString();
+            dirty = false;
+        }
+        text.set(value);
+        if (onUpdate != null) {
+            onUpdate.run();
+        }
+    }
+}
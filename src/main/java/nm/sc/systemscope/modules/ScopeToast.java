@@ -9,6 +9,8 @@ import javafx.stage.Window;
 import javafx.util.Duration;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * The {@code ScopeToast} class provides a utility to display a toast notification
  * in the form of a popup message that fades in and out. The message is shown for a
@@ -70,18 +72,13 @@ public class ScopeToast {
         FadeTransition fadeIn = new FadeTransition(Duration.millis(200), label);
         fadeIn.setFromValue(0);
         fadeIn.setToValue(1);
-        fadeIn.setOnFinished(e -> new Thread(() -> {
-            try {
-                Thread.sleep(durationMillis);
-            } catch (InterruptedException ignored) { }
-            Platform.runLater(() -> {
-                FadeTransition fadeOut = new FadeTransition(Duration.millis(300), label);
-                fadeOut.setFromValue(1);
-                fadeOut.setToValue(0);
-                fadeOut.setOnFinished(evt -> popup.hide());
-                fadeOut.play();
-            });
-        }).start());
+        fadeIn.setOnFinished(e -> ScopeExecutors.getScheduler().schedule(() -> Platform.runLater(() -> {
+            FadeTransition fadeOut = new FadeTransition(Duration.millis(300), label);
+            fadeOut.setFromValue(1);
+            fadeOut.setToValue(0);
+            fadeOut.setOnFinished(evt -> popup.hide());
+            fadeOut.play();
+        }), durationMillis, TimeUnit.MILLISECONDS));
         return fadeIn;
     }
 }
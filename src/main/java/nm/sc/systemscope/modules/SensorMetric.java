@@ -0,0 +1,57 @@
+package nm.sc.systemscope.modules;
+
+/**
+ * Enum representing the sensor metrics that can be recorded to a trace and simulated.
+ */
+public enum SensorMetric {
+    /**
+     * CPU temperature in °C.
+     */
+    CPU_TEMPERATURE("cpu_temp"),
+
+    /**
+     * CPU usage in percent.
+     */
+    CPU_USAGE("cpu_usage"),
+
+    /**
+     * Discrete GPU temperature in °C.
+     */
+    GPU_TEMPERATURE("gpu_temp"),
+
+    /**
+     * Discrete GPU usage in percent.
+     */
+    GPU_USAGE("gpu_usage");
+
+    private final String key;
+
+    SensorMetric(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Parses the key used in trace files to the corresponding metric.
+     *
+     * @param value the key of the metric.
+     * @return the corresponding metric, or {@code null} if the key is not recognized.
+     */
+    public static SensorMetric fromString(String value) {
+        for (SensorMetric metric : values()) {
+            if (metric.key.equalsIgnoreCase(value)) {
+                return metric;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the key used for this metric in trace files.
+     *
+     * @return the key of the metric.
+     */
+    @Override
+    public String toString() {
+        return key;
+    }
+}
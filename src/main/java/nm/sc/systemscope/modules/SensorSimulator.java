@@ -0,0 +1,298 @@
+package nm.sc.systemscope.modules;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A simulated sensor backend that replaces real hardware probes, so the charting, benchmark and AI
+ * paths can run on machines without the corresponding hardware.
+ * <p>
+ * The simulator either replays a trace written by {@link SensorTraceRecorder} or generates synthetic
+ * load curves: a repeating cycle of idle and full load phases, with temperatures following the load
+ * with a first-order thermal lag. Simulated time runs {@code speed} times faster than wall-clock time,
+ * so hours of data can be pushed through the pipeline in seconds. A replayed trace starts over when its end is reached.
+ * </p>
+ * <p>
+ * The {@link ScopeSampler} divides the periods of its probes by the speed while the simulation is active, so the
+ * pipeline sees one reading per configured period of simulated time. Periods cannot drop below one millisecond:
+ * beyond a speed equal to a probe's period in milliseconds (e.g. 1000x for a one-second probe) that probe skips
+ * simulated readings, which is logged when the simulation starts.
+ * </p>
+ * <p>
+ * While the simulator is active, {@code ScopeCentralProcessor} and {@link SystemInformation} return simulated
+ * readings instead of probing the hardware. The simulator can be enabled at startup with the system properties
+ * {@code systemscope.simulate} ({@code synthetic} or the path of a trace file) and {@code systemscope.simulate.speed}.
+ * A trace of a real session is recorded when {@code systemscope.trace.record} is set to the path of the trace file.
+ * </p>
+ */
+public class SensorSimulator {
+    private static volatile Source source;
+    private static volatile double speed = 1;
+    private static volatile long startNanos;
+
+    /**
+     * Private constructor of the class
+     */
+    private SensorSimulator() {
+        throw new UnsupportedOperationException("SensorSimulator is a static utility class and cannot be instantiated.");
+    }
+
+    /**
+     * Enables simulation or trace recording according to the {@code systemscope.simulate},
+     * {@code systemscope.simulate.speed} and {@code systemscope.trace.record} system properties.
+     */
+    public static void configureFromSystemProperties() {
+        String simulate = System.getProperty("systemscope.simulate");
+        double simulationSpeed = 1;
+        try {
+            simulationSpeed = Double.parseDouble(System.getProperty("systemscope.simulate.speed", "1"));
+        } catch (NumberFormatException e) {
+            ScopeLogger.logWarn("Invalid simulation speed, using real time: {}", e.getMessage());
+        }
+
+        try {
+            if (simulate != null && simulate.equalsIgnoreCase("synthetic")) {
+                synthetic(simulationSpeed);
+            } else if (simulate != null && !simulate.isBlank()) {
+                replay(Path.of(simulate), simulationSpeed);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            ScopeLogger.logError("Error while starting sensor simulation: {}", simulate, e);
+        }
+
+        String record = System.getProperty("systemscope.trace.record");
+        if (record != null && !record.isBlank()) {
+            if (isActive()) {
+                ScopeLogger.logWarn("Sensor trace recording is ignored while the simulation is active");
+                return;
+            }
+            try {
+                SensorTraceRecorder.start(Path.of(record));
+            } catch (IOException e) {
+                ScopeLogger.logError("Error while starting sensor trace recording: {}", record, e);
+            }
+        }
+    }
+
+    /**
+     * Starts replaying a trace file.
+     *
+     * @param trace the trace file written by {@link SensorTraceRecorder}.
+     * @param speed how many times faster than real time the trace is replayed.
+     * @throws IOException if the trace cannot be read.
+     * @throws IllegalArgumentException if the trace contains no readings or the speed is not positive.
+     */
+    public static void replay(Path trace, double speed) throws IOException {
+        start(TraceSource.load(trace), speed);
+        ScopeLogger.logInfo("Replaying sensor trace {} at {}x speed", trace, speed);
+    }
+
+    /**
+     * Starts generating synthetic load curves.
+     *
+     * @param speed how many times faster than real time the curves are generated.
+     * @throws IllegalArgumentException if the speed is not positive.
+     */
+    public static void synthetic(double speed) {
+        start(new SyntheticSource(), speed);
+        ScopeLogger.logInfo("Generating synthetic sensor data at {}x speed", speed);
+    }
+
+    private static synchronized void start(Source newSource, double newSpeed) {
+        if (!(newSpeed > 0)) {
+            throw new IllegalArgumentException("Simulation speed must be positive");
+        }
+        speed = newSpeed;
+        startNanos = System.nanoTime();
+        source = newSource;
+
+        for (ScopeProbe probe : ScopeProbe.values()) {
+            if (probe.getPeriod() < newSpeed) {
+                ScopeLogger.logWarn("At {}x speed the period of {} ({} ms) falls below 1 ms, simulated readings will be skipped",
+                        newSpeed, probe, probe.getPeriod());
+            }
+        }
+        ScopeSampler.updatePeriods();
+    }
+
+    /**
+     * Stops the simulation. Subsequent readings probe the real hardware again.
+     */
+    public static synchronized void stop() {
+        source = null;
+        ScopeSampler.updatePeriods();
+    }
+
+    /**
+     * Returns how many times faster than real time the simulation runs.
+     *
+     * @return the speed.
+     */
+    public static double getSpeed() {
+        return speed;
+    }
+
+    /**
+     * Checks whether the simulation is active.
+     *
+     * @return {@code true} if readings are simulated, {@code false} otherwise.
+     */
+    public static boolean isActive() {
+        return source != null;
+    }
+
+    /**
+     * Returns the simulated time elapsed since the simulation was started.
+     *
+     * @return the simulated time in milliseconds.
+     */
+    public static long getSimulatedMillis() {
+        return (long) ((System.nanoTime() - startNanos) / 1_000_000.0 * speed);
+    }
+
+    /**
+     * Returns the simulated value of a metric at the current simulated time.
+     *
+     * @param metric the metric to read.
+     * @return the simulated value, or {@link Double#NaN} if the simulation is not active or has no data for the metric.
+     */
+    public static double getValue(SensorMetric metric) {
+        Source current = source;
+        return current != null ? current.valueAt(metric, getSimulatedMillis()) : Double.NaN;
+    }
+
+    /**
+     * A source of simulated sensor values.
+     */
+    private interface Source {
+        double valueAt(SensorMetric metric, long millis);
+    }
+
+    /**
+     * Replays the readings of a trace file. Each metric holds its last recorded value until the next reading.
+     */
+    private static final class TraceSource implements Source {
+        private final Map<SensorMetric, long[]> times = new EnumMap<>(SensorMetric.class);
+        private final Map<SensorMetric, double[]> values = new EnumMap<>(SensorMetric.class);
+        private final long duration;
+
+        private TraceSource(Map<SensorMetric, List<double[]>> readings) {
+            long last = 0;
+            for (Map.Entry<SensorMetric, List<double[]>> entry : readings.entrySet()) {
+                List<double[]> list = entry.getValue();
+                long[] metricTimes = new long[list.size()];
+                double[] metricValues = new double[list.size()];
+                for (int i = 0; i < list.size(); i++) {
+                    metricTimes[i] = (long) list.get(i)[0];
+                    metricValues[i] = list.get(i)[1];
+                }
+                times.put(entry.getKey(), metricTimes);
+                values.put(entry.getKey(), metricValues);
+                last = Math.max(last, metricTimes[metricTimes.length - 1]);
+            }
+            duration = last + 1;
+        }
+
+        static TraceSource load(Path trace) throws IOException {
+            Map<SensorMetric, List<double[]>> readings = new EnumMap<>(SensorMetric.class);
+
+            try (BufferedReader reader = Files.newBufferedReader(trace, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank() || line.startsWith("#")) {
+                        continue;
+                    }
+                    String[] parts = line.split(",");
+                    SensorMetric metric = parts.length == 3 ? SensorMetric.fromString(parts[1].trim()) : null;
+                    if (metric == null) {
+                        continue;
+                    }
+                    try {
+                        readings.computeIfAbsent(metric, key -> new ArrayList<>())
+                                .add(new double[]{Long.parseLong(parts[0].trim()), Double.parseDouble(parts[2].trim())});
+                    } catch (NumberFormatException e) {
+                        ScopeLogger.logWarn("Skipping malformed trace line: {}", line);
+                    }
+                }
+            }
+
+            if (readings.isEmpty()) {
+                throw new IllegalArgumentException("Trace contains no readings: " + trace);
+            }
+            return new TraceSource(readings);
+        }
+
+        @Override public double valueAt(SensorMetric metric, long millis) {
+            long[] metricTimes = times.get(metric);
+            if (metricTimes == null) {
+                return Double.NaN;
+            }
+
+            int index = Arrays.binarySearch(metricTimes, millis % duration);
+            if (index < 0) {
+                index = Math.max(0, -index - 2);
+            }
+            return values.get(metric)[index];
+        }
+    }
+
+    /**
+     * Generates a repeating cycle of idle and full load phases. Temperatures approach a load-dependent
+     * target exponentially and are integrated in steps of one simulated second.
+     */
+    private static final class SyntheticSource implements Source {
+        private static final long CYCLE = 300_000, LOAD_START = 60_000, LOAD_END = 240_000, STEP = 1_000;
+        private static final double AMBIENT = 38, CPU_RISE = 50, GPU_RISE = 40, CPU_TAU = 20, GPU_TAU = 45;
+
+        private long time;
+        private double cpuTemperature = AMBIENT, gpuTemperature = AMBIENT;
+
+        @Override public synchronized double valueAt(SensorMetric metric, long millis) {
+            while (time + STEP <= millis) {
+                time += STEP;
+                cpuTemperature += (AMBIENT + CPU_RISE * cpuLoad(time) / 100 - cpuTemperature) * (1 - Math.exp(-1 / CPU_TAU));
+                gpuTemperature += (AMBIENT + GPU_RISE * gpuLoad(time) / 100 - gpuTemperature) * (1 - Math.exp(-1 / GPU_TAU));
+            }
+
+            return switch (metric) {
+                case CPU_TEMPERATURE -> Math.round((cpuTemperature + noise(time, 1)) * 10) / 10.0;
+                case GPU_TEMPERATURE -> Math.round(gpuTemperature + noise(time, 2));
+                case CPU_USAGE -> Math.round(cpuLoad(time));
+                case GPU_USAGE -> Math.round(gpuLoad(time));
+            };
+        }
+
+        private static double cpuLoad(long millis) {
+            return isLoadPhase(millis) ? 80 + 10 * noise(millis, 3) : 5 + 2 * noise(millis, 4);
+        }
+
+        private static double gpuLoad(long millis) {
+            return isLoadPhase(millis) ? 96 + 3 * noise(millis, 5) : 2 + noise(millis, 6);
+        }
+
+        private static boolean isLoadPhase(long millis) {
+            long phase = millis % CYCLE;
+            return phase >= LOAD_START && phase < LOAD_END;
+        }
+
+        /**
+         * Returns deterministic noise in the range [-1, 1] for the given second and channel,
+         * so repeated reads of the same simulated second return the same value.
+         */
+        private static double noise(long millis, int channel) {
+            long x = (millis / STEP) * 31 + channel;
+            x ^= x << 13;
+            x ^= x >>> 7;
+            x ^= x << 17;
+            return (x % 1000) / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package nm.sc.systemscope.modules;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Records every sensor reading taken by SystemScope to a trace file, so a real session
+ * can later be replayed by {@link SensorSimulator}.
+ * <p>
+ * The trace is a plain text file. The first line is the {@value #HEADER} header, every following line
+ * has the form {@code <milliseconds since start>,<metric>,<value>}. Readings are recorded where the
+ * hardware is probed, so the trace contains the full metric stream regardless of which window requested it.
+ * Readings served by the simulator are never recorded.
+ * </p>
+ */
+public class SensorTraceRecorder {
+    static final String HEADER = "# SystemScope sensor trace v1";
+    private static final int FLUSH_INTERVAL = 100;
+
+    private static BufferedWriter writer;
+    private static Path tracePath;
+    private static long startNanos;
+    private static int unflushed;
+
+    /**
+     * Private constructor of the class
+     */
+    private SensorTraceRecorder() {
+        throw new UnsupportedOperationException("SensorTraceRecorder is a static utility class and cannot be instantiated.");
+    }
+
+    /**
+     * Starts recording to the given file. A recording in progress is stopped first.
+     *
+     * @param path the trace file to create or overwrite.
+     * @throws IOException if the file cannot be created.
+     */
+    public static synchronized void start(Path path) throws IOException {
+        stop();
+
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+        writer.write(HEADER);
+        writer.newLine();
+        tracePath = path;
+        startNanos = System.nanoTime();
+        unflushed = 0;
+
+        ScopeLogger.logInfo("Recording sensor trace to {}", path);
+    }
+
+    /**
+     * Stops recording and closes the trace file.
+     */
+    public static synchronized void stop() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+            ScopeLogger.logInfo("Sensor trace saved: {}", tracePath);
+        } catch (IOException e) {
+            ScopeLogger.logError("Error while closing sensor trace: {}", tracePath, e);
+        }
+        writer = null;
+        tracePath = null;
+    }
+
+    /**
+     * Checks whether a recording is in progress.
+     *
+     * @return {@code true} if readings are being recorded, {@code false} otherwise.
+     */
+    public static synchronized boolean isRecording() {
+        return writer != null;
+    }
+
+    /**
+     * Records a reading. Readings that are not numbers are ignored.
+     *
+     * @param metric the metric that was read.
+     * @param value the value that was read.
+     */
+    public static synchronized void record(SensorMetric metric, double value) {
+        if (writer == null || Double.isNaN(value)) {
+            return;
+        }
+        try {
+            long millis = (System.nanoTime() - startNanos) / 1_000_000;
+            writer.write(millis + "," + metric + "," + String.format(Locale.ROOT, "%.2f", value));
+            writer.newLine();
+
+            if (++unflushed >= FLUSH_INTERVAL) {
+                writer.flush();
+                unflushed = 0;
+            }
+        } catch (IOException e) {
+            ScopeLogger.logError("Error while writing sensor trace, recording stopped: {}", tracePath, e);
+            stop();
+        }
+    }
+
+    /**
+     * Records a reading given as a sensor string such as {@code "NVIDIA GPU: 45 °C"}.
+     * The first number in the string is recorded, strings without a number are ignored.
+     *
+     * @param metric the metric that was read.
+     * @param reading the sensor string.
+     */
+    public static void record(SensorMetric metric, String reading) {
+        if (isRecording()) {
+            record(metric, ThermalSteadyState.parseTemperature(reading));
+        }
+    }
+}
@@ -13,11 +13,27 @@ import java.util.List;
  * about the graphics cards, RAM, disk storage, CPU, and other hardware components.
  */
 public class SystemInformation {
-    private static final HardwareAbstractionLayer layer;
+    private static final SystemInfo systemInfo = new SystemInfo();
+    private static HardwareAbstractionLayer layer = systemInfo.getHardware();
 
-    static {
-        SystemInfo systemInfo = new SystemInfo();
-        layer = systemInfo.getHardware();
+    /**
+     * Returns the single OSHI entry point shared by all hardware classes. OSHI caches what it has enumerated
+     * per instance, so sharing it lets every class reuse the inventory instead of enumerating it again.
+     *
+     * @return the shared {@link SystemInfo}.
+     */
+    public static SystemInfo getSystemInfo() {
+        return systemInfo;
+    }
+
+    /**
+     * Replaces the hardware abstraction layer used by this class.
+     * Intended for benchmarks and simulations that run without real hardware.
+     *
+     * @param hardwareLayer the hardware abstraction layer to use.
+     */
+    static void setHardwareLayer(HardwareAbstractionLayer hardwareLayer) {
+        layer = hardwareLayer;
     }
 
     /**
@@ -126,6 +142,10 @@ public class SystemInformation {
      * @return a string with the temperature of the discrete GPU, or "No data" if not available.
      */
     public static String getTemperatureDiscreteGPU() {
+        if (SensorSimulator.isActive()) {
+            return new SimulatedGraphicCard().getTemperature();
+        }
+
         GraphicsCard gpu = getDiscreteGPU();
 
         StringBuilder temperatures = new StringBuilder();
@@ -146,6 +166,7 @@ public class SystemInformation {
                 temperatures.append(intel.getTemperature());
             }
         }
+        SensorTraceRecorder.record(SensorMetric.GPU_TEMPERATURE, temperatures.toString());
         return !temperatures.isEmpty() ? temperatures.toString() : "Немає даних";
     }
 
@@ -215,6 +236,10 @@ public class SystemInformation {
      * @return a string with the GPU usage, or a message indicating no GPU is found.
      */
     public static String getGPUUsage(){
+        if (SensorSimulator.isActive()) {
+            return new SimulatedGraphicCard().getGPULoad();
+        }
+
         GraphicsCard gpu = getDiscreteGPU();
 
         if (gpu == null) {
@@ -237,6 +262,7 @@ public class SystemInformation {
             usage.append("Не підтримується виробником");
         }
 
+        SensorTraceRecorder.record(SensorMetric.GPU_USAGE, usage.toString());
         return !usage.isEmpty() ? usage.toString() : "Немає даних";
     }
 
@@ -246,8 +272,7 @@ public class SystemInformation {
      * @return a list of {@link UsbDevice} objects representing the USB devices connected to the system
      */
     public static List<UsbDevice> getUsbDevices(){
-        SystemInfo info = new SystemInfo();
-        return info.getHardware().getUsbDevices(false);
+        return systemInfo.getHardware().getUsbDevices(false);
     }
 
     /**
@@ -284,7 +309,7 @@ public class SystemInformation {
      * @param cards a string containing the graphics card details.
      * @return a formatted string with the graphics card names and models.
      */
-    private static String formatGPU(String cards) {
+    static String formatGPU(String cards) {
         if (cards != null && !cards.isEmpty()) {
             String[] cardsList = cards.split(",");
 
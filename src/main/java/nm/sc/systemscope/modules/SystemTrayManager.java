@@ -127,6 +127,18 @@ public class SystemTrayManager {
             ScopeLogger.logError("Error while showing menu window: {}", e.getMessage());        }
     }
 
+    /**
+     * Shows a notification balloon next to the tray icon. Does nothing if the tray icon is not shown.
+     *
+     * @param caption The caption of the notification.
+     * @param text The text of the notification.
+     */
+    public static void showNotification(String caption, String text) {
+        if (icon != null && isTrayIconAdded) {
+            icon.displayMessage(caption, text, TrayIcon.MessageType.INFO);
+        }
+    }
+
     /**
      * Removes the tray icon from the system tray.
      */
@@ -0,0 +1,401 @@
+package nm.sc.systemscope.modules;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compresses a series of sensor readings into a compact statistical summary suitable for an AI prompt.
+ * <p>
+ * Every metric is summarised in a single streaming pass with constant memory: count, minimum, maximum,
+ * mean and standard deviation, percentiles from a histogram with a resolution of one unit, a least-squares
+ * trend, throttling episodes above a threshold, and the largest anomalies relative to an exponentially
+ * weighted moving average. The size of the formatted digest therefore does not depend on the length of the run,
+ * and it can additionally be capped to a maximum number of characters.
+ * </p>
+ */
+public class TelemetryDigest {
+    /**
+     * The default maximum length of a formatted digest in characters.
+     */
+    public static final int DEFAULT_MAX_LENGTH = 1500;
+
+    /**
+     * The name of the CPU temperature metric.
+     */
+    public static final String CPU_TEMPERATURE = "CPU Temperature (°C)";
+
+    /**
+     * The name of the GPU temperature metric.
+     */
+    public static final String GPU_TEMPERATURE = "GPU Temperature (°C)";
+
+    /**
+     * The name of the CPU usage metric.
+     */
+    public static final String CPU_USAGE = "CPU Usage (%)";
+
+    /**
+     * The name of the GPU usage metric.
+     */
+    public static final String GPU_USAGE = "GPU Usage (%)";
+
+    private static final double CPU_THROTTLE_TEMPERATURE = 90, GPU_THROTTLE_TEMPERATURE = 83;
+
+    private final double sampleIntervalSeconds;
+    private final Map<String, Metric> metrics = new LinkedHashMap<>();
+
+    /**
+     * Constructs an empty digest.
+     *
+     * @param sampleIntervalSeconds the interval between two consecutive readings of a metric in seconds.
+     */
+    public TelemetryDigest(double sampleIntervalSeconds) {
+        this.sampleIntervalSeconds = sampleIntervalSeconds;
+    }
+
+    /**
+     * Creates a digest with the CPU and GPU temperature and usage metrics, named as in benchmark logs.
+     *
+     * @param sampleIntervalSeconds the interval between two consecutive readings in seconds.
+     * @return the digest.
+     */
+    public static TelemetryDigest forSystemMetrics(double sampleIntervalSeconds) {
+        TelemetryDigest digest = new TelemetryDigest(sampleIntervalSeconds);
+        digest.addMetric(CPU_TEMPERATURE, CPU_THROTTLE_TEMPERATURE);
+        digest.addMetric(GPU_TEMPERATURE, GPU_THROTTLE_TEMPERATURE);
+        digest.addMetric(CPU_USAGE, Double.NaN);
+        digest.addMetric(GPU_USAGE, Double.NaN);
+        return digest;
+    }
+
+    /**
+     * Builds a digest from a benchmark log written by {@link DataStorage#createLogFile}.
+     * The value lines are parsed token by token, so the series are never held in memory.
+     *
+     * @param logFile the benchmark log.
+     * @param sampleIntervalSeconds the interval between two consecutive readings in seconds.
+     * @return the digest of the metrics found in the log.
+     * @throws IOException if the log cannot be read.
+     */
+    public static TelemetryDigest fromLogFile(Path logFile, double sampleIntervalSeconds) throws IOException {
+        TelemetryDigest digest = forSystemMetrics(sampleIntervalSeconds);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(logFile), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int separator = line.indexOf(": ");
+                if (separator < 0) {
+                    continue;
+                }
+                Metric metric = digest.findMetric(line.substring(0, separator));
+                if (metric == null) {
+                    continue;
+                }
+
+                int start = separator + 2;
+                while (start < line.length()) {
+                    int end = line.indexOf(' ', start);
+                    if (end < 0) {
+                        end = line.length();
+                    }
+                    if (end > start) {
+                        try {
+                            metric.add(Double.parseDouble(line.substring(start, end)));
+                        } catch (NumberFormatException ignored) {
+                            // Non-numeric tokens are skipped.
+                        }
+                    }
+                    start = end + 1;
+                }
+            }
+        }
+        return digest;
+    }
+
+    /**
+     * Finds a metric by the label of a log line. Only the part before the unit is compared, so labels
+     * whose unit was written in a different encoding still match.
+     *
+     * @param label the label of the log line, e.g. {@code "CPU Temperature (°C)"}.
+     * @return the metric, or {@code null} if there is none with that label.
+     */
+    private Metric findMetric(String label) {
+        int unit = label.indexOf(" (");
+        String prefix = (unit >= 0 ? label.substring(0, unit) : label) + " (";
+        for (Metric metric : metrics.values()) {
+            if (metric.name.equals(label) || metric.name.startsWith(prefix)) {
+                return metric;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Registers a metric. Metrics are formatted in the order in which they were registered.
+     *
+     * @param name the name of the metric including its unit, e.g. {@code "CPU Temperature (°C)"}.
+     * @param throttleThreshold the value at or above which a reading counts as throttling, or {@link Double#NaN} for none.
+     * @return this digest.
+     */
+    public TelemetryDigest addMetric(String name, double throttleThreshold) {
+        metrics.putIfAbsent(name, new Metric(name, throttleThreshold));
+        return this;
+    }
+
+    /**
+     * Sets the interval between two consecutive readings of a single metric, for a series that was sampled at
+     * another rate than the one the digest was constructed with. The metric is registered without a throttle
+     * threshold if it does not exist yet.
+     *
+     * @param name the name of the metric.
+     * @param sampleIntervalSeconds the interval between two consecutive readings of the metric in seconds.
+     * @return this digest.
+     */
+    public TelemetryDigest setSampleInterval(String name, double sampleIntervalSeconds) {
+        metrics.computeIfAbsent(name, key -> new Metric(key, Double.NaN)).sampleIntervalSeconds = sampleIntervalSeconds;
+        return this;
+    }
+
+    /**
+     * Adds a reading to a metric. The metric is registered without a throttle threshold if it does not exist yet.
+     *
+     * @param name the name of the metric.
+     * @param value the reading.
+     */
+    public void add(String name, double value) {
+        metrics.computeIfAbsent(name, key -> new Metric(key, Double.NaN)).add(value);
+    }
+
+    /**
+     * Adds a series of readings to a metric.
+     *
+     * @param name the name of the metric.
+     * @param values the readings in chronological order; {@code null} is treated as an empty series.
+     */
+    public void addAll(String name, Iterable<? extends Number> values) {
+        if (values == null) {
+            return;
+        }
+        for (Number value : values) {
+            if (value != null) {
+                add(name, value.doubleValue());
+            }
+        }
+    }
+
+    /**
+     * Checks whether the digest contains any readings.
+     *
+     * @return {@code true} if no metric has readings, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return metrics.values().stream().allMatch(metric -> metric.count == 0);
+    }
+
+    /**
+     * Formats the digest with the default length limit.
+     *
+     * @return the formatted digest.
+     */
+    @Override public String toString() {
+        return format(DEFAULT_MAX_LENGTH);
+    }
+
+    /**
+     * Formats the digest as one line per metric. Anomaly details are included only while the digest stays
+     * within the limit, and the result is truncated if even the summaries alone exceed it.
+     *
+     * @param maxLength the maximum length of the result in characters.
+     * @return the formatted digest.
+     */
+    public String format(int maxLength) {
+        StringBuilder summary = new StringBuilder();
+        for (Metric metric : metrics.values()) {
+            if (metric.count > 0) {
+                summary.append(metric.formatSummary()).append('\n');
+            }
+        }
+
+        StringBuilder anomalies = new StringBuilder();
+        for (Metric metric : metrics.values()) {
+            String details = metric.formatAnomalies();
+            if (details != null && summary.length() + anomalies.length() + details.length() + 1 <= maxLength) {
+                anomalies.append(details).append('\n');
+            }
+        }
+        summary.append(anomalies);
+
+        if (summary.length() > maxLength) {
+            summary.setLength(Math.max(0, maxLength - 1));
+            summary.append('…');
+        }
+        return summary.toString();
+    }
+
+    /**
+     * The running statistics of a single metric.
+     */
+    private final class Metric {
+        private static final int HISTOGRAM_SIZE = 256, MAX_ANOMALIES = 3, WARM_UP = 10;
+        private static final double EWMA_ALPHA = 0.1, ANOMALY_SIGMAS = 3, MIN_ANOMALY_DEVIATION = 5;
+
+        private final String name;
+        private final double throttleThreshold;
+        private final int[] histogram = new int[HISTOGRAM_SIZE];
+        private double sampleIntervalSeconds = TelemetryDigest.this.sampleIntervalSeconds;
+
+        private long count;
+        private double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY, mean, m2;
+        private double sumX, sumXY, first, last;
+        private double ewma, ewmaVariance;
+        private long throttleEpisodes, throttleSamples;
+        private boolean throttling;
+
+        private final long[] anomalyIndex = new long[MAX_ANOMALIES];
+        private final double[] anomalyValue = new double[MAX_ANOMALIES], anomalyExpected = new double[MAX_ANOMALIES];
+        private int anomalyCount;
+        private long totalAnomalies;
+
+        private Metric(String name, double throttleThreshold) {
+            this.name = name;
+            this.throttleThreshold = throttleThreshold;
+        }
+
+        private void add(double value) {
+            if (Double.isNaN(value)) {
+                return;
+            }
+            long index = count++;
+
+            if (index == 0) {
+                first = value;
+                ewma = value;
+            }
+            last = value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+
+            double delta = value - mean;
+            mean += delta / count;
+            m2 += delta * (value - mean);
+
+            sumX += index;
+            sumXY += index * value;
+
+            histogram[(int) Math.max(0, Math.min(HISTOGRAM_SIZE - 1, Math.round(value)))]++;
+
+            if (!Double.isNaN(throttleThreshold)) {
+                boolean above = value >= throttleThreshold;
+                if (above) {
+                    throttleSamples++;
+                    if (!throttling) {
+                        throttleEpisodes++;
+                    }
+                }
+                throttling = above;
+            }
+
+            double deviation = value - ewma;
+            if (index >= WARM_UP && Math.abs(deviation) > Math.max(ANOMALY_SIGMAS * Math.sqrt(ewmaVariance), MIN_ANOMALY_DEVIATION)) {
+                recordAnomaly(index, value, ewma);
+            }
+            ewma += EWMA_ALPHA * deviation;
+            ewmaVariance = (1 - EWMA_ALPHA) * (ewmaVariance + EWMA_ALPHA * deviation * deviation);
+        }
+
+        /**
+         * Keeps the anomalies with the largest deviation, replacing the smallest one when the list is full.
+         */
+        private void recordAnomaly(long index, double value, double expected) {
+            totalAnomalies++;
+            int slot = anomalyCount;
+            if (anomalyCount == MAX_ANOMALIES) {
+                slot = 0;
+                for (int i = 1; i < MAX_ANOMALIES; i++) {
+                    if (Math.abs(anomalyValue[i] - anomalyExpected[i]) < Math.abs(anomalyValue[slot] - anomalyExpected[slot])) {
+                        slot = i;
+                    }
+                }
+                if (Math.abs(value - expected) <= Math.abs(anomalyValue[slot] - anomalyExpected[slot])) {
+                    return;
+                }
+            } else {
+                anomalyCount++;
+            }
+            anomalyIndex[slot] = index;
+            anomalyValue[slot] = value;
+            anomalyExpected[slot] = expected;
+        }
+
+        private double percentile(double fraction) {
+            long rank = (long) Math.ceil(fraction * count);
+            long seen = 0;
+            for (int i = 0; i < HISTOGRAM_SIZE; i++) {
+                seen += histogram[i];
+                if (seen >= rank) {
+                    return i;
+                }
+            }
+            return max;
+        }
+
+        private double slopePerMinute() {
+            double n = count;
+            double meanX = (n - 1) / 2.0;
+            double sumXX = (n - 1) * n * (2 * n - 1) / 6.0;
+            double denominator = sumXX - n * meanX * meanX;
+            if (denominator <= 0 || sampleIntervalSeconds <= 0) {
+                return 0;
+            }
+            double slope = (sumXY - n * meanX * mean) / denominator;
+            return slope * 60 / sampleIntervalSeconds;
+        }
+
+        private String formatTime(long index) {
+            long seconds = Math.round(index * sampleIntervalSeconds);
+            return String.format("%d:%02d", seconds / 60, seconds % 60);
+        }
+
+        private String formatSummary() {
+            StringBuilder line = new StringBuilder(name).append(": ");
+            line.append(String.format(Locale.ROOT, "n=%d, min %.0f, p50 %.0f, p95 %.0f, p99 %.0f, max %.0f, mean %.1f±%.1f, trend %+.2f/min (%.0f→%.0f)",
+                    count, min, percentile(0.5), percentile(0.95), percentile(0.99), max,
+                    mean, count > 1 ? Math.sqrt(m2 / (count - 1)) : 0, slopePerMinute(), first, last));
+            if (!Double.isNaN(throttleThreshold)) {
+                line.append(String.format(Locale.ROOT, ", ≥%.0f: %d episodes, %s total",
+                        throttleThreshold, throttleEpisodes, formatTime(throttleSamples)));
+            }
+            if (totalAnomalies > 0) {
+                line.append(", anomalies: ").append(totalAnomalies);
+            }
+            return line.toString();
+        }
+
+        private String formatAnomalies() {
+            if (anomalyCount == 0) {
+                return null;
+            }
+            Integer[] order = new Integer[anomalyCount];
+            for (int i = 0; i < anomalyCount; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparingLong(i -> anomalyIndex[i]));
+
+            StringBuilder line = new StringBuilder(name).append(" largest anomalies:");
+            for (int i : order) {
+                line.append(String.format(Locale.ROOT, " t=%s %.0f (expected %.0f);",
+                        formatTime(anomalyIndex[i]), anomalyValue[i], anomalyExpected[i]));
+            }
+            return line.toString();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package nm.sc.systemscope.modules;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Detects when a temperature series has reached a thermal steady state.
+ * <p>
+ * The detector keeps a rolling window of the most recent samples and fits a least-squares line
+ * through them. The series is considered steady once the window is full and the absolute slope
+ * of that line stays below the configured limit (in degrees Celsius per minute).
+ * </p>
+ */
+public class ThermalSteadyState {
+    private static final Pattern TEMPERATURE_PATTERN = Pattern.compile("\\d+(\\.\\d+)?");
+
+    private final int windowSize;
+    private final double maxSlopePerMinute;
+    private final double sampleIntervalSeconds;
+    private final Deque<Double> window;
+    private double slopePerMinute;
+    private boolean steady;
+
+    /**
+     * Constructs a detector with the given window size and slope limit.
+     *
+     * @param windowSize the number of samples in the rolling window (at least 2).
+     * @param maxSlopePerMinute the maximum absolute slope, in °C per minute, that is still considered steady.
+     * @param sampleIntervalSeconds the interval between two consecutive samples in seconds.
+     */
+    public ThermalSteadyState(int windowSize, double maxSlopePerMinute, double sampleIntervalSeconds) {
+        if (windowSize < 2) {
+            throw new IllegalArgumentException("Window size must be at least 2");
+        }
+        this.windowSize = windowSize;
+        this.maxSlopePerMinute = maxSlopePerMinute;
+        this.sampleIntervalSeconds = sampleIntervalSeconds;
+        this.window = new ArrayDeque<>(windowSize);
+    }
+
+    /**
+     * Adds a new temperature sample and re-evaluates the steady state.
+     *
+     * @param temperature the temperature sample in °C.
+     * @return {@code true} if the series is in a steady state after adding the sample, {@code false} otherwise.
+     */
+    public boolean add(double temperature) {
+        window.addLast(temperature);
+        if (window.size() > windowSize) {
+            window.removeFirst();
+        }
+
+        if (window.size() < windowSize) {
+            steady = false;
+            return false;
+        }
+
+        slopePerMinute = computeSlope() * (60.0 / sampleIntervalSeconds);
+        steady = Math.abs(slopePerMinute) <= maxSlopePerMinute;
+        return steady;
+    }
+
+    /**
+     * Computes the least-squares slope of the samples in the window, in °C per sample.
+     *
+     * @return the slope of the fitted line.
+     */
+    private double computeSlope() {
+        int n = window.size();
+        double meanX = (n - 1) / 2.0;
+        double meanY = 0;
+        for (double value : window) {
+            meanY += value;
+        }
+        meanY /= n;
+
+        double numerator = 0;
+        double denominator = 0;
+        int x = 0;
+        for (double value : window) {
+            double dx = x - meanX;
+            numerator += dx * (value - meanY);
+            denominator += dx * dx;
+            x++;
+        }
+        return denominator == 0 ? 0 : numerator / denominator;
+    }
+
+    /**
+     * Checks whether the series is currently in a steady state.
+     *
+     * @return {@code true} if the last evaluation found a steady state, {@code false} otherwise.
+     */
+    public boolean isSteady() {
+        return steady;
+    }
+
+    /**
+     * Returns the slope computed during the last evaluation.
+     *
+     * @return the slope in °C per minute, or 0 if the window is not yet full.
+     */
+    public double getSlopePerMinute() {
+        return slopePerMinute;
+    }
+
+    /**
+     * Clears all collected samples and resets the steady state.
+     */
+    public void reset() {
+        window.clear();
+        slopePerMinute = 0;
+        steady = false;
+    }
+
+    /**
+     * Extracts the first numeric temperature value from a sensor string such as {@code "NVIDIA GPU: 45 °C"}.
+     *
+     * @param text the sensor string.
+     * @return the parsed temperature, or {@link Double#NaN} if the string contains no number.
+     */
+    public static double parseTemperature(String text) {
+        if (text == null) {
+            return Double.NaN;
+        }
+        Matcher matcher = TEMPERATURE_PATTERN.matcher(text);
+        return matcher.find() ? Double.parseDouble(matcher.group()) : Double.NaN;
+    }
+
+    /**
+     * Extracts a temperature reported by a hardware sensor. OSHI reports 0 °C when no sensor is available, so
+     * values at or below zero are treated like a missing reading.
+     *
+     * @param text the sensor string.
+     * @return the parsed temperature, or {@link Double#NaN} if the string contains no positive number.
+     */
+    public static double parseSensorTemperature(String text) {
+        double value = parseTemperature(text);
+        return value > 0 ? value : Double.NaN;
+    }
+}